@@ -9,11 +9,13 @@ import java.util.function.Predicate;
 import java.util.stream.DoubleStream;
 import java.util.stream.Stream;
 
+import com.aol.cyclops.comprehensions.converters.MonadicConverters;
 import com.aol.cyclops.lambda.api.Comprehender;
 import com.aol.cyclops.streams.StreamUtils;
 import com.nurkiewicz.lazyseq.LazySeq;
 
 public class StreamComprehender implements Comprehender<Stream> {
+	private final MonadicConverters converters = new MonadicConverters();
 	public Class getTargetClass(){
 		return Stream.class;
 	}
@@ -31,7 +33,7 @@ public class StreamComprehender implements Comprehender<Stream> {
 	}
 	@Override
 	public Stream flatMap(Stream t, Function fn) {
-		return t.flatMap(fn);
+		return converters.upscaleLike(t,StreamUtils.flatMap(t,fn));
 	}
 
 	@Override
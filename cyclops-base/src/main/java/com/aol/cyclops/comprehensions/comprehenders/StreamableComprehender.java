@@ -7,6 +7,7 @@ import java.util.stream.Stream;
 
 import com.aol.cyclops.lambda.api.Comprehender;
 import com.aol.cyclops.lambda.api.Streamable;
+import com.aol.cyclops.streams.StreamUtils;
 
 public class StreamableComprehender implements Comprehender {
 	public Class getTargetClass(){
@@ -30,7 +31,7 @@ public class StreamableComprehender implements Comprehender {
 	}
 	@Override
 	public Object flatMap(Object t, Function fn) {
-		return ((Streamable)t).stream().flatMap(fn);
+		return StreamUtils.flatMap(((Streamable)t).stream(),fn);
 	}
 
 	@Override
@@ -1,6 +1,7 @@
 package com.aol.cyclops.comprehensions.converters;
 
 import java.util.ServiceLoader;
+import java.util.stream.Stream;
 
 import lombok.Getter;
 import lombok.val;
@@ -39,5 +40,18 @@ public class MonadicConverters {
 	public Object convertToMonadicForm(Object o){
 		return upscaler.upscaleIfStream(converters.stream().filter(t-> t.accept(o)).map(m -> m.convertToMonadicForm(o)).findFirst().orElse(o));
 	}
+	/**
+	 * Upscale a Stream derived from another Stream, if the source Stream was itself already upscaled
+	 * (e.g. keep the result of a flatMap over a jOOλ Seq as a Seq)
+	 * 
+	 * @param source Stream the result was derived from
+	 * @param derived Derived Stream
+	 * @return derived Stream, upscaled if the source was
+	 */
+	public Stream upscaleLike(Stream source, Stream derived){
+		if(upscaler.upscaleIfStream(source)==source)
+			return (Stream)upscaler.upscaleIfStream(derived);
+		return derived;
+	}
 	
 }
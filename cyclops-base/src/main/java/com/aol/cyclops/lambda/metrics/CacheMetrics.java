@@ -0,0 +1,173 @@
+package com.aol.cyclops.lambda.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import lombok.Getter;
+
+/**
+ * Counters for a named cache or lazy value, shared by every instance created with the same name 
+ * (so give caches that should be measured separately distinct names).
+ * All counters are striped (LongAdder), so recording does not contend between threads.
+ * 
+ * Registered instances are obtained from Metrics#cache, instrumented classes only do so when metrics are enabled.
+ * Instances created directly are not registered, and record regardless of whether metrics are enabled.
+ * 
+ * @author johnmcclean
+ *
+ */
+public final class CacheMetrics implements CacheMetricsMXBean{
+
+	@Getter
+	private final String name;
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder waits = new LongAdder();
+	private final LongAdder entries = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final Histogram computeTime = new Histogram();
+	
+	/**
+	 * @param name Name of the cache, not registered with Metrics
+	 */
+	public CacheMetrics(String name){
+		this.name = name;
+	}
+	
+	/**
+	 * Record a lookup
+	 */
+	public void request(){
+		requests.increment();
+	}
+	/**
+	 * Record a lookup that waited for a value being computed by another thread
+	 */
+	public void waited(){
+		waits.increment();
+	}
+	/**
+	 * Record a new value (a miss), computed in the time since start
+	 * 
+	 * @param start Result of System.nanoTime() before computing the value
+	 */
+	public void computed(long start){
+		computeTime.record(System.nanoTime()-start);
+		misses.increment();
+		entries.increment();
+	}
+	/**
+	 * Record removal of cached values
+	 * 
+	 * @param count Number of values removed
+	 */
+	public void removed(long count){
+		entries.add(-count);
+	}
+	/**
+	 * Record a cached value removed to make room or because it expired
+	 */
+	public void evicted(){
+		evictions.increment();
+		entries.decrement();
+	}
+	/**
+	 * @param fn Function that computes values
+	 * @return Function that records each computation as a miss 
+	 */
+	public <T,R> Function<T,R> timed(Function<T,R> fn){
+		return t -> {
+			long start = System.nanoTime();
+			R result = fn.apply(t);
+			computed(start);
+			return result;
+		};
+	}
+	/**
+	 * @param fn BiFunction that computes values
+	 * @return BiFunction that records each computation as a miss 
+	 */
+	public <T1,T2,R> BiFunction<T1,T2,R> timed(BiFunction<T1,T2,R> fn){
+		return (t1,t2) -> {
+			long start = System.nanoTime();
+			R result = fn.apply(t1,t2);
+			computed(start);
+			return result;
+		};
+	}
+	/**
+	 * @param s Supplier that computes a value
+	 * @return Supplier that records each computation as a miss 
+	 */
+	public <T> Supplier<T> timed(Supplier<T> s){
+		return () -> {
+			long start = System.nanoTime();
+			T result = s.get();
+			computed(start);
+			return result;
+		};
+	}
+	
+	public MetricsSnapshot snapshot(){
+		long[] histogram = computeTime.counts();
+		long count = 0;
+		for(long next : histogram)
+			count += next;
+		return new MetricsSnapshot(name,requests.sum(),misses.sum(),waits.sum(),entries.sum(),evictions.sum(),
+										count,computeTime.total(),computeTime.max(),histogram);
+	}
+	
+	@Override
+	public long getRequests() {
+		return requests.sum();
+	}
+	@Override
+	public long getHits() {
+		return snapshot().getHits();
+	}
+	@Override
+	public long getMisses() {
+		return misses.sum();
+	}
+	@Override
+	public long getWaits() {
+		return waits.sum();
+	}
+	@Override
+	public long getEvictions() {
+		return evictions.sum();
+	}
+	@Override
+	public long getEntries() {
+		return entries.sum();
+	}
+	@Override
+	public double getHitRate() {
+		return snapshot().getHitRate();
+	}
+	@Override
+	public double getMeanComputeNanos() {
+		return snapshot().getMeanComputeNanos();
+	}
+	@Override
+	public long getMaxComputeNanos() {
+		return computeTime.max();
+	}
+	@Override
+	public long getComputeNanos99() {
+		return snapshot().computeNanosPercentile(0.99);
+	}
+	/**
+	 * Reset all counters except for the entry count
+	 */
+	@Override
+	public void reset(){
+		requests.reset();
+		misses.reset();
+		waits.reset();
+		evictions.reset();
+		computeTime.reset();
+	}
+}
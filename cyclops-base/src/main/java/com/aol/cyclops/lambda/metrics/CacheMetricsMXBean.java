@@ -0,0 +1,22 @@
+package com.aol.cyclops.lambda.metrics;
+
+/**
+ * JMX view of the metrics for a named cache (see Metrics#registerJmx)
+ * 
+ * @author johnmcclean
+ *
+ */
+public interface CacheMetricsMXBean {
+	String getName();
+	long getRequests();
+	long getHits();
+	long getMisses();
+	long getWaits();
+	long getEntries();
+	long getEvictions();
+	double getHitRate();
+	double getMeanComputeNanos();
+	long getMaxComputeNanos();
+	long getComputeNanos99();
+	void reset();
+}
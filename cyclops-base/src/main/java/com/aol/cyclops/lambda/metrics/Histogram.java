@@ -0,0 +1,59 @@
+package com.aol.cyclops.lambda.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent histogram of durations in nanoseconds, with power of two buckets.
+ * Recording is wait free (striped LongAdders per bucket).
+ * 
+ * @author johnmcclean
+ *
+ */
+final class Histogram {
+	
+	static final int BUCKETS = 64;
+	
+	private final LongAdder[] buckets = new LongAdder[BUCKETS];
+	private final LongAdder total = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max,0);
+	
+	Histogram(){
+		for(int i=0;i<BUCKETS;i++)
+			buckets[i] = new LongAdder();
+	}
+	
+	void record(long nanos){
+		long value = Math.max(nanos,0);
+		buckets[bucket(value)].increment();
+		total.add(value);
+		max.accumulate(value);
+	}
+	long[] counts(){
+		long[] counts = new long[BUCKETS];
+		for(int i=0;i<BUCKETS;i++)
+			counts[i] = buckets[i].sum();
+		return counts;
+	}
+	long total(){
+		return total.sum();
+	}
+	long max(){
+		return max.get();
+	}
+	void reset(){
+		for(LongAdder next : buckets)
+			next.reset();
+		total.reset();
+		max.reset();
+	}
+	/*
+	 * Bucket i holds values < 2^i (and >= 2^(i-1))
+	 */
+	static int bucket(long nanos){
+		return Math.min(BUCKETS - Long.numberOfLeadingZeros(nanos),BUCKETS-1);
+	}
+	static long upperBound(int bucket){
+		return bucket>=BUCKETS-1 ? Long.MAX_VALUE : 1L<<bucket;
+	}
+}
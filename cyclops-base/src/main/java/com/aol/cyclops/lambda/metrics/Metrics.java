@@ -0,0 +1,132 @@
+package com.aol.cyclops.lambda.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.aol.cyclops.lambda.utils.ExceptionSoftener;
+
+/**
+ * Opt-in registry of metrics for memoised functions and lazy values (Memoise, LazyImmutable, Extractors#memoised,
+ * lazily mapped and memoised tuples).
+ * 
+ * Metrics are disabled by default, and whether an instance is instrumented is decided when it is created - 
+ * so when disabled memoised functions and lazy values run exactly as before, with no additional checks.
+ * Enable metrics before creating the functions or values to be measured (e.g. at startup, or with -Dcyclops.metrics=true).
+ * The exception is memoised tuples, which check when a value that is not yet set is read and only record those reads.
+ * 
+ * <pre>{@code
+ *  Metrics.enable();
+ *  Metrics.registerJmx();
+ *  Function<String,Customer> lookup = Memoise.memoiseFunction(this::load);
+ *  ...
+ *  Metrics.export(snapshot -> logger.info("{} hit rate {}",snapshot.getName(),snapshot.getHitRate()));
+ * }</pre>
+ * 
+ * @author johnmcclean
+ *
+ */
+public final class Metrics {
+
+	private static final String JMX_DOMAIN = "com.aol.cyclops";
+	private static final Map<String,CacheMetrics> caches = new ConcurrentHashMap<>();
+	private static volatile boolean enabled = Boolean.getBoolean("cyclops.metrics");
+	private static volatile boolean jmx = false;
+	
+	private Metrics(){}
+	
+	/**
+	 * Instrument memoised functions and lazy values created from now on
+	 */
+	public static void enable(){
+		enabled = true;
+	}
+	/**
+	 * Stop instrumenting newly created memoised functions and lazy values, existing instances continue to record
+	 */
+	public static void disable(){
+		enabled = false;
+	}
+	public static boolean isEnabled(){
+		return enabled;
+	}
+	
+	/**
+	 * @param name Name of the cache
+	 * @return Metrics for the named cache, shared by all instances with this name
+	 */
+	public static CacheMetrics cache(String name){
+		return caches.computeIfAbsent(name,Metrics::create);
+	}
+	/**
+	 * @return Snapshots of all registered caches, by name
+	 */
+	public static Map<String,MetricsSnapshot> snapshot(){
+		Map<String,MetricsSnapshot> result = new TreeMap<>();
+		caches.forEach((name,metrics) -> result.put(name,metrics.snapshot()));
+		return result;
+	}
+	/**
+	 * Export a snapshot of every registered cache to the supplied sink
+	 * 
+	 * @param sink Destination for snapshots
+	 */
+	public static void export(MetricsSink sink){
+		snapshot().values().forEach(sink::accept);
+	}
+	/**
+	 * Register all current and future caches with the platform MBeanServer, as
+	 * com.aol.cyclops:type=CacheMetrics,name=[cache name]
+	 */
+	public static synchronized void registerJmx(){
+		jmx = true;
+		caches.values().forEach(Metrics::register);
+	}
+	/**
+	 * Unregister all caches from the platform MBeanServer
+	 */
+	public static synchronized void unregisterJmx(){
+		jmx = false;
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try{
+			for(CacheMetrics next : caches.values()){
+				ObjectName name = objectName(next.getName());
+				if(server.isRegistered(name))
+					server.unregisterMBean(name);
+			}
+		}catch(JMException e){
+			ExceptionSoftener.singleton.factory.getInstance().throwSoftenedException(e);
+		}
+	}
+	/**
+	 * Reset the counters of all registered caches
+	 */
+	public static void reset(){
+		caches.values().forEach(CacheMetrics::reset);
+	}
+	
+	private static CacheMetrics create(String name){
+		CacheMetrics metrics = new CacheMetrics(name);
+		if(jmx)
+			register(metrics);
+		return metrics;
+	}
+	private static void register(CacheMetrics metrics){
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try{
+			ObjectName name = objectName(metrics.getName());
+			if(!server.isRegistered(name))
+				server.registerMBean(metrics,name);
+		}catch(JMException e){
+			ExceptionSoftener.singleton.factory.getInstance().throwSoftenedException(e);
+		}
+	}
+	static ObjectName objectName(String name) throws JMException{
+		return new ObjectName(JMX_DOMAIN + ":type=CacheMetrics,name=" + ObjectName.quote(name));
+	}
+}
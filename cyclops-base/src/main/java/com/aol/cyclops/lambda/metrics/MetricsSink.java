@@ -0,0 +1,16 @@
+package com.aol.cyclops.lambda.metrics;
+
+/**
+ * Destination for exported metrics (see Metrics#export)
+ * 
+ * @author johnmcclean
+ *
+ */
+@FunctionalInterface
+public interface MetricsSink {
+
+	/**
+	 * @param snapshot Current values for a single named cache
+	 */
+	void accept(MetricsSnapshot snapshot);
+}
@@ -0,0 +1,57 @@
+package com.aol.cyclops.lambda.metrics;
+
+import lombok.Value;
+
+/**
+ * Point in time values of the metrics for a named cache
+ * 
+ * @author johnmcclean
+ *
+ */
+@Value
+public class MetricsSnapshot {
+	String name;
+	/** Number of lookups */
+	long requests;
+	/** Number of lookups that computed a new value */
+	long misses;
+	/** Number of lookups that waited for a value being computed by another thread */
+	long waits;
+	/** Number of values currently held */
+	long entries;
+	/** Number of values removed to make room or because they expired */
+	long evictions;
+	/** Number of completed computations */
+	long computeCount;
+	long computeTotalNanos;
+	long computeMaxNanos;
+	/** Count of computations by duration, bucket i counts durations less than 2^i nanoseconds */
+	long[] computeHistogram;
+	
+	/**
+	 * @return Number of lookups that did not compute a new value
+	 */
+	public long getHits(){
+		return Math.max(requests - misses,0);
+	}
+	public double getHitRate(){
+		return requests==0 ? 1.0 : (double)getHits() / requests;
+	}
+	public double getMeanComputeNanos(){
+		return computeCount==0 ? 0 : (double)computeTotalNanos / computeCount;
+	}
+	/**
+	 * @param percentile Between 0 and 1 
+	 * @return Upper bound of the power of two bucket containing the requested percentile of compute times
+	 */
+	public long computeNanosPercentile(double percentile){
+		long target = (long)Math.ceil(percentile * computeCount);
+		long seen = 0;
+		for(int i=0;i<computeHistogram.length;i++){
+			seen += computeHistogram[i];
+			if(seen>=target && seen>0)
+				return Math.min(Histogram.upperBound(i),computeMaxNanos);
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,34 @@
+package com.aol.cyclops.lambda.utils;
+
+import java.util.function.Supplier;
+
+import com.aol.cyclops.lambda.metrics.CacheMetrics;
+
+/**
+ * LazyImmutable that records lookups, computations and waits, created by LazyImmutable#def when metrics are enabled
+ * 
+ * @author johnmcclean
+ *
+ * @param <T>
+ */
+class InstrumentedLazyImmutable<T> extends LazyImmutable<T> {
+	
+	private final CacheMetrics metrics;
+
+	InstrumentedLazyImmutable(CacheMetrics metrics, boolean racy){
+		super(racy);
+		this.metrics = metrics;
+	}
+	
+	@Override
+	public T computeIfAbsent(Supplier<T> lazy) {
+		metrics.request();
+		if(isSet())
+			return get();
+		return super.computeIfAbsent(metrics.timed(lazy));
+	}
+	@Override
+	void waiting(){
+		metrics.waited();
+	}
+}
@@ -1,11 +1,15 @@
 package com.aol.cyclops.lambda.utils;
 
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
+import com.aol.cyclops.lambda.metrics.Metrics;
+
 /**
  * A class that represents an 'immutable' value that is generated inside a lambda
  * expression, but is accessible outside it
@@ -24,21 +28,41 @@ import lombok.ToString;
  * 
  * Has map and flatMap methods, but is not a Monad (see example usage above for why, it is the initial mutation that is valuable).
  * 
+ * The value is held in a single volatile field, so reading a set value is one volatile read. The first caller of computeIfAbsent
+ * claims the value with a CAS and computes it exactly once, concurrent callers register with the claim and park until it is published
+ * (the computing thread only unparks callers if any registered). If the computation fails
+ * the claim is released and the next caller retries. Instances created via racy() don't claim - concurrent callers may each compute a value, 
+ * the first to be published wins and is returned to all of them, and no caller waits (suitable for cheap, idempotent Suppliers).
+ * 
  * @author johnmcclean
  *
  * @param <T>
  */
-@ToString @EqualsAndHashCode
+@ToString(exclude="racy") @EqualsAndHashCode(exclude="racy")
 public class LazyImmutable<T> implements Supplier<T>{
-	private T value;
-	private boolean set=false;
+	private static final Object UNSET = new Object(){
+		public String toString(){
+			return "UNSET";
+		}
+	};
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<LazyImmutable,Object> VALUE = AtomicReferenceFieldUpdater.newUpdater(LazyImmutable.class,Object.class,"value");
 	
-	public LazyImmutable(){}
+	private volatile Object value = UNSET;
+	private final boolean racy;
+	
+	public LazyImmutable(){
+		this(false);
+	}
+	LazyImmutable(boolean racy){
+		this.racy = racy;
+	}
 	/**
-	 * @return Current value
+	 * @return Current value, or null if not set
 	 */
 	public T get(){
-		return value;
+		Object current = value;
+		return isValue(current) ? (T)current : null;
 	}
 	/**
 	 * Create an intermediate unbound (or unitialised) ImmutableClosedValue)
@@ -46,7 +70,7 @@ public class LazyImmutable<T> implements Supplier<T>{
 	 * @return unitialised ImmutableClosedValue
 	 */
 	public static <T> LazyImmutable<T> unbound(){
-		return new LazyImmutable();
+		return def();
 	}
 	/**
 	 * @param value Create an initialised ImmutableClosedValue with specified value
@@ -62,8 +86,34 @@ public class LazyImmutable<T> implements Supplier<T>{
 	 * @return a defined, but unitialised LazyImmutable
 	 */
 	public static <T> LazyImmutable<T> def(){
+		return def("LazyImmutable");
+	}
+	/**
+	 * @param name Name to record metrics under, if metrics are enabled (see Metrics)
+	 * @return a defined, but unitialised LazyImmutable
+	 */
+	public static <T> LazyImmutable<T> def(String name){
+		if(Metrics.isEnabled())
+			return new InstrumentedLazyImmutable<>(Metrics.cache(name),false);
 		return new LazyImmutable<>();
 	}
+	/**
+	 * @return a defined, but unitialised LazyImmutable that never blocks in computeIfAbsent, 
+	 * 		but may call the Supplier more than once when accessed concurrently
+	 */
+	public static <T> LazyImmutable<T> racy(){
+		return racy("LazyImmutable");
+	}
+	/**
+	 * @param name Name to record metrics under, if metrics are enabled (see Metrics)
+	 * @return a defined, but unitialised LazyImmutable that never blocks in computeIfAbsent, 
+	 * 		but may call the Supplier more than once when accessed concurrently
+	 */
+	public static <T> LazyImmutable<T> racy(String name){
+		if(Metrics.isEnabled())
+			return new InstrumentedLazyImmutable<>(Metrics.cache(name),true);
+		return new LazyImmutable<>(true);
+	}
 	
 	
 	/**
@@ -74,10 +124,11 @@ public class LazyImmutable<T> implements Supplier<T>{
 	 * @return new ImmutableClosedValue with new mapped value 
 	 */
 	public <R> LazyImmutable<R> map(Function<T,R> fn){
-		if(!set)
+		Object current = value;
+		if(!isValue(current))
 			return (LazyImmutable)this;
 		else
-			return LazyImmutable.of(fn.apply(value));
+			return LazyImmutable.of(fn.apply((T)current));
 	}
 	
 	/**
@@ -88,10 +139,11 @@ public class LazyImmutable<T> implements Supplier<T>{
 	 * @return new ImmutableClosedValue with new mapped value 
 	 */
 	public <R> LazyImmutable<R> flatMap(Function<T,LazyImmutable<R>> fn){
-		if(!set)
+		Object current = value;
+		if(!isValue(current))
 			return (LazyImmutable)this;
 		else
-			return fn.apply(value);
+			return fn.apply((T)current);
 	}
 	/**
 	 * 
@@ -101,24 +153,21 @@ public class LazyImmutable<T> implements Supplier<T>{
 	 * @param val Value to set to
 	 * @return Current set Value
 	 */
-	public synchronized LazyImmutable<T> setOnce(T val) throws LazyImmutableSetMoreThanOnceException{
-		if(!this.set){
-			this.value = val;
-			this.set=true;
-			return this;
+	public LazyImmutable<T> setOnce(T val) throws LazyImmutableSetMoreThanOnceException{
+		for(;;){
+			Object current = value;
+			if(current==UNSET){
+				if(VALUE.compareAndSet(this,UNSET,val))
+					return this;
+			}
+			else if(current instanceof Evaluating)
+				await((Evaluating)current);
+			else
+				throw new  LazyImmutableSetMoreThanOnceException("Current value " + current + " attempt to reset to " + val);
 		}
-		throw new  LazyImmutableSetMoreThanOnceException("Current value " + this.value + " attempt to reset to " + val);
 	}
-	private synchronized T setOnceFromSupplier(Supplier<T> lazy){
-		
-		if(!this.set){
-			this.value = lazy.get();
-			this.set=true;
-			return this.value;
-		}
-		
-		return this.value;
-
+	boolean isSet(){
+		return isValue(value);
 	}
 	/**
 	 * Get the current value or set if it has not been set yet
@@ -127,8 +176,97 @@ public class LazyImmutable<T> implements Supplier<T>{
 	 * @return Current value
 	 */
 	public T computeIfAbsent(Supplier<T> lazy) {
-		if(set)
-			return value;
-		return setOnceFromSupplier(lazy);
+		Object current = value;
+		if(isValue(current))
+			return (T)current;
+		return racy ? race(lazy) : claim(lazy);
+	}
+	
+	private T race(Supplier<T> lazy){
+		T result = lazy.get();
+		if(VALUE.compareAndSet(this,UNSET,result))
+			return result;
+		return (T)value;
+	}
+	private T claim(Supplier<T> lazy){
+		for(;;){
+			Object current = value;
+			if(current==UNSET){
+				Evaluating evaluating = new Evaluating();
+				if(VALUE.compareAndSet(this,UNSET,evaluating))
+					return publish(lazy,evaluating);
+			}
+			else if(current instanceof Evaluating)
+				await((Evaluating)current);
+			else
+				return (T)current;
+		}
+	}
+	private T publish(Supplier<T> lazy, Evaluating evaluating){
+		Object result = UNSET;
+		try{
+			T computed = lazy.get();
+			result = computed;
+			return computed;
+		}finally{
+			value = result;
+			evaluating.release();
+		}
+	}
+	private void await(Evaluating evaluating){
+		if(evaluating.thread==Thread.currentThread())
+			throw new IllegalStateException("Recursive computation, the Supplier for this LazyImmutable attempted to access it's own value");
+		if(value!=evaluating)
+			return;
+		evaluating.register();
+		if(value==evaluating)
+			waiting();
+		boolean interrupted = false;
+		while(value==evaluating){
+			LockSupport.park(this);
+			if(Thread.interrupted())
+				interrupted = true;
+		}
+		if(interrupted)
+			Thread.currentThread().interrupt();
+	}
+	/*
+	 * Called when this thread is about to block, waiting for a value being computed by another thread
+	 */
+	void waiting(){
+	}
+	private static boolean isValue(Object current){
+		return current!=UNSET && !(current instanceof Evaluating);
+	}
+	/*
+	 * Marks a value as being computed, by the recorded thread, and holds the threads waiting for it (a Treiber stack).
+	 * Waiters register before re-checking the value, and the computing thread publishes the value before checking for waiters, 
+	 * so either a waiter sees the value or the computing thread sees the waiter.
+	 */
+	private static final class Evaluating{
+		private static final AtomicReferenceFieldUpdater<Evaluating,Waiter> WAITERS = AtomicReferenceFieldUpdater.newUpdater(Evaluating.class,Waiter.class,"waiters");
+		
+		final Thread thread = Thread.currentThread();
+		private volatile Waiter waiters;
+		
+		void register(){
+			Waiter waiter = new Waiter();
+			do{
+				waiter.next = waiters;
+			}while(!WAITERS.compareAndSet(this,waiter.next,waiter));
+		}
+		void release(){
+			if(waiters==null)
+				return;
+			for(Waiter next = WAITERS.getAndSet(this,null);next!=null;next=next.next)
+				LockSupport.unpark(next.thread);
+		}
+		public String toString(){
+			return "EVALUATING";
+		}
+	}
+	private static final class Waiter{
+		final Thread thread = Thread.currentThread();
+		Waiter next;
 	}
 }
@@ -10,6 +10,7 @@ import java.util.Spliterators;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
@@ -116,6 +117,67 @@ public class StreamUtils{
 		return Stream.concat(first, stream);
 		
 	}
+	/**
+	 * Lazily flatMap a Stream.
+	 *
+	 * Unlike JDK 8 Stream#flatMap, which pushes every element of an inner Stream downstream
+	 * before checking for cancellation, inner Streams are created only when the previous one is exhausted
+	 * and are pulled one element at a time - so short-circuiting terminal operations (limit, findFirst, anyMatch)
+	 * stop expanding as soon as they are satisfied
+	 *
+	 * <pre>{@code
+	 * 	StreamUtils.flatMap(Stream.iterate(1,i->i+1), i-> Stream.iterate(i,j->j+1)).findFirst();
+	 * 	//Optional[1]
+	 * }</pre>
+	 *
+	 * Parallel Streams are delegated to Stream#flatMap
+	 *
+	 * @param stream Stream to flatMap
+	 * @param fn Function that returns the next Stream for each element
+	 * @return Lazily flattened Stream
+	 */
+	public static <T,R> Stream<R> flatMap(Stream<T> stream, Function<? super T,? extends Stream<? extends R>> fn){
+		if(stream.isParallel())
+			return stream.flatMap(fn);
+		FlatMapSpliterator<T,R> flattened = new FlatMapSpliterator<>(stream.spliterator(),fn);
+		return StreamSupport.stream(flattened,false)
+							.onClose(flattened::closeCurrent)
+							.onClose(stream::close);
+	}
+	/*
+	 * Pulls from one inner Stream at a time, the active inner Stream is closed when it is exhausted
+	 * or when the flattened Stream is closed (e.g. after a short-circuiting terminal operation)
+	 */
+	private static final class FlatMapSpliterator<T,R> extends Spliterators.AbstractSpliterator<R>{
+		private final Spliterator<T> outer;
+		private final Function<? super T,? extends Stream<? extends R>> fn;
+		private Stream<? extends R> current;
+		private Spliterator<? extends R> inner;
+
+		FlatMapSpliterator(Spliterator<T> outer, Function<? super T,? extends Stream<? extends R>> fn){
+			super(Long.MAX_VALUE,outer.characteristics() & Spliterator.ORDERED);
+			this.outer = outer;
+			this.fn = fn;
+		}
+		@Override
+		public boolean tryAdvance(Consumer<? super R> action) {
+			while(inner==null || !inner.tryAdvance(action)){
+				closeCurrent();
+				if(!outer.tryAdvance(t-> current = fn.apply(t)))
+					return false;
+				if(current!=null)
+					inner = current.spliterator();
+			}
+			return true;
+		}
+		void closeCurrent(){
+			Stream<? extends R> closing = current;
+			current = null;
+			inner = null;
+			if(closing!=null)
+				closing.close();
+		}
+	}
 	/**
 	 * Create a stream from a map
 	 * 
@@ -0,0 +1,120 @@
+package com.aol.cyclops.lambda.metrics;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.aol.cyclops.lambda.utils.LazyImmutable;
+
+public class MetricsTest {
+
+	@After
+	public void disable(){
+		Metrics.disable();
+		Metrics.unregisterJmx();
+		Metrics.reset();
+	}
+	
+	@Test
+	public void disabledByDefault(){
+		assertThat(Metrics.isEnabled(),is(false));
+		assertThat(LazyImmutable.def("disabled").getClass(),equalTo(LazyImmutable.class));
+	}
+	@Test
+	public void lazyImmutable(){
+		Metrics.enable();
+		LazyImmutable<String> lazy = LazyImmutable.def("MetricsTest.lazyImmutable");
+		assertThat(lazy.computeIfAbsent(()->"hello"),equalTo("hello"));
+		assertThat(lazy.computeIfAbsent(()->"world"),equalTo("hello"));
+		
+		MetricsSnapshot snapshot = Metrics.snapshot().get("MetricsTest.lazyImmutable");
+		assertThat(snapshot.getRequests(),equalTo(2L));
+		assertThat(snapshot.getMisses(),equalTo(1L));
+		assertThat(snapshot.getHits(),equalTo(1L));
+		assertThat(snapshot.getEntries(),equalTo(1L));
+		assertThat(snapshot.getComputeCount(),equalTo(1L));
+		assertThat(snapshot.getHitRate(),equalTo(0.5));
+	}
+	@Test
+	public void waitsOnlyCountedWhenBlocked() throws Exception{
+		Metrics.enable();
+		LazyImmutable<String> lazy = LazyImmutable.def("MetricsTest.waits");
+		CountDownLatch computing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread first = new Thread(() -> lazy.computeIfAbsent(() -> {
+			computing.countDown();
+			try{
+				release.await();
+			}catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+			}
+			return "hello";
+		}));
+		first.start();
+		computing.await();
+		Thread second = new Thread(() -> lazy.computeIfAbsent(() -> "world"));
+		second.start();
+		while(second.getState()!=Thread.State.WAITING)
+			Thread.yield();
+		release.countDown();
+		first.join();
+		second.join();
+		lazy.computeIfAbsent(() -> "world");
+		
+		MetricsSnapshot snapshot = Metrics.snapshot().get("MetricsTest.waits");
+		assertThat(snapshot.getRequests(),equalTo(3L));
+		assertThat(snapshot.getWaits(),equalTo(1L));
+		assertThat(snapshot.getMisses(),equalTo(1L));
+	}
+	@Test
+	public void createdBeforeEnableIsNotInstrumented(){
+		LazyImmutable<String> lazy = LazyImmutable.def("MetricsTest.before");
+		Metrics.enable();
+		lazy.computeIfAbsent(()->"hello");
+		assertThat(Metrics.snapshot().containsKey("MetricsTest.before"),is(false));
+	}
+	@Test
+	public void export(){
+		Metrics.enable();
+		Metrics.cache("MetricsTest.export").request();
+		List<MetricsSnapshot> exported = new ArrayList<>();
+		Metrics.export(exported::add);
+		assertThat(exported.stream().anyMatch(s->s.getName().equals("MetricsTest.export") && s.getRequests()==1),is(true));
+	}
+	@Test
+	public void jmx() throws Exception{
+		Metrics.registerJmx();
+		CacheMetrics metrics = Metrics.cache("MetricsTest.jmx");
+		metrics.request();
+		metrics.computed(System.nanoTime()-1000);
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = Metrics.objectName("MetricsTest.jmx");
+		assertThat(server.getAttribute(name,"Requests"),equalTo(1L));
+		assertThat(server.getAttribute(name,"Misses"),equalTo(1L));
+		assertThat((Long)server.getAttribute(name,"MaxComputeNanos"),greaterThan(999L));
+		Metrics.unregisterJmx();
+		assertThat(server.isRegistered(name),is(false));
+	}
+	@Test
+	public void percentiles(){
+		CacheMetrics metrics = Metrics.cache("MetricsTest.percentiles");
+		for(int i=0;i<99;i++)
+			metrics.computed(System.nanoTime()-100);
+		metrics.computed(System.nanoTime()-100_000_000);
+		MetricsSnapshot snapshot = metrics.snapshot();
+		assertThat(snapshot.computeNanosPercentile(0.5) < 1_000_000,is(true));
+		assertThat(snapshot.computeNanosPercentile(1.0) >= 100_000_000,is(true));
+	}
+}
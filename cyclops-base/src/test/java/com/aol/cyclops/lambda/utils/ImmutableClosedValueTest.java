@@ -6,6 +6,12 @@ import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -154,4 +160,98 @@ public class ImmutableClosedValueTest {
 		Function<Integer,LazyImmutable<Integer> >g = i->LazyImmutable.of(i*10);
 		assertThat(m.flatMap(f).flatMap(g), equalTo( m.flatMap(x -> f.apply(x).flatMap(g))));
 	}
+	@Test
+	public void computesOnceConcurrently() throws Exception{
+		LazyImmutable<Integer> value = new LazyImmutable<>();
+		AtomicInteger count = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try{
+			Future<Integer>[] results = new Future[8];
+			for(int i=0;i<results.length;i++)
+				results[i] = executor.submit(()->{ start.await(); return value.computeIfAbsent(()->{ 
+					count.incrementAndGet(); 
+					try{ Thread.sleep(50); }catch(InterruptedException e){} 
+					return 42; }); });
+			start.countDown();
+			for(Future<Integer> next : results)
+				assertThat(next.get(5,TimeUnit.SECONDS),is(42));
+			assertThat(count.get(),is(1));
+		}finally{
+			executor.shutdownNow();
+		}
+	}
+	@Test
+	public void callersMonitorIsNotUsed() throws Exception{
+		LazyImmutable<Integer> value = new LazyImmutable<>();
+		CountDownLatch computing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try{
+			synchronized(value){
+				Future<Integer> first = executor.submit(()->value.computeIfAbsent(()->{ computing.countDown(); await(release); return 42; }));
+				await(computing);
+				Future<Integer> second = executor.submit(()->value.computeIfAbsent(()->-1));
+				release.countDown();
+				assertThat(first.get(5,TimeUnit.SECONDS),is(42));
+				assertThat(second.get(5,TimeUnit.SECONDS),is(42));
+			}
+		}finally{
+			executor.shutdownNow();
+		}
+	}
+	@Test
+	public void failedComputationIsRetried(){
+		LazyImmutable<Integer> value = new LazyImmutable<>();
+		try{
+			value.computeIfAbsent(()->{ throw new IllegalStateException("boom"); });
+			fail("Exception expected");
+		}catch(IllegalStateException e){
+			
+		}
+		assertThat(value.get(),is((Integer)null));
+		assertThat(value.computeIfAbsent(()->10),is(10));
+	}
+	@Test
+	public void nullValue(){
+		LazyImmutable<Integer> value = new LazyImmutable<>();
+		assertThat(value.computeIfAbsent(()->null),is((Integer)null));
+		assertThat(value.computeIfAbsent(()->10),is((Integer)null));
+		assertThat(value.isSet(),is(true));
+	}
+	@Test(expected=IllegalStateException.class)
+	public void recursiveComputation(){
+		LazyImmutable<Integer> value = new LazyImmutable<>();
+		value.computeIfAbsent(()->value.computeIfAbsent(()->10));
+	}
+	@Test
+	public void racy() throws Exception{
+		LazyImmutable<Integer> value = LazyImmutable.racy();
+		CountDownLatch inside = new CountDownLatch(2);
+		AtomicInteger count = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try{
+			Future<Integer> first = executor.submit(()->value.computeIfAbsent(()->{ inside.countDown(); await(inside); return count.incrementAndGet(); }));
+			Future<Integer> second = executor.submit(()->value.computeIfAbsent(()->{ inside.countDown(); await(inside); return count.incrementAndGet(); }));
+			int result = first.get(5,TimeUnit.SECONDS);
+			assertThat(second.get(5,TimeUnit.SECONDS),is(result));
+			assertThat(value.get(),is(result));
+			assertThat(count.get(),is(2));
+		}finally{
+			executor.shutdownNow();
+		}
+	}
+	@Test(expected=LazyImmutableSetMoreThanOnceException.class)
+	public void racySetOnce(){
+		LazyImmutable<Integer> value = LazyImmutable.racy();
+		assertThat(value.computeIfAbsent(()->10),is(10));
+		value.setOnce(20);
+	}
+	private void await(CountDownLatch latch){
+		try {
+			latch.await(5,TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
 }
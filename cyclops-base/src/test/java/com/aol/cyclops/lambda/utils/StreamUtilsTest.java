@@ -8,6 +8,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -94,4 +96,36 @@ public class StreamUtilsTest {
 		assertThat(result.get(2),equalTo(2.0));
     }
 
+	@Test
+	public void testFlatMap(){
+		assertThat(StreamUtils.flatMap(Stream.of(1,2,3),i->Stream.of(i,i*10)).collect(Collectors.toList()),
+				equalTo(Arrays.asList(1,10,2,20,3,30)));
+	}
+	@Test
+	public void testFlatMapShortCircuits(){
+		AtomicInteger expanded = new AtomicInteger(0);
+		Optional<Integer> first = StreamUtils.flatMap(Stream.iterate(1,i->i+1),
+								i-> { expanded.incrementAndGet(); return Stream.iterate(i,j->j+1);})
+								.filter(i->i>2).findFirst();
+		assertThat(first.get(),equalTo(3));
+		assertThat(expanded.get(),equalTo(1));
+	}
+	@Test
+	public void testFlatMapClosesInnerStreams(){
+		AtomicInteger closed = new AtomicInteger(0);
+		StreamUtils.flatMap(Stream.of(1,2),i->Stream.of(i).onClose(()->closed.incrementAndGet()))
+					.collect(Collectors.toList());
+		assertThat(closed.get(),equalTo(2));
+	}
+	@Test
+	public void testFlatMapClosesActiveInnerStreamOnShortCircuit(){
+		AtomicInteger closed = new AtomicInteger(0);
+		try(Stream<Integer> flattened = StreamUtils.flatMap(Stream.of(1,2),
+									i->Stream.iterate(i,j->j+1).onClose(()->closed.incrementAndGet()))){
+			assertThat(flattened.limit(3).collect(Collectors.toList()),equalTo(Arrays.asList(1,2,3)));
+			assertThat(closed.get(),equalTo(0));
+		}
+		assertThat(closed.get(),equalTo(1));
+	}
+
 }
@@ -0,0 +1,118 @@
+package com.aol.cyclops.comprehensions.donotation.typed;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import lombok.AllArgsConstructor;
+
+import org.pcollections.ConsPStack;
+import org.pcollections.PStack;
+
+import com.aol.cyclops.comprehensions.converters.MonadicConverters;
+import com.aol.cyclops.lambda.api.Unwrapable;
+import com.aol.cyclops.lambda.utils.ExceptionSoftener;
+
+/**
+ * Executes a Do comprehension over CompletableFutures without blocking.
+ *
+ * Generators that do not depend on earlier bindings (added via add(..)) are all started up front and
+ * combined as they complete, generators that do depend on earlier bindings (added via with(..)) are chained
+ * with thenCompose. Filters, dependent generator functions and the yield function run on the supplied Executor.
+ *
+ * If a filter rejects the current values the resulting CompletableFuture completes exceptionally with a NoSuchElementException
+ *
+ * @author johnmcclean
+ *
+ */
+@AllArgsConstructor
+final class AsyncYield {
+
+	private static final MonadicConverters converters = new MonadicConverters();
+	private static final ExceptionSoftener softener = ExceptionSoftener.singleton.factory.getInstance();
+
+	private final Executor executor;
+
+	@SuppressWarnings({"rawtypes","unchecked"})
+	<R> CompletableFuture<R> yield(PStack<Entry> entries, Function f){
+		CompletableFuture<PStack<Object>> bound = CompletableFuture.completedFuture(ConsPStack.empty());
+		for(Entry e : entries){
+			if(e.getValue() instanceof Guard){
+				Function guard = ((Guard)e.getValue()).getF();
+				bound = bound.thenApplyAsync(values -> {
+								if(!(Boolean)applyCurried(guard,values))
+									throw new NoSuchElementException("Filtered out by " + e.getKey());
+								return values;
+							},executor);
+			}
+			else if(e.getValue() instanceof Assignment){
+				Function generator = ((Assignment)e.getValue()).getF();
+				bound = bound.thenComposeAsync(values -> toFuture(applyCurried(generator,values))
+															.thenApply(v->values.plus(values.size(),v)),executor);
+			}
+			else{
+				bound = bound.thenCombine(toFuture(unwrapSupplier(e.getValue())),(values,v)->values.plus(values.size(),v));
+			}
+		}
+		return bound.thenApplyAsync(values -> (R)unwrap(applyCurried(f,values)),executor);
+	}
+
+	@SuppressWarnings({"rawtypes","unchecked"})
+	private CompletableFuture toFuture(Object o){
+		Object value = unwrap(o);
+		if(value instanceof CompletableFuture)
+			return (CompletableFuture)value;
+		if(value instanceof Callable)
+			return CompletableFuture.supplyAsync(()->call((Callable)value),executor);
+		if(value instanceof Supplier)
+			return CompletableFuture.supplyAsync((Supplier)value,executor);
+		Object converted = converters.convertToMonadicForm(value);
+		if(converted instanceof CompletableFuture)
+			return (CompletableFuture)converted;
+		if(converted instanceof Optional){
+			Optional optional = (Optional)converted;
+			return optional.isPresent() ? CompletableFuture.completedFuture(optional.get()) : failed(new NoSuchElementException("Empty Optional"));
+		}
+		return failed(new IllegalArgumentException("Can't execute " + value + " asynchronously, expected a CompletableFuture, Callable, Supplier or Optional"));
+	}
+	private Object call(Callable c){
+		try {
+			return c.call();
+		} catch (Exception e) {
+			softener.throwSoftenedException(e);
+			return null;
+		}
+	}
+	private static CompletableFuture failed(Throwable t){
+		CompletableFuture f = new CompletableFuture();
+		f.completeExceptionally(t);
+		return f;
+	}
+	private static Object applyCurried(Function f, PStack<Object> values){
+		Object result = f;
+		for(Object next : values){
+			if(!(result instanceof Function))
+				break;
+			result = ((Function)result).apply(next);
+		}
+		return result;
+	}
+	/*
+	 * Generators such as Suppliers and Callables are captured lazily by the Do builder, and need to be
+	 * unwrapped (in the same way as the comprehension engine does) before they are converted 
+	 */
+	private static Object unwrapSupplier(Object o){
+		if(o instanceof Supplier)
+			return ((Supplier)o).get();
+		return o;
+	}
+	private static Object unwrap(Object o){
+		if(o instanceof Unwrapable)
+			return ((Unwrapable)o).unwrap();
+		return o;
+	}
+}
@@ -8,6 +8,7 @@ import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
 import java.util.stream.BaseStream;
 import java.util.stream.IntStream;
@@ -20,6 +21,35 @@ import com.aol.cyclops.lambda.monads.SequenceM;
 
 public class Do {
 
+	/**
+	 * Expand the for comprehension in parallel on the common ForkJoinPool
+	 * 
+	 * @see #parallel(ForkJoinPool)
+	 * @return Next stage in for comprehension builder
+	 */
+	public static DoComp0 parallel(){
+		return new DoComp0(ConsPStack.empty()).parallel();
+	}
+	/**
+	 * Expand the for comprehension in parallel on the supplied ForkJoinPool. The outer generator is split across the pool
+	 * and each split expands the inner generators locally.
+	 * 
+	 * <pre>{@code   Do.parallel(pool)
+	 				.add(list1)
+	 				.add(list2)
+	 				.add(list3)
+				  	.yield( i1 -> i2 -> i3 -> i1+i2+i3);
+							
+		}</pre>
+	 * 
+	 * Encounter order is retained unless unordered() is also specified
+	 * 
+	 * @param pool ForkJoinPool to expand the for comprehension on
+	 * @return Next stage in for comprehension builder
+	 */
+	public static DoComp0 parallel(ForkJoinPool pool){
+		return new DoComp0(ConsPStack.empty()).parallel(pool);
+	}
 	public static  DoComp1<Integer> times(int times){
 		return new DoComp0(ConsPStack.empty()).times(times);	
 	}
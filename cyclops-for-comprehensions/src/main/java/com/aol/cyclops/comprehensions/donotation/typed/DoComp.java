@@ -2,7 +2,13 @@ package com.aol.cyclops.comprehensions.donotation.typed;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.stream.BaseStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import lombok.AllArgsConstructor;
 
@@ -10,6 +16,7 @@ import org.pcollections.PStack;
 
 import com.aol.cyclops.comprehensions.ComprehensionData;
 import com.aol.cyclops.comprehensions.ForComprehensions;
+import com.aol.cyclops.comprehensions.converters.MonadicConverters;
 import com.aol.cyclops.lambda.api.Unwrapable;
 import com.aol.cyclops.lambda.utils.Mutable;
 
@@ -18,15 +25,44 @@ public abstract class DoComp {
 	
 	PStack<Entry> assigned;
 	
+	private static final MonadicConverters converters = new MonadicConverters();
+	
 	protected PStack<Entry> addToAssigned(Function f){
 		return assigned.plus(assigned.size(),createEntry(f));
 	}
+	protected PStack<Entry> withParallelExpansion(Function<Optional<ParallelExpansion>,ParallelExpansion> f){
+		Optional<Entry> current = assigned.stream().filter(e->e.getValue() instanceof ParallelExpansion).findFirst();
+		PStack<Entry> base = current.map(e->assigned.minus(e)).orElse(assigned);
+		return base.plus(base.size(),new Entry("$$internalPARALLEL"+base.size(),f.apply(current.map(e->(ParallelExpansion)e.getValue()))));
+	}
 	protected Entry createEntry(Function f){
 		return new Entry("$$monad"+assigned.size(),new Assignment(f));
 	}
 	
 	protected <T> T yieldInternal(Function f){
-		return (T)ForComprehensions.foreachX(c->build(c,f));
+		Optional<Entry> parallel = assigned.stream().filter(e->e.getValue() instanceof ParallelExpansion).findFirst();
+		if(parallel.isPresent())
+			return (T)yieldParallel(f,(ParallelExpansion)parallel.get().getValue(),assigned.minus(parallel.get()));
+		return (T)yieldSequential(f,assigned);
+	}
+	protected <T> CompletableFuture<T> yieldAsyncInternal(Executor executor,Function f){
+		return new AsyncYield(executor).yield(assigned.minusAll(assigned.stream()
+																.filter(e->e.getValue() instanceof ParallelExpansion)
+																.collect(Collectors.toList())),f);
+	}
+	private Object yieldSequential(Function f,PStack<Entry> entries){
+		return ForComprehensions.foreachX(c->build(c,f,entries));
+	}
+	@SuppressWarnings({"rawtypes","unchecked"})
+	private Object yieldParallel(Function f,ParallelExpansion mode,PStack<Entry> entries){
+		Entry outer = entries.get(0);
+		Object generator = converters.convertToMonadicForm(handleUnwrappable(outer.getValue()));
+		if(!(generator instanceof BaseStream))
+			return yieldSequential(f,entries);
+		
+		List results = new ForkJoinYield(chunk -> (Stream)yieldSequential(f,entries.with(0,new Entry(outer.getKey(),chunk))),mode)
+								.expand(((BaseStream)generator).spliterator());
+		return converters.convertToMonadicForm(results);
 	}
 	
 	 @SuppressWarnings({"rawtypes","unchecked"})
@@ -63,9 +99,9 @@ public abstract class DoComp {
 			return o;
 	 }
 	private Object build(
-			ComprehensionData c, Function f) {
+			ComprehensionData c, Function f, PStack<Entry> entries) {
 		Mutable<List<String>> vars = new Mutable<>(new ArrayList());
-		assigned.stream().forEach(e-> addToVar(e,vars,handleNext(e,c,vars.get())));
+		entries.stream().forEach(e-> addToVar(e,vars,handleNext(e,c,vars.get())));
 		Mutable<Object> var = new Mutable<>(f);
 		
 		return c.yield(()-> { 
@@ -10,6 +10,7 @@ import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.BaseStream;
@@ -28,6 +29,54 @@ import com.aol.cyclops.lambda.monads.SequenceM;
 			
 		}
 		
+		/**
+		 * Expand this for comprehension in parallel on the common ForkJoinPool
+		 * 
+		 * @see #parallel(ForkJoinPool)
+		 * @return Next stage in for comprehension builder
+		 */
+		public DoComp0 parallel(){
+			return parallel(ForkJoinPool.commonPool());
+		}
+		/**
+		 * Expand this for comprehension in parallel on the supplied ForkJoinPool. The outer generator is split across the pool
+		 * and each split expands the inner generators locally, the result retains encounter order (see {@link #unordered()})
+		 * 
+		 * <pre>{@code   Do.parallel(pool)
+		 				.add(list1)
+		 				.add(list2)
+					  	.yield( i1 -> i2 -> i1+i2);
+								
+			}</pre>
+		 * 
+		 * The outer generator should be a Collection, Stream, array or other type that can be converted to a Stream, otherwise the
+		 * comprehension is run sequentially. Inner generators must support repeated iteration (e.g. Collections or Stream Suppliers)
+		 * 
+		 * @param pool ForkJoinPool to expand the for comprehension on
+		 * @return Next stage in for comprehension builder
+		 */
+		public DoComp0 parallel(ForkJoinPool pool){
+			return new DoComp0(withParallelExpansion(current -> new ParallelExpansion(pool,current.map(ParallelExpansion::isOrdered).orElse(true))));
+		}
+		/**
+		 * Do not retain encounter order when expanding this for comprehension in parallel, avoiding the cost of merging
+		 * results from each split in order
+		 * 
+		 * <pre>{@code   Do.parallel(pool)
+		 				.unordered()
+		 				.add(list1)
+		 				.add(list2)
+					  	.yield( i1 -> i2 -> i1+i2);
+								
+			}</pre>
+		 * 
+		 * @return Next stage in for comprehension builder
+		 */
+		public DoComp0 unordered(){
+			return new DoComp0(withParallelExpansion(current -> current.orElseGet(()->new ParallelExpansion(ForkJoinPool.commonPool(),true))
+																		.withOrdered(false)));
+		}
+		
 		public <T1> DoComp1<T1> add(T1... values){
 			return new DoComp1(assigned.plus(assigned.size(),new Entry("$$monad"+assigned.size(),Stream.of(values))));
 
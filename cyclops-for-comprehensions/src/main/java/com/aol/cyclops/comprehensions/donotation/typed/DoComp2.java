@@ -10,6 +10,7 @@ import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.BaseStream;
@@ -676,6 +677,26 @@ import com.aol.cyclops.lambda.monads.SequenceM;
 		public <R> AnyM<R> yield(Function<T1,Function<T2,R>> f){
 			return AsAnyM.notTypeSafeAnyM(this.yieldInternal(f));
 		}
+
+		/**
+		 * Execute and Yield a result from this for comprehension asynchronously, without blocking. Generators that don't depend on
+		 * earlier bindings (added via add) run concurrently, dependent generators (added via with) are chained as each binding
+		 * completes. Filters and the yield function are executed on the supplied Executor.
+		 * 
+		 * <pre>{@code   Do.add(future1).add(future2)
+						  	   .yieldAsync(executor,(Integer i1)->(Integer i2) -> i1+i2);
+								
+			}</pre>
+		 * 
+		 * If a filter rejects the bound values, the returned CompletableFuture completes exceptionally with a NoSuchElementException
+		 * 
+		 * @param executor Executor to run filters and the yield function on
+		 * @param f To be applied to the results of the for comprehension
+		 * @return CompletableFuture with the for comprehension result
+		 */
+		public <R> CompletableFuture<R> yieldAsync(Executor executor,Function<T1,Function<T2,R>> f){
+			return this.yieldAsyncInternal(executor,f);
+		}
 		
 		
 		/**
@@ -1,5 +1,7 @@
 package com.aol.cyclops.comprehensions.donotation.typed;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import org.pcollections.PStack;
@@ -19,4 +21,7 @@ public class DoComp8<T,T1,T2,T3,T4,T5,T6,T7> extends DoComp{
 	public <R> AnyM<R> yield(Function<T,Function<T1,Function<T2,Function<T3,Function<T4,Function<T5,Function<T6,Function<T7,R>>>>>>>>  f){
 		return AsAnyM.notTypeSafeAnyM(this.yieldInternal(f));
 	}
+	public <R> CompletableFuture<R> yieldAsync(Executor executor,Function<T,Function<T1,Function<T2,Function<T3,Function<T4,Function<T5,Function<T6,Function<T7,R>>>>>>>> f){
+		return this.yieldAsyncInternal(executor,f);
+	}
 }
\ No newline at end of file
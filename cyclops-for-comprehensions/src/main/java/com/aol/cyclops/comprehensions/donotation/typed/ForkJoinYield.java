@@ -0,0 +1,120 @@
+package com.aol.cyclops.comprehensions.donotation.typed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Expands a for comprehension by splitting the outer generator into chunks, each chunk
+ * is expanded through all of the inner generators on its own (sequential) comprehension. 
+ * 
+ * As no comprehension state is shared between chunks, there is no contention between worker threads
+ * other than when ordered results are merged.
+ * 
+ * @author johnmcclean
+ *
+ */
+@AllArgsConstructor
+final class ForkJoinYield {
+	
+	private final Function<List,Stream> chunkExpander;
+	private final ParallelExpansion mode;
+	
+	
+	List expand(Spliterator outer){
+		long targetSize = Math.max(1, outer.estimateSize() / (mode.getPool().getParallelism() << 2));
+		if(mode.isOrdered()){
+			OrderedTask root = new OrderedTask(outer,targetSize);
+			mode.getPool().invoke(root);
+			List results = new ArrayList(root.size());
+			root.copyInto(results);
+			return results;
+		}
+		Queue results = new ConcurrentLinkedQueue();
+		mode.getPool().invoke(new UnorderedTask(outer,targetSize,results));
+		return new ArrayList(results);
+	}
+	
+	private List expandChunk(Spliterator chunk){
+		List values = new ArrayList();
+		chunk.forEachRemaining(values::add);
+		if(values.size()==0)
+			return values;
+		return (List)chunkExpander.apply(values).collect(Collectors.toList());
+	}
+	
+	/*
+	 * Leaves keep their own chunk of results, which are concatenated once (in encounter order) by the caller
+	 * after the whole tree has completed - rather than being copied into a new list at every join
+	 */
+	private class OrderedTask extends RecursiveAction{
+		
+		private static final long serialVersionUID = 1L;
+		private final Spliterator spliterator;
+		private final long targetSize;
+		private OrderedTask left;
+		private OrderedTask right;
+		private List chunk;
+		
+		OrderedTask(Spliterator spliterator, long targetSize){
+			this.spliterator = spliterator;
+			this.targetSize = targetSize;
+		}
+		
+		@Override
+		protected void compute() {
+			Spliterator prefix;
+			if(spliterator.estimateSize() <= targetSize || (prefix = spliterator.trySplit())==null){
+				chunk = expandChunk(spliterator);
+				return;
+			}
+			left = new OrderedTask(prefix,targetSize);
+			right = new OrderedTask(spliterator,targetSize);
+			left.fork();
+			right.compute();
+			left.join();
+		}
+		int size(){
+			return chunk!=null ? chunk.size() : left.size() + right.size();
+		}
+		void copyInto(List results){
+			if(chunk!=null){
+				results.addAll(chunk);
+			}else{
+				left.copyInto(results);
+				right.copyInto(results);
+			}
+		}
+	}
+	@AllArgsConstructor
+	private class UnorderedTask extends RecursiveTask<Void>{
+		
+		private static final long serialVersionUID = 1L;
+		private final Spliterator spliterator;
+		private final long targetSize;
+		private final Queue results;
+		
+		@Override
+		protected Void compute() {
+			Spliterator split;
+			if(spliterator.estimateSize() <= targetSize || (split = spliterator.trySplit())==null){
+				results.addAll(expandChunk(spliterator));
+				return null;
+			}
+			UnorderedTask forked = new UnorderedTask(split,targetSize,results);
+			forked.fork();
+			new UnorderedTask(spliterator,targetSize,results).compute();
+			forked.join();
+			return null;
+		}
+	}
+}
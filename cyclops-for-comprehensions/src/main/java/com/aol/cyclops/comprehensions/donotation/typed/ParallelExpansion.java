@@ -0,0 +1,21 @@
+package com.aol.cyclops.comprehensions.donotation.typed;
+
+import java.util.concurrent.ForkJoinPool;
+
+import lombok.Value;
+import lombok.experimental.Wither;
+
+/**
+ * Marks a for comprehension for fork-join expansion : the outer generator is split across
+ * the supplied ForkJoinPool and each split expands the inner generators locally
+ * 
+ * @author johnmcclean
+ *
+ */
+@Value
+@Wither
+public class ParallelExpansion {
+
+	ForkJoinPool pool;
+	boolean ordered;
+}
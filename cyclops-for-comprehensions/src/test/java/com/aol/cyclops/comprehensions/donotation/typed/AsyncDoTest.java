@@ -0,0 +1,82 @@
+package com.aol.cyclops.comprehensions.donotation.typed;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class AsyncDoTest {
+
+	ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r,"async-do"));
+	
+	@After
+	public void shutdown(){
+		executor.shutdown();
+	}
+	
+	@Test
+	public void independentFuturesDoNotBlock(){
+		CompletableFuture<Integer> f1 = new CompletableFuture<>();
+		CompletableFuture<Integer> f2 = new CompletableFuture<>();
+		
+		CompletableFuture<Integer> result = Do.add(f1)
+											  .add(f2)
+											  .yieldAsync(executor, a -> b -> a+b);
+		assertFalse(result.isDone());
+		f2.complete(10);
+		f1.complete(5);
+		
+		assertThat(result.join(),equalTo(15));
+	}
+	@Test
+	public void dependentFuturesAreChained(){
+		CompletableFuture<String> result = Do.add(CompletableFuture.completedFuture(10))
+											 .withCompletableFuture(a -> CompletableFuture.supplyAsync(()->a*2))
+											 .add(CompletableFuture.completedFuture("!"))
+											 .yieldAsync(executor, a -> b -> c -> ""+a+b+c);
+		
+		assertThat(result.join(),equalTo("1020!"));
+	}
+	@Test
+	public void yieldRunsOnExecutor(){
+		AtomicReference<String> thread = new AtomicReference<>();
+		Do.add(CompletableFuture.completedFuture(10))
+		  .add(CompletableFuture.completedFuture(20))
+		  .yieldAsync(executor, a -> b -> { thread.set(Thread.currentThread().getName()); return a+b;})
+		  .join();
+		
+		assertThat(thread.get(),equalTo("async-do"));
+	}
+	@Test
+	public void filteredOutCompletesExceptionally(){
+		CompletableFuture<Integer> result = Do.add(CompletableFuture.completedFuture(10))
+											  .filter(a -> a>100)
+											  .yieldAsync(executor, a -> a+1);
+		try{
+			result.join();
+			fail("expected NoSuchElementException");
+		}catch(CompletionException e){
+			assertThat(e.getCause(),instanceOf(NoSuchElementException.class));
+		}
+	}
+	@Test
+	public void suppliersRunOnExecutor(){
+		CompletableFuture<String> result = Do.add((Supplier<String>)()->Thread.currentThread().getName())
+											 .add(CompletableFuture.completedFuture("!"))
+											 .yieldAsync(executor, a -> b -> a+b);
+		
+		assertThat(result.join(),equalTo("async-do!"));
+	}
+}
@@ -7,6 +7,7 @@ import static org.junit.Assert.assertThat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -205,4 +206,16 @@ public class DoListsTest {
 	}
 	
 	
+	@Test
+	public void findFirstOnlyExpandsOnDemand(){
+		AtomicInteger expanded = new AtomicInteger(0);
+		Stream<Integer> s = Do.add(Stream.iterate(1,i->i+1))
+								.withStream(a -> { expanded.incrementAndGet(); return Stream.iterate(1,i->i+1);})
+								.filter(a -> b -> b>5)
+								.yield( a -> b -> a*b).unwrap();
+		
+		assertThat(s.findFirst().get(),equalTo(6));
+		assertThat(expanded.get(),equalTo(1));
+	}
+	
 }
@@ -0,0 +1,86 @@
+package com.aol.cyclops.comprehensions.donotation.typed;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+public class ParallelDoTest {
+
+	List<Integer> list1 = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+	List<Integer> list2 = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+	List<Integer> list3 = asList(1,2,3);
+	
+	@Test
+	public void parallelRetainsOrder(){
+		List<Integer> sequential = Do.add(list1)
+									.add(list2)
+									.add(list3)
+									.filter(a->b->c-> a%2==0)
+									.yield(a->b->c-> a*100+b*10+c).<Integer>toSequence().toList();
+		
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try{
+			List<Integer> parallel = Do.parallel(pool)
+										.add(list1)
+										.add(list2)
+										.add(list3)
+										.filter(a->b->c-> a%2==0)
+										.yield(a->b->c-> a*100+b*10+c).<Integer>toSequence().toList();
+			
+			assertThat(parallel,equalTo(sequential));
+		}finally{
+			pool.shutdown();
+		}
+	}
+	@Test
+	public void unorderedContainsAllResults(){
+		List<Integer> parallel = Do.parallel()
+									.unordered()
+									.add(list1)
+									.add(list2)
+									.yield(a->b-> a*100+b).<Integer>toSequence().toList();
+		
+		assertThat(parallel.size(),equalTo(1000));
+		assertThat(new HashSet<>(parallel).size(),equalTo(1000));
+	}
+	@Test
+	public void expandsOnSuppliedPool(){
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try{
+			Set<Thread> threads = ConcurrentHashMap.newKeySet();
+			Do.parallel(pool)
+				.add(list1)
+				.withStream(a->Stream.of(a,a))
+				.yield(a->b-> { threads.add(Thread.currentThread()); return a+b;}).<Integer>toSequence().toList();
+			
+			assertTrue(threads.stream().allMatch(t -> t instanceof ForkJoinWorkerThread 
+													&& ((ForkJoinWorkerThread)t).getPool()==pool));
+		}finally{
+			pool.shutdown();
+		}
+	}
+	@Test
+	public void nonStreamOuterGeneratorRunsSequentially(){
+		assertThat(Do.parallel()
+					.add(Optional.of(10))
+					.add(list3)
+					.yield(a->b->a+b).<Integer>toSequence().toList(),
+					equalTo(Do.add(Optional.of(10))
+								.add(list3)
+								.yield(a->b->a+b).<Integer>toSequence().toList()));
+	}
+}
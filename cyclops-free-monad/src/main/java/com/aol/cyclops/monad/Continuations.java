@@ -0,0 +1,68 @@
+package com.aol.cyclops.monad;
+
+import java.util.Deque;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Persistent, type aligned sequence of the bind functions that follow a step in a Free program
+ * (A -&gt; Free&lt;F,X&gt;, X -&gt; Free&lt;F,Y&gt; ... -&gt; Free&lt;F,B&gt;).
+ * 
+ * Stored as a tree, so appending a bind or concatenating two sequences is O(1) regardless of how the program 
+ * was built. The interpreter takes binds from the front in amortized O(1).
+ * 
+ * @author johnmcclean
+ *
+ * @param <A> Input type of the first bind
+ * @param <R> Result type of the last bind
+ */
+@SuppressWarnings({"rawtypes","unchecked"})
+abstract class Continuations<A,R> {
+	
+	static <A,R> Continuations<A,R> of(Function<A,R> fn){
+		return new Leaf<>(fn);
+	}
+	
+	<R2> Continuations<A,R2> append(Function<?,R2> fn){
+		return new Node(this,new Leaf(fn));
+	}
+	
+	<R2> Continuations<A,R2> concat(Continuations<?,R2> next){
+		return new Node(this,next);
+	}
+	
+	/**
+	 * Remove the first bind, pushing any remaining binds onto the supplied stack
+	 * 
+	 * @param remaining Stack of pending continuations
+	 * @return First bind function
+	 */
+	abstract Function<Object,Object> first(Deque<Continuations> remaining);
+	
+	@AllArgsConstructor
+	private static final class Leaf<A,R> extends Continuations<A,R>{
+		private final Function fn;
+		
+		@Override
+		Function<Object,Object> first(Deque<Continuations> remaining) {
+			return fn;
+		}
+	}
+	@AllArgsConstructor
+	private static final class Node<A,R> extends Continuations<A,R>{
+		private final Continuations left;
+		private final Continuations right;
+		
+		@Override
+		Function<Object,Object> first(Deque<Continuations> remaining) {
+			Continuations current = this;
+			while(current instanceof Node){
+				Node node = (Node)current;
+				remaining.push(node.right);
+				current = node.left;
+			}
+			return ((Leaf)current).fn;
+		}
+	}
+}
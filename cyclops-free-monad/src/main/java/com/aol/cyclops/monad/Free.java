@@ -7,11 +7,13 @@ import static fj.data.Either.right;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.Value;
 
 import com.aol.cyclops.lambda.monads.Functor;
 import com.aol.cyclops.matcher.Matchable;
-import com.aol.cyclops.matcher.builders.CheckType;
 import com.aol.cyclops.trampoline.Trampoline;
 
 import fj.data.Either;
@@ -54,6 +56,32 @@ public interface Free<F extends Functor<?>,A> extends Matchable {
 	
 	<T1> Trampoline<Either<Functor<Free<F,A>>, A>> resume(Functor<T1> f);
 	
+	/**
+	 * Evaluate this Free program until it either completes or is suspended, in constant stack
+	 * 
+	 * @return Result (right) or the suspended Functor containing the remainder of the program (left)
+	 */
+	default Either<Functor<Free<F,A>>, A> resume(){
+		return FreeInterpreter.resume(this);
+	}
+	
+	/**
+	 * Run this Free program to completion, in constant stack.
+	 * 
+	 * <pre>{@code
+	 *  Free<Functor<?>,Integer> program = Box.liftF(10).flatMap(i->Box.liftF(i+1));
+	 *  program.run(box -> ((Box<Free<Functor<?>,Integer>>)box).getA());
+	 *  //11
+	 * }</pre>
+	 * 
+	 * @param interpreter Extracts the next step from each suspended Functor
+	 * @return Result of the program
+	 */
+	@SuppressWarnings("unchecked")
+	default A run(Function<? super Functor<Free<F,A>>,? extends Free<F,A>> interpreter){
+		return (A)FreeInterpreter.run(this, interpreter);
+	}
+	
 	
 
 
@@ -124,41 +152,39 @@ public interface Free<F extends Functor<?>,A> extends Matchable {
 			}
    
 	}
-	@Value
+	@Value @AllArgsConstructor(access=AccessLevel.PACKAGE)
 	static class GoSub<A,F extends Functor<?>,B>  implements Free<F,B>{
 		
 		Free<F,A> free;
-		Function<A,Free<F,B>> next;
+		@Getter(AccessLevel.PACKAGE)
+		Continuations<A,Free<F,B>> continuations;
 		
+		GoSub(Free<F,A> free, Function<A,Free<F,B>> next){
+			this(free,Continuations.of(next));
+		}
+		/**
+		 * @return Function that applies all binds following this step, in order
+		 */
+		public Function<A,Free<F,B>> getNext(){
+			return a -> new GoSub<>(Free.<A,F>ret(a),continuations);
+		}
 		@Override
 		public B unwrap() {
 			return null;
 		}
+		/* 
+		 * Appends to the queue of continuations in O(1), so left nested binds are interpreted in linear time
+		 * @see com.aol.cyclops.monad.Free#flatMap(java.util.function.Function)
+		 */
 		@Override
 		public <B1> Free<F, B1> flatMap(Function<B, Free<F, B1>> newFn) {
-			return new GoSub<>(free,a-> new GoSub<>(next.apply(a),newFn));
+			return new GoSub<>(free,continuations.append(newFn));
 		}
-		@SuppressWarnings({ "unchecked", "rawtypes" })
 		@Override
 		public <T1> Trampoline<Either<Functor<Free<F, B>>, B>> resume(
 				Functor<T1> f) {
-			
-			
-			Either<Either<Functor<Free<F,A>>, A>,Free> res= free.matchType(whenReturnSuspendOrGoSub(f));
-		
-	
-			return res.isLeft() ? (Trampoline)done(res.left().value()) : Trampoline.more(()->res.right().value().resume(f));
+			return done(resume());
 		}
-		
-		@SuppressWarnings({ "rawtypes", "unchecked" })
-		private <T1> Function<CheckType<? super Either>,CheckType<? super Either>> whenReturnSuspendOrGoSub(Functor<T1> f){
-			
-			return  c ->  c.isType((Return<A,F> r) -> right(next.apply(r.result)))
-							.isType( (Suspend<A,F> s) -> left((f.map(o -> ((Free) o).flatMap(next)))))
-							.isType( (GoSub<A,F,B> y) -> right(y.free.flatMap(o -> y.next.apply(o).flatMap((Function)this.next))));
-
-		}
-		
 							
 	}
 	 
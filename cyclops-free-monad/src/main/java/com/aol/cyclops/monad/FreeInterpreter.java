@@ -0,0 +1,92 @@
+package com.aol.cyclops.monad;
+
+import static fj.data.Either.left;
+import static fj.data.Either.right;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Function;
+
+import com.aol.cyclops.lambda.monads.Functor;
+
+import fj.data.Either;
+
+/**
+ * Loop based interpreter for Free programs.
+ * 
+ * Dispatches on Return / Suspend / GoSub with plain type checks, and keeps pending continuations on an explicit
+ * stack - so programs of any length (and any nesting of binds) run in constant Java stack. Each bind is
+ * taken from its Continuations queue exactly once, so interpretation is linear in the number of binds.
+ * 
+ * @author johnmcclean
+ *
+ */
+@SuppressWarnings({"rawtypes","unchecked"})
+final class FreeInterpreter {
+	
+	private FreeInterpreter(){}
+	
+	/**
+	 * Run a Free program to completion, resuming each suspension with the supplied interpreter
+	 * 
+	 * @param free Program to run
+	 * @param interpreter Extracts the next step from a suspended Functor
+	 * @return Result of the program
+	 */
+	static Object run(Free free, Function interpreter){
+		Free current = free;
+		Deque<Continuations> continuations = new ArrayDeque<>();
+		while(true){
+			if(current instanceof Free.GoSub){
+				Free.GoSub sub = (Free.GoSub)current;
+				continuations.push(sub.getContinuations());
+				current = sub.getFree();
+			}
+			else if(current instanceof Free.Return){
+				Object value = ((Free.Return)current).getResult();
+				if(continuations.isEmpty())
+					return value;
+				current = (Free)continuations.pop().first(continuations).apply(value);
+			}
+			else{
+				current = (Free)interpreter.apply(((Free.Suspend)current).getNext());
+			}
+		}
+	}
+	
+	/**
+	 * Evaluate a Free program until it completes or is suspended
+	 * 
+	 * @param free Program to evaluate
+	 * @return Result (right) or a suspended Functor containing the remainder of the program (left)
+	 */
+	static Either resume(Free free){
+		Free current = free;
+		Deque<Continuations> continuations = null;
+		while(true){
+			if(current instanceof Free.GoSub){
+				Free.GoSub sub = (Free.GoSub)current;
+				if(continuations==null)
+					continuations = new ArrayDeque<>();
+				continuations.push(sub.getContinuations());
+				current = sub.getFree();
+			}
+			else if(current instanceof Free.Return){
+				Object value = ((Free.Return)current).getResult();
+				if(continuations==null || continuations.isEmpty())
+					return right(value);
+				current = (Free)continuations.pop().first(continuations).apply(value);
+			}
+			else{
+				Functor next = ((Free.Suspend)current).getNext();
+				if(continuations==null || continuations.isEmpty())
+					return left(next);
+				Continuations remaining = continuations.pop();
+				while(!continuations.isEmpty())
+					remaining = remaining.concat(continuations.pop());
+				Continuations rest = remaining;
+				return left(next.map(o -> new Free.GoSub((Free)o,rest)));
+			}
+		}
+	}
+}
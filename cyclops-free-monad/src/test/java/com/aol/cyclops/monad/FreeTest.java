@@ -1,12 +1,103 @@
 package com.aol.cyclops.monad;
 
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import lombok.Value;
 
+import org.junit.Ignore;
+import org.junit.Test;
+
 import com.aol.cyclops.lambda.monads.Functor;
 
 public class FreeTest {
+	
+	static Function<Functor<Free<Functor<?>,Integer>>,Free<Functor<?>,Integer>> interpreter = box -> ((Box<Free<Functor<?>,Integer>>)box).getA();
+	
+	@Test
+	public void run(){
+		Free<Functor<?>,Integer> program = Box.liftF(10).flatMap(i->Box.liftF(i+1));
+		assertThat(program.run(interpreter),is(11));
+	}
+	@Test
+	public void runMillionSteps(){
+		assertThat(countdown(1_000_000).run(interpreter),is(0));
+	}
+	Free<Functor<?>,Integer> countdown(int n){
+		if(n==0)
+			return Free.ret(0);
+		return Box.liftF(n-1).flatMap(this::countdown);
+	}
+	@Test
+	public void leftNestedBinds(){
+		assertThat(leftNested(100_000).run(interpreter),is(100_000));
+		assertThat(leftNested(1_000_000).run(interpreter),is(1_000_000));
+	}
+	@Test
+	public void leftNestedBindsApplyEachBindOnce(){
+		AtomicInteger applied = new AtomicInteger(0);
+		Free<Functor<?>,Integer> program = Box.liftF(0);
+		for(int i=0;i<1_000_000;i++)
+			program = program.flatMap(v->{ applied.incrementAndGet(); return Free.ret(v+1);});
+		assertThat(program.run(interpreter),is(1_000_000));
+		assertThat(applied.get(),is(1_000_000));
+	}
+	@Test
+	public void goSubNextAppliesAllBinds(){
+		Free<Functor<?>,Integer> program = Free.<Integer,Functor<?>>ret(1).flatMap(i->Free.ret(i+1)).flatMap(i->Free.ret(i*10));
+		Function<Integer,Free<Functor<?>,Integer>> next = ((Free.GoSub<Integer,Functor<?>,Integer>)program).getNext();
+		assertThat(next.apply(4).run(interpreter),is(50));
+	}
+	/*
+	 * Benchmark, run manually : time per bind should stay flat as the number of left nested binds grows (linear scaling)
+	 */
+	@Test @Ignore
+	public void leftNestedBindsBenchmark(){
+		for(int binds : new int[]{10_000,100_000,1_000_000}){
+			long best = Long.MAX_VALUE;
+			for(int run=0;run<5;run++){
+				Free<Functor<?>,Integer> program = leftNested(binds);
+				long start = System.nanoTime();
+				program.run(interpreter);
+				best = Math.min(best,System.nanoTime()-start);
+			}
+			System.out.printf("%,d left nested binds : %,d ms (%d ns per bind)%n",binds,best/1_000_000,best/binds);
+		}
+	}
+	Free<Functor<?>,Integer> leftNested(int binds){
+		Free<Functor<?>,Integer> program = Box.liftF(0);
+		for(int i=0;i<binds;i++)
+			program = program.flatMap(v->Free.ret(v+1));
+		return program;
+	}
+	@Test
+	public void resumeLeftNested(){
+		Free<Functor<?>,Integer> program = Box.liftF(0);
+		for(int i=0;i<10;i++)
+			program = program.flatMap(v->Free.ret(v+1)).flatMap(v->Box.liftF(v));
+		int suspensions = 0;
+		while(program.resume().isLeft()){
+			program = ((Box<Free<Functor<?>,Integer>>)program.resume().left().value()).getA();
+			suspensions++;
+		}
+		assertThat(suspensions,is(11));
+		assertThat(program.resume().right().value(),is(10));
+	}
+	@Test
+	public void resumeSuspended(){
+		Free<Functor<?>,Integer> program = Free.<Integer,Functor<?>>ret(1).flatMap(i->Box.liftF(i+1)).map(i->i*10);
+		Functor<Free<Functor<?>,Integer>> suspended = program.resume().left().value();
+		Free<Functor<?>,Integer> rest = ((Box<Free<Functor<?>,Integer>>)suspended).getA();
+		assertThat(rest.resume().right().value(),equalTo(20));
+	}
+	@Test
+	public void resumeComplete(){
+		assertThat(Free.<Integer,Functor<?>>ret(1).map(i->i+1).resume().right().value(),equalTo(2));
+	}
 	/**
 	@Test
 	public void testFreeList2(){
@@ -0,0 +1,327 @@
+package com.aol.cyclops.functions;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.aol.cyclops.functions.CachePolicy.Eviction;
+import com.aol.cyclops.lambda.metrics.CacheMetrics;
+import com.aol.cyclops.functions.CachePolicy.ValueStrength;
+
+/**
+ * Memoisation cache configured by a CachePolicy.
+ * 
+ * LRU eviction is approximated with a CLOCK (second chance) queue. LFU is FIFO eviction with frequency based admission - 
+ * once the cache is full a new entry is only stored if a frequency sketch estimates it is used more often than the oldest entry.
+ * There is no separate admission window or segmented LRU main area, as in W-TinyLFU.
+ * 
+ * Reads are a lock free ConcurrentHashMap lookup (plus, when needed, setting a reference bit and access time), 
+ * writes are striped by the underlying map. Eviction runs on the writing thread, under a lock that is only ever tried - 
+ * if another thread is already evicting the writer carries on. Values are computed outside of any lock, so concurrent
+ * misses for the same key may compute the value more than once.
+ * 
+ * When supplied with CacheMetrics every lookup is recorded as a request, every entry that is evicted, expired or collected as an eviction
+ * and every other entry that is removed (or not stored) as a removal, values computed by the caller are recorded by the caller.
+ * 
+ * @author johnmcclean
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+final class BoundedCache<K,V> {
+	
+	private static final int CLEAN_UP_BATCH = 8;
+	
+	private final ConcurrentHashMap<K,Node<K,V>> map = new ConcurrentHashMap<>();
+	private final Queue<Node<K,V>> evictionQueue = new ConcurrentLinkedQueue<>();
+	private final ReentrantLock evictionLock = new ReentrantLock();
+	private final ReferenceQueue<V> collected = new ReferenceQueue<>();
+	
+	private final long maximumSize;
+	private final boolean lfu;
+	private final long expireAfterWrite;
+	private final long expireAfterAccess;
+	private final ValueStrength valueStrength;
+	private final CacheMetrics metrics;
+	private final LongSupplier ticker;
+	private final FrequencySketch sketch;
+	
+	/**
+	 * @param policy Cache configuration
+	 * @param metrics Metrics to record requests and removals to, or null
+	 */
+	BoundedCache(CachePolicy policy, CacheMetrics metrics){
+		this.maximumSize = policy.getMaximumSize();
+		this.lfu = policy.isBounded() && policy.getEviction()==Eviction.LFU;
+		this.expireAfterWrite = policy.getExpireAfterWrite()==null ? -1 : policy.getExpireAfterWrite().toNanos();
+		this.expireAfterAccess = policy.getExpireAfterAccess()==null ? -1 : policy.getExpireAfterAccess().toNanos();
+		this.valueStrength = policy.getValueStrength();
+		this.metrics = metrics;
+		this.ticker = policy.getTicker();
+		this.sketch = lfu ? new FrequencySketch(maximumSize) : null;
+	}
+	
+	V computeIfAbsent(K key, Function<? super K,? extends V> fn){
+		V value = getIfPresent(key);
+		if(value!=null)
+			return value;
+		value = fn.apply(key);
+		if(value!=null)
+			store(key,value,false);
+		return value;
+	}
+	
+	/**
+	 * @param key Key to look up
+	 * @return Live cached value or null (recorded as a cache miss)
+	 */
+	V getIfPresent(K key){
+		long now = now();
+		if(metrics!=null)
+			metrics.request();
+		if(lfu)
+			sketch.increment(key);
+		Node<K,V> node = map.get(key);
+		if(node!=null){
+			V value = node.value();
+			if(value!=null && !expired(node,now)){
+				node.touch(now,expireAfterAccess>=0);
+				return value;
+			}
+			if(map.remove(key,node))
+				recordEviction();
+		}
+		return null;
+	}
+	/**
+	 * @param key Key to look up
+	 * @return Live cached value or null, without recording the access
+	 */
+	V peek(K key){
+		Node<K,V> node = map.get(key);
+		if(node==null)
+			return null;
+		V value = node.value();
+		return value==null || expired(node,now()) ? null : value;
+	}
+	/**
+	 * Store value unless there is already a live value for key
+	 * 
+	 * @return The existing live value, or null if value was stored (or not admitted)
+	 */
+	V putIfAbsent(K key, V value){
+		return store(key,value,true);
+	}
+	
+	long size(){
+		return map.size();
+	}
+	void invalidateAll(){
+		if(metrics!=null)
+			metrics.removed(map.size());
+		map.clear();
+		evictionQueue.clear();
+	}
+	
+	private V store(K key, V value, boolean ifAbsent){
+		purgeCollected();
+		if(lfu && map.size()>=maximumSize && !admit(key)){
+			recordRemoval();
+			return null;
+		}
+		long now = now();
+		Node<K,V> node = new Node<>(key,reference(value),now);
+		if(ifAbsent){
+			Node<K,V> existing;
+			while((existing = map.putIfAbsent(key,node))!=null){
+				V current = existing.value();
+				if(current!=null && !expired(existing,now)){
+					recordRemoval();
+					return current;
+				}
+				if(map.replace(key,existing,node)){
+					recordEviction();
+					break;
+				}
+			}
+		}
+		else if(map.put(key,node)!=null){
+			recordRemoval();
+		}
+		if(maximumSize>=0 || expires()){
+			evictionQueue.offer(node);
+			maintain();
+		}
+		return null;
+	}
+	/*
+	 * TinyLFU style admission, only replace the next (FIFO) eviction candidate with an entry that is used more frequently
+	 */
+	private boolean admit(K key){
+		Node<K,V> victim = evictionQueue.peek();
+		return victim==null || sketch.frequency(key) > sketch.frequency(victim.key);
+	}
+	
+	/*
+	 * Writers that can't take the lock rely on the thread holding it, which re-checks the size after releasing it
+	 */
+	private void maintain(){
+		do{
+			if(!evictionLock.tryLock())
+				return;
+			try{
+				long now = now();
+				cleanUp(now);
+				if(maximumSize>=0)
+					evict(now);
+			}finally{
+				evictionLock.unlock();
+			}
+		}while(maximumSize>=0 && map.size()>maximumSize);
+	}
+	/*
+	 * Inspect a few entries at the head of the queue, dropping replaced entries and removing expired entries, so
+	 * that entries that are never read again are still removed
+	 */
+	private void cleanUp(long now){
+		for(int i=0;i<CLEAN_UP_BATCH;i++){
+			Node<K,V> next = evictionQueue.peek();
+			if(next==null)
+				return;
+			if(map.get(next.key)!=next){
+				evictionQueue.poll();
+			}
+			else if(expires() && expired(next,now)){
+				evictionQueue.poll();
+				if(map.remove(next.key,next))
+					recordEviction();
+			}
+			else if(expireAfterAccess>=0){
+				evictionQueue.offer(evictionQueue.poll());
+			}
+			else{
+				return;
+			}
+		}
+	}
+	private void evict(long now){
+		while(map.size()>maximumSize){
+			Node<K,V> next = evictionQueue.poll();
+			if(next==null)
+				return;
+			if(map.get(next.key)!=next)
+				continue;
+			if(!lfu && next.referenced && !expired(next,now)){
+				next.referenced = false;
+				evictionQueue.offer(next);
+				continue;
+			}
+			if(map.remove(next.key,next))
+				recordEviction();
+		}
+	}
+	private void purgeCollected(){
+		if(valueStrength==ValueStrength.STRONG)
+			return;
+		Reference<? extends V> ref;
+		while((ref = collected.poll())!=null){
+			Node<K,V> node = ((ValueReference<K,V>)ref).node();
+			if(node!=null && map.remove(node.key,node))
+				recordEviction();
+		}
+	}
+	
+	private void recordEviction(){
+		if(metrics!=null)
+			metrics.evicted();
+	}
+	private void recordRemoval(){
+		if(metrics!=null)
+			metrics.removed(1);
+	}
+	private long now(){
+		return expires() ? ticker.getAsLong() : 0;
+	}
+	private boolean expires(){
+		return expireAfterWrite>=0 || expireAfterAccess>=0;
+	}
+	private boolean expired(Node<K,V> node, long now){
+		return (expireAfterWrite>=0 && now - node.writeTime >= expireAfterWrite)
+				|| (expireAfterAccess>=0 && now - node.accessTime >= expireAfterAccess);
+	}
+	
+	private Object reference(V value){
+		switch(valueStrength){
+			case WEAK:
+				return new WeakValue<K,V>(value,collected);
+			case SOFT:
+				return new SoftValue<K,V>(value,collected);
+			default:
+				return value;
+		}
+	}
+	
+	private static final class Node<K,V>{
+		final K key;
+		final Object value;
+		final long writeTime;
+		volatile long accessTime;
+		volatile boolean referenced;
+		
+		Node(K key, Object value, long now){
+			this.key = key;
+			this.value = value;
+			this.writeTime = now;
+			this.accessTime = now;
+			if(value instanceof ValueReference)
+				((ValueReference<K,V>)value).node(this);
+		}
+		@SuppressWarnings("unchecked")
+		V value(){
+			if(value instanceof ValueReference)
+				return ((Reference<V>)value).get();
+			return (V)value;
+		}
+		void touch(long now, boolean recordAccess){
+			if(!referenced)
+				referenced = true;
+			if(recordAccess)
+				accessTime = now;
+		}
+	}
+	private interface ValueReference<K,V>{
+		Node<K,V> node();
+		void node(Node<K,V> node);
+	}
+	private static final class WeakValue<K,V> extends WeakReference<V> implements ValueReference<K,V>{
+		private Node<K,V> node;
+		WeakValue(V value, ReferenceQueue<V> queue){
+			super(value,queue);
+		}
+		public Node<K,V> node(){
+			return node;
+		}
+		public void node(Node<K,V> node){
+			this.node = node;
+		}
+	}
+	private static final class SoftValue<K,V> extends SoftReference<V> implements ValueReference<K,V>{
+		private Node<K,V> node;
+		SoftValue(V value, ReferenceQueue<V> queue){
+			super(value,queue);
+		}
+		public Node<K,V> node(){
+			return node;
+		}
+		public void node(Node<K,V> node){
+			this.node = node;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package com.aol.cyclops.functions;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.experimental.Wither;
+
+/**
+ * Configuration for a bounded memoisation cache
+ * 
+ * <pre>{@code
+ *   CacheStats stats = new CacheStats();
+ *   Function<String,Customer> lookup = Memoise.memoiseFunction(this::loadCustomer,
+ *   												CachePolicy.lru(10_000)
+ *   														   .withExpireAfterWrite(Duration.ofMinutes(5))
+ *   														   .withStats(stats)
+ *   														   .withName("customers"));
+ * }</pre>
+ * 
+ * @author johnmcclean
+ *
+ */
+@Value @Wither
+@AllArgsConstructor
+public class CachePolicy {
+	
+	public enum Eviction {
+		/**
+		 * Evict the least recently used entries (approximated with a CLOCK / second chance queue)
+		 */
+		LRU,
+		/**
+		 * FIFO with frequency admission : evict in insertion order, but once full only admit new entries that are used more frequently 
+		 * than the entry they would replace (estimated with a frequency sketch, as in TinyLFU admission). Keeps frequently used entries 
+		 * in the face of scans, but unlike W-TinyLFU has no admission window or segmented LRU, so recency is not taken into account.
+		 */
+		LFU
+	}
+	public enum ValueStrength { STRONG, WEAK, SOFT }
+	
+	/**
+	 * Maximum number of entries, or -1 for an unbounded cache
+	 */
+	long maximumSize;
+	Eviction eviction;
+	/**
+	 * Remove entries this long after they were created (null for no expiry)
+	 */
+	Duration expireAfterWrite;
+	/**
+	 * Remove entries this long after they were last read (null for no expiry)
+	 */
+	Duration expireAfterAccess;
+	ValueStrength valueStrength;
+	/**
+	 * Statistics to record hits, misses and evictions to (null to not record). When set the cache records to the CacheMetrics behind them,
+	 * whether or not Metrics are enabled, instead of to the named entry in Metrics
+	 */
+	CacheStats stats;
+	/**
+	 * Time source in nanoseconds, used for expiry
+	 */
+	LongSupplier ticker;
+	/**
+	 * Name to record metrics under when metrics are enabled (see Metrics), null to use the name of the memoising method
+	 */
+	String name;
+	
+	/**
+	 * @return Policy for a cache that never evicts
+	 */
+	public static CachePolicy unbounded(){
+		return new CachePolicy(-1,Eviction.LRU,null,null,ValueStrength.STRONG,null,System::nanoTime,null);
+	}
+	/**
+	 * @param maximumSize Maximum number of entries (must be positive)
+	 * @return Policy for a cache that evicts the least recently used entries
+	 */
+	public static CachePolicy lru(long maximumSize){
+		if(maximumSize<=0)
+			throw new IllegalArgumentException("Maximum size must be positive, but was " + maximumSize);
+		return unbounded().withMaximumSize(maximumSize);
+	}
+	/**
+	 * @param maximumSize Maximum number of entries (must be positive)
+	 * @return Policy for a cache that evicts in insertion order, only admitting new entries that are used more frequently than the oldest entry
+	 * @see Eviction#LFU
+	 */
+	public static CachePolicy lfu(long maximumSize){
+		return lru(maximumSize).withEviction(Eviction.LFU);
+	}
+	
+	boolean isBounded(){
+		return maximumSize>=0;
+	}
+}
@@ -0,0 +1,60 @@
+package com.aol.cyclops.functions;
+
+import lombok.Getter;
+
+import com.aol.cyclops.lambda.metrics.CacheMetrics;
+import com.aol.cyclops.lambda.metrics.Metrics;
+
+/**
+ * Hit, miss and eviction counts for memoisation caches - a view over the CacheMetrics the cache records to. 
+ * A CacheStats instance can be shared between caches to report aggregate statistics.
+ * 
+ * <pre>{@code
+ *   CacheStats stats = new CacheStats(Metrics.cache("customers")); //also reported by Metrics#snapshot and JMX
+ * }</pre>
+ * 
+ * @author johnmcclean
+ *
+ */
+public class CacheStats {
+
+	/**
+	 * Metrics caches configured with this CacheStats record to
+	 */
+	@Getter
+	private final CacheMetrics metrics;
+	
+	/**
+	 * Statistics that are not registered with Metrics
+	 */
+	public CacheStats(){
+		this(new CacheMetrics("CacheStats"));
+	}
+	/**
+	 * @param metrics Metrics to record to and report from (e.g. a registered instance from Metrics#cache)
+	 */
+	public CacheStats(CacheMetrics metrics){
+		this.metrics = metrics;
+	}
+	
+	public long hitCount(){
+		return metrics.getHits();
+	}
+	public long missCount(){
+		return metrics.getMisses();
+	}
+	public long evictionCount(){
+		return metrics.getEvictions();
+	}
+	/**
+	 * @return Proportion of requests that were served from the cache (1 if there have been no requests)
+	 */
+	public double hitRate(){
+		return metrics.getHitRate();
+	}
+	
+	@Override
+	public String toString(){
+		return "CacheStats[hits=" + hitCount() + ", misses=" + missCount() + ", evictions=" + evictionCount() + "]";
+	}
+}
@@ -0,0 +1,60 @@
+package com.aol.cyclops.functions;
+
+/**
+ * Approximate access frequency of cache keys, a count-min sketch (4 hashes over a table of 4 bit saturating counters, 
+ * sized at 8 counters per cache entry) that is halved every 10 * maximumSize accesses so that old popularity decays. 
+ * 
+ * Updates are deliberately unsynchronized - lost increments only make the estimate slightly less accurate.
+ * 
+ * @author johnmcclean
+ *
+ */
+final class FrequencySketch {
+	
+	private static final int[] SEEDS = { 0x97cb3127, 0xb6bc4961, 0x5d3a4b13, 0x2c1b3c6d };
+	
+	private final byte[] table;
+	private final int mask;
+	private final int sampleSize;
+	private int additions;
+	
+	FrequencySketch(long maximumSize){
+		int size = Integer.highestOneBit((int)Math.max(32, Math.min(1<<26, maximumSize*8)) - 1) << 1;
+		this.table = new byte[size];
+		this.mask = size-1;
+		this.sampleSize = (int)Math.max(16,Math.min(Integer.MAX_VALUE/2, maximumSize*10));
+	}
+	
+	void increment(Object key){
+		int hash = spread(key.hashCode());
+		for(int i=0;i<SEEDS.length;i++){
+			int index = indexOf(hash,i);
+			if(table[index]<15)
+				table[index]++;
+		}
+		if(++additions>=sampleSize)
+			reset();
+	}
+	
+	int frequency(Object key){
+		int hash = spread(key.hashCode());
+		int frequency = Integer.MAX_VALUE;
+		for(int i=0;i<SEEDS.length;i++)
+			frequency = Math.min(frequency, table[indexOf(hash,i)]);
+		return frequency;
+	}
+	
+	private int indexOf(int hash, int row){
+		int h = (hash + SEEDS[row]) * SEEDS[row];
+		return (h ^ (h>>>16)) & mask;
+	}
+	private static int spread(int hash){
+		int h = hash * 0x9e3779b9;
+		return h ^ (h>>>16);
+	}
+	private void reset(){
+		additions = 0;
+		for(int i=0;i<table.length;i++)
+			table[i] >>>= 1;
+	}
+}
@@ -1,12 +1,16 @@
 package com.aol.cyclops.functions;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import com.aol.cyclops.lambda.monads.AnyM;
+import com.aol.cyclops.trampoline.Trampoline;
 
 public class Functions extends Uncurry {
 	/**
@@ -37,7 +41,105 @@ public class Functions extends Uncurry {
 	public static <T,R> Function<T,R> memoiseFunction(Function<T,R> fn){
 		return Memoise.memoiseFunction(fn);
 	}
+	/**
+	 * Convert a Function into one that caches it's result in a cache configured by the supplied CachePolicy
+	 * 
+	 * @param fn Function to memoise
+	 * @param policy Size, expiry and reference strength of the cache
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,R> memoiseFunction(Function<T,R> fn,CachePolicy policy){
+		return Memoise.memoiseFunction(fn,policy);
+	}
+	/**
+	 * Convert a Function into one that caches it's results in a persistent, memory mapped store
+	 * 
+	 * @param fn Function to memoise
+	 * @param store Store to cache results in
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,R> memoisePersistent(Function<T,R> fn,MappedMemoStore<T,R> store){
+		return Memoise.memoisePersistent(fn,store);
+	}
 	
+	/**
+	 * Memoise a recursive Function, the supplied function is passed a memoised reference to itself to use for recursive calls
+	 * 
+	 * @param fn Recursive function, accepting a memoised self reference and the input value
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,R> memoiseRecursive(BiFunction<Function<T,R>,T,R> fn){
+		return Memoise.memoiseRecursive(fn);
+	}
+	/**
+	 * Memoise a recursive Function, computing each value once only even when sub-problems are solved in parallel
+	 * 
+	 * @param fn Recursive function, accepting a memoised self reference and the input value
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,R> memoiseRecursiveConcurrent(BiFunction<Function<T,R>,T,R> fn){
+		return Memoise.memoiseRecursiveConcurrent(fn);
+	}
+	/**
+	 * Memoise a recursive Function that returns a Trampoline, so that deeply recursive algorithms run in constant stack
+	 * 
+	 * @param fn Recursive function, accepting a memoised self reference and the input value
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,R> memoiseTrampoline(BiFunction<Function<T,Trampoline<R>>,T,Trampoline<R>> fn){
+		return Memoise.memoiseTrampoline(fn);
+	}
+	/**
+	 * Convert an asynchronous Function into one that caches the CompletableFuture it returns, concurrent callers
+	 * for the same key share a single in flight computation. Failed futures are not cached.
+	 * 
+	 * @param fn Asynchronous function to memoise
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,CompletableFuture<R>> memoiseAsync(Function<T,CompletableFuture<R>> fn){
+		return Memoise.memoiseAsync(fn);
+	}
+	/**
+	 * Convert an asynchronous Function into one that caches the CompletableFuture it returns, in a cache configured by 
+	 * the supplied CachePolicy. Failed futures are not cached.
+	 * 
+	 * @param fn Asynchronous function to memoise
+	 * @param policy Size, expiry and reference strength of the cache
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,CompletableFuture<R>> memoiseAsync(Function<T,CompletableFuture<R>> fn,CachePolicy policy){
+		return Memoise.memoiseAsync(fn,policy);
+	}
+	/**
+	 * Convert an asynchronous Function into one that caches the CompletableFuture it returns, in a cache configured by 
+	 * the supplied CachePolicy.
+	 * 
+	 * @param fn Asynchronous function to memoise
+	 * @param policy Size, expiry and reference strength of the cache
+	 * @param cacheFailures true if futures that complete exceptionally should remain cached
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,CompletableFuture<R>> memoiseAsync(Function<T,CompletableFuture<R>> fn,CachePolicy policy,boolean cacheFailures){
+		return Memoise.memoiseAsync(fn,policy,cacheFailures);
+	}
+	/**
+	 * Convert an IntFunction into one that caches it's result, in a primitive keyed table (keys are not boxed)
+	 * 
+	 * @param fn IntFunction to memoise
+	 * @return Memoised IntFunction
+	 */
+	public static <R> IntFunction<R> memoiseIntFunction(IntFunction<R> fn){
+		return Memoise.memoiseIntFunction(fn);
+	}
+	/**
+	 * Convert a LongFunction into one that caches it's result, in a primitive keyed table (keys are not boxed)
+	 * 
+	 * @param fn LongFunction to memoise
+	 * @return Memoised LongFunction
+	 */
+	public static <R> LongFunction<R> memoiseLongFunction(LongFunction<R> fn){
+		return Memoise.memoiseLongFunction(fn);
+	}
 	/**
 	 * Convert a BiFunction into one that caches it's result
 	 * 
@@ -47,6 +149,16 @@ public class Functions extends Uncurry {
 	public static <T1,T2 , R> BiFunction<T1, T2, R> memoiseBiFunction(BiFunction<T1, T2, R> fn) {
 		return Memoise.memoiseBiFunction(fn);
 	}
+	/**
+	 * Convert a BiFunction into one that caches it's result in a cache configured by the supplied CachePolicy
+	 * 
+	 * @param fn BiFunction to memoise
+	 * @param policy Size, expiry and reference strength of the cache
+	 * @return Memoised BiFunction
+	 */
+	public static <T1,T2 , R> BiFunction<T1, T2, R> memoiseBiFunction(BiFunction<T1, T2, R> fn,CachePolicy policy) {
+		return Memoise.memoiseBiFunction(fn,policy);
+	}
 	/**
 	 * Convert a TriFunction into one that caches it's result
 	 * 
@@ -56,6 +168,16 @@ public class Functions extends Uncurry {
 	public static <T1,T2,T3, R> TriFunction<T1, T2,T3, R> memoiseTriFunction(TriFunction<T1, T2,T3, R> fn) {
 		return Memoise.memoiseTriFunction(fn);
 	}
+	/**
+	 * Convert a TriFunction into one that caches it's result in a cache configured by the supplied CachePolicy
+	 * 
+	 * @param fn TriFunction to memoise
+	 * @param policy Size, expiry and reference strength of the cache
+	 * @return Memoised TriFunction
+	 */
+	public static <T1,T2,T3, R> TriFunction<T1, T2,T3, R> memoiseTriFunction(TriFunction<T1, T2,T3, R> fn,CachePolicy policy) {
+		return Memoise.memoiseTriFunction(fn,policy);
+	}
 	/**
 	 * Convert a QuadFunction into one that caches it's result
 	 * 
@@ -65,6 +187,16 @@ public class Functions extends Uncurry {
 	public static <T1,T2,T3,T4, R> QuadFunction<T1, T2,T3, T4,R> memoiseQuadFunction(QuadFunction<T1, T2,T3,T4, R> fn) {
 		return Memoise.memoiseQuadFunction(fn);
 	}
+	/**
+	 * Convert a QuadFunction into one that caches it's result in a cache configured by the supplied CachePolicy
+	 * 
+	 * @param fn QuadFunction to memoise
+	 * @param policy Size, expiry and reference strength of the cache
+	 * @return Memoised QuadFunction
+	 */
+	public static <T1,T2,T3,T4, R> QuadFunction<T1, T2,T3, T4,R> memoiseQuadFunction(QuadFunction<T1, T2,T3,T4, R> fn,CachePolicy policy) {
+		return Memoise.memoiseQuadFunction(fn,policy);
+	}
 	/**
 	 * Convert a Predicate into one that caches it's result
 	 * 
@@ -74,6 +206,16 @@ public class Functions extends Uncurry {
 	public static <T> Predicate<T> memoisePredicate(Predicate<T> p) {
 		return Memoise.memoisePredicate(p);
 	}
+	/**
+	 * Convert a Predicate into one that caches it's result in a cache configured by the supplied CachePolicy
+	 * 
+	 * @param p Predicate to memoise
+	 * @param policy Size, expiry and reference strength of the cache
+	 * @return Memoised Predicate
+	 */
+	public static <T> Predicate<T> memoisePredicate(Predicate<T> p,CachePolicy policy) {
+		return Memoise.memoisePredicate(p,policy);
+	}
 	/**
 	 * Lift a function so it accepts a Monad and returns a Monad (simplex view of a wrapped Monad)
 	 * Simplex view simplifies type related challenges. The actual native type is not specified here.
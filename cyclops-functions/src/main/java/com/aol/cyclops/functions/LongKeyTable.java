@@ -0,0 +1,76 @@
+package com.aol.cyclops.functions;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Open addressing (linear probing) table from primitive long keys to values, used to memoise functions over int and long
+ * without boxing the key.
+ * 
+ * Reads are lock free and allocation free. A slot is in use once its value is set - the key is written before the value is 
+ * published, so a reader that sees a value also sees its key. Writes are serialized, and the table is replaced (rather than
+ * modified) when it grows.
+ * 
+ * @author johnmcclean
+ *
+ * @param <V> Value type
+ */
+final class LongKeyTable<V> {
+	
+	private static final int INITIAL_CAPACITY = 64;
+	
+	private volatile Table<V> table = new Table<>(INITIAL_CAPACITY);
+	private int size;
+	
+	V get(long key){
+		Table<V> current = table;
+		int mask = current.keys.length-1;
+		for(int i=hash(key) & mask;;i=(i+1) & mask){
+			V value = current.values.get(i);
+			if(value==null)
+				return null;
+			if(current.keys[i]==key)
+				return value;
+		}
+	}
+	
+	synchronized void putIfAbsent(long key, V value){
+		if(get(key)!=null)
+			return;
+		if((size+1) << 1 > table.keys.length)
+			table = table.resize();
+		table.insert(key,value);
+		size++;
+	}
+	
+	private static int hash(long key){
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int)(h ^ (h >>> 32));
+	}
+	
+	private static final class Table<V>{
+		final long[] keys;
+		final AtomicReferenceArray<V> values;
+		
+		Table(int capacity){
+			this.keys = new long[capacity];
+			this.values = new AtomicReferenceArray<>(capacity);
+		}
+		void insert(long key, V value){
+			int mask = keys.length-1;
+			int i = hash(key) & mask;
+			while(values.get(i)!=null)
+				i = (i+1) & mask;
+			keys[i] = key;
+			values.set(i,value);
+		}
+		Table<V> resize(){
+			Table<V> larger = new Table<>(keys.length << 1);
+			for(int i=0;i<keys.length;i++){
+				V value = values.get(i);
+				if(value!=null)
+					larger.insert(keys[i],value);
+			}
+			return larger;
+		}
+	}
+}
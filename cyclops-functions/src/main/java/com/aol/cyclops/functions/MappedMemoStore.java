@@ -0,0 +1,389 @@
+package com.aol.cyclops.functions;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A persistent key / value store, backed by memory mapped files, for memoising Functions across JVM restarts
+ * (see Memoise#memoisePersistent).
+ *
+ * Entries are appended to a data file ([key length][value length][key][value] records, which never span segments) and located via an
+ * open addressing index file (slots of [data offset][hash of serialised key]). Opening a store only maps the files,
+ * pages are loaded by the operating system as they are touched. Keys are compared in their serialised form,
+ * so keys are never deserialised. Values are deserialised from read only views of the mapped data, allowing
+ * Serialisers (such as Serialiser#bytes) to return them without copying.
+ *
+ * Entries are never removed or replaced. Changes are written to disk by the operating system, or on force / close.
+ *
+ * <pre>{@code
+ *  try(MappedMemoStore<String,String> store = MappedMemoStore.open(Paths.get("/tmp/lookup"),Serialiser.utf8(),Serialiser.utf8())){
+ *  	Function<String,String> lookup = Memoise.memoisePersistent(this::remoteLookup,store);
+ *  	...
+ *  }
+ * }</pre>
+ *
+ * @author johnmcclean
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public final class MappedMemoStore<K,V> implements Closeable{
+
+	private static final int DATA_MAGIC = 0xC7C1DA7A;
+	private static final int INDEX_MAGIC = 0xC7C11DE8;
+	private static final int VERSION = 2;
+	private static final int DATA_HEADER_SIZE = 24;
+	private static final int INDEX_HEADER_SIZE = 16;
+	private static final int SLOT_SIZE = 16;
+	private static final int RECORD_HEADER_SIZE = 8;
+	private static final int SKIP = -1;
+	static final int DEFAULT_SEGMENT_SIZE = 1<<26;
+	static final int DEFAULT_INDEX_CAPACITY = 1<<12;
+
+	private final Path dataFile;
+	private final Path indexFile;
+	private final Serialiser<K> keys;
+	private final Serialiser<V> values;
+	private final int segmentSize;
+	private final FileChannel data;
+	private final List<MappedByteBuffer> segments = new ArrayList<>();
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private FileChannel indexChannel;
+	private MappedByteBuffer index;
+	private int capacity;
+	private int count;
+	private long dataEnd;
+	private boolean closed;
+
+	private MappedMemoStore(Path path,Serialiser<K> keys,Serialiser<V> values,int segmentSize,int indexCapacity) throws IOException{
+		this.dataFile = path.resolveSibling(path.getFileName()+".dat");
+		this.indexFile = path.resolveSibling(path.getFileName()+".idx");
+		this.keys = keys;
+		this.values = values;
+		this.data = FileChannel.open(dataFile,StandardOpenOption.CREATE,StandardOpenOption.READ,StandardOpenOption.WRITE);
+		try{
+			ByteBuffer existing = ByteBuffer.allocate(DATA_HEADER_SIZE);
+			boolean initialised = data.size()>=DATA_HEADER_SIZE && data.read(existing,0)==DATA_HEADER_SIZE 
+										&& existing.getInt(0)==DATA_MAGIC;
+			if(initialised && existing.getInt(4)!=VERSION)
+				throw new IllegalStateException("Unsupported store version " + existing.getInt(4) + " in " + dataFile);
+			//record placement depends on the segment size, so a store is always read with the size it was written with
+			this.segmentSize = initialised ? existing.getInt(16) : segmentSize;
+			ByteBuffer header = segment(0);
+			if(initialised){
+				dataEnd = header.getLong(8);
+				if(!Files.exists(indexFile) || !mapIndex())
+					rebuildIndex(indexCapacity);
+			}else{
+				header.putInt(0,DATA_MAGIC).putInt(4,VERSION).putLong(8,DATA_HEADER_SIZE).putInt(16,segmentSize);
+				dataEnd = DATA_HEADER_SIZE;
+				Files.deleteIfExists(indexFile);
+				rebuildIndex(indexCapacity);
+			}
+		}catch(IOException | RuntimeException e){
+			segments.clear();
+			data.close();
+			if(indexChannel!=null)
+				indexChannel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Open (or create) a store. The store consists of two files path.dat (entries) and path.idx (index)
+	 *
+	 * @param path Base path for the store files
+	 * @param keys Key Serialiser
+	 * @param values Value Serialiser
+	 * @return Open store
+	 */
+	public static <K,V> MappedMemoStore<K,V> open(Path path,Serialiser<K> keys,Serialiser<V> values){
+		return open(path,keys,values,DEFAULT_SEGMENT_SIZE,DEFAULT_INDEX_CAPACITY);
+	}
+	static <K,V> MappedMemoStore<K,V> open(Path path,Serialiser<K> keys,Serialiser<V> values,int segmentSize,int indexCapacity){
+		try{
+			return new MappedMemoStore<>(path,keys,values,segmentSize,Integer.highestOneBit(Math.max(indexCapacity,2)*2-1));
+		}catch(IOException e){
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @param key Key to look up
+	 * @return Stored value or null if not present
+	 */
+	public V get(K key){
+		ByteBuffer k = keys.serialise(key);
+		int hash = hash(k);
+		lock.readLock().lock();
+		try{
+			checkOpen();
+			long offset = find(k,hash);
+			return offset==0 ? null : readValue(offset);
+		}finally{
+			lock.readLock().unlock();
+		}
+	}
+	/**
+	 * Store a value for the key if none is present
+	 *
+	 * @param key Key to store
+	 * @param value Value to store
+	 * @return Previously stored value, or null if value was stored
+	 */
+	public V putIfAbsent(K key,V value){
+		ByteBuffer k = keys.serialise(key);
+		ByteBuffer v = values.serialise(value);
+		int hash = hash(k);
+		lock.writeLock().lock();
+		try{
+			checkOpen();
+			long existing = find(k,hash);
+			if(existing!=0)
+				return readValue(existing);
+			long offset = append(k,v);
+			if((count+1)*4L > capacity*3L)
+				rebuildIndex(capacity*2);
+			insert(index,capacity,offset,hash);
+			index.putInt(8,++count);
+			return null;
+		}catch(IOException e){
+			throw new UncheckedIOException(e);
+		}finally{
+			lock.writeLock().unlock();
+		}
+	}
+	/**
+	 * @return Number of stored entries
+	 */
+	public int size(){
+		lock.readLock().lock();
+		try{
+			return count;
+		}finally{
+			lock.readLock().unlock();
+		}
+	}
+	/**
+	 * Write all changes to disk
+	 */
+	public void force(){
+		lock.writeLock().lock();
+		try{
+			checkOpen();
+			segments.forEach(MappedByteBuffer::force);
+			index.force();
+		}finally{
+			lock.writeLock().unlock();
+		}
+	}
+	/*
+	 * Write all changes to disk and close the underlying files. Values deserialised as views of the store
+	 * must not be used after close.
+	 */
+	@Override
+	public void close(){
+		lock.writeLock().lock();
+		try{
+			if(closed)
+				return;
+			segments.forEach(MappedByteBuffer::force);
+			index.force();
+			closed = true;
+			segments.clear();
+			index = null;
+			data.close();
+			indexChannel.close();
+		}catch(IOException e){
+			throw new UncheckedIOException(e);
+		}finally{
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void checkOpen(){
+		if(closed)
+			throw new IllegalStateException("Store " + dataFile + " is closed");
+	}
+	private long find(ByteBuffer key,int hash){
+		int mask = capacity-1;
+		for(int slot = hash & mask;;slot = (slot+1) & mask){
+			int pos = INDEX_HEADER_SIZE + slot*SLOT_SIZE;
+			long offset = index.getLong(pos);
+			if(offset==0)
+				return 0;
+			if(index.getInt(pos+8)==hash && keyEquals(offset,key))
+				return offset;
+		}
+	}
+	private boolean keyEquals(long offset,ByteBuffer key){
+		ByteBuffer segment = segmentFor(offset);
+		int pos = position(offset);
+		int length = segment.getInt(pos);
+		if(length!=key.remaining())
+			return false;
+		int start = pos+RECORD_HEADER_SIZE;
+		for(int i=0;i<length;i++){
+			if(segment.get(start+i)!=key.get(key.position()+i))
+				return false;
+		}
+		return true;
+	}
+	private V readValue(long offset){
+		ByteBuffer segment = segmentFor(offset);
+		int pos = position(offset);
+		int keyLength = segment.getInt(pos);
+		int valueLength = segment.getInt(pos+4);
+		ByteBuffer view = segment.duplicate();
+		view.limit(pos+RECORD_HEADER_SIZE+keyLength+valueLength).position(pos+RECORD_HEADER_SIZE+keyLength);
+		return values.deserialise(view.slice().asReadOnlyBuffer());
+	}
+	private long append(ByteBuffer key,ByteBuffer value) throws IOException{
+		int size = RECORD_HEADER_SIZE + key.remaining() + value.remaining();
+		if(size > segmentSize)
+			throw new IllegalArgumentException("Entry of " + size + " bytes exceeds maximum of " + segmentSize);
+		long offset = dataEnd;
+		if(position(offset)+size > segmentSize){
+			if(position(offset)+4 <= segmentSize)
+				segmentFor(offset).putInt(position(offset),SKIP);
+			offset = (offset/segmentSize +1)*segmentSize;
+		}
+		ByteBuffer segment = segmentFor(offset).duplicate();
+		segment.position(position(offset));
+		segment.putInt(key.remaining()).putInt(value.remaining()).put(key.duplicate()).put(value.duplicate());
+		dataEnd = offset+size;
+		segment(0).putLong(8,dataEnd);
+		return offset;
+	}
+	private int position(long offset){
+		return (int)(offset % segmentSize);
+	}
+	private ByteBuffer segmentFor(long offset){
+		try{
+			return segment((int)(offset / segmentSize));
+		}catch(IOException e){
+			throw new UncheckedIOException(e);
+		}
+	}
+	private MappedByteBuffer segment(int i) throws IOException{
+		synchronized(segments){
+			while(segments.size()<=i)
+				segments.add(data.map(MapMode.READ_WRITE,(long)segments.size()*segmentSize,segmentSize));
+			return segments.get(i);
+		}
+	}
+
+	/*
+	 * Map an existing index file, returning false if it was left incomplete (e.g. by a crash during a rebuild)
+	 */
+	private boolean mapIndex() throws IOException{
+		indexChannel = FileChannel.open(indexFile,StandardOpenOption.READ,StandardOpenOption.WRITE);
+		if(indexChannel.size()<INDEX_HEADER_SIZE)
+			return false;
+		index = indexChannel.map(MapMode.READ_WRITE,0,indexChannel.size());
+		if(index.getInt(0)!=INDEX_MAGIC)
+			return false;
+		capacity = index.getInt(4);
+		count = index.getInt(8);
+		return true;
+	}
+	/*
+	 * Rebuild the index in place, at the requested capacity. The index file is only ever grown and remapped (never replaced,
+	 * which would fail while it is mapped on some platforms). The magic number is cleared until the rebuild completes, 
+	 * so an index left incomplete is rebuilt from the data file on the next open.
+	 * Entries are rehashed from the hashes held in the current index, or from the data file if there is no valid index.
+	 */
+	private void rebuildIndex(int newCapacity) throws IOException{
+		long[] offsets;
+		int[] hashes;
+		int entries = 0;
+		if(index!=null && index.getInt(0)==INDEX_MAGIC){
+			offsets = new long[Math.max(count,16)];
+			hashes = new int[offsets.length];
+			for(int slot=0;slot<capacity;slot++){
+				int pos = INDEX_HEADER_SIZE + slot*SLOT_SIZE;
+				long offset = index.getLong(pos);
+				if(offset!=0){
+					if(entries==offsets.length){
+						offsets = Arrays.copyOf(offsets,entries*2);
+						hashes = Arrays.copyOf(hashes,entries*2);
+					}
+					offsets[entries] = offset;
+					hashes[entries++] = index.getInt(pos+8);
+				}
+			}
+		}else{
+			offsets = new long[16];
+			hashes = new int[16];
+			for(long offset = DATA_HEADER_SIZE;offset<dataEnd;){
+				ByteBuffer segment = segmentFor(offset);
+				int pos = position(offset);
+				if(pos+RECORD_HEADER_SIZE > segmentSize || segment.getInt(pos)==SKIP){
+					offset = (offset/segmentSize +1)*segmentSize;
+					continue;
+				}
+				int keyLength = segment.getInt(pos);
+				ByteBuffer key = segment.duplicate();
+				key.limit(pos+RECORD_HEADER_SIZE+keyLength).position(pos+RECORD_HEADER_SIZE);
+				if(entries==offsets.length){
+					offsets = Arrays.copyOf(offsets,entries*2);
+					hashes = Arrays.copyOf(hashes,entries*2);
+				}
+				offsets[entries] = offset;
+				hashes[entries++] = hash(key);
+				offset += RECORD_HEADER_SIZE+keyLength+segment.getInt(pos+4);
+			}
+		}
+		while(entries*4L > newCapacity*3L)
+			newCapacity *= 2;
+		if(indexChannel==null)
+			indexChannel = FileChannel.open(indexFile,StandardOpenOption.CREATE,StandardOpenOption.READ,StandardOpenOption.WRITE);
+		long size = Math.max(indexChannel.size(),INDEX_HEADER_SIZE+(long)newCapacity*SLOT_SIZE);
+		MappedByteBuffer rebuilt = indexChannel.map(MapMode.READ_WRITE,0,size);
+		rebuilt.putInt(0,0);
+		rebuilt.force();
+		for(int pos=INDEX_HEADER_SIZE;pos<INDEX_HEADER_SIZE+newCapacity*SLOT_SIZE;pos+=SLOT_SIZE)
+			rebuilt.putLong(pos,0);
+		for(int i=0;i<entries;i++)
+			insert(rebuilt,newCapacity,offsets[i],hashes[i]);
+		rebuilt.putInt(4,newCapacity).putInt(8,entries);
+		rebuilt.force();
+		rebuilt.putInt(0,INDEX_MAGIC);
+		rebuilt.force();
+		index = rebuilt;
+		capacity = newCapacity;
+		count = entries;
+	}
+	private static void insert(ByteBuffer index,int capacity,long offset,int hash){
+		int mask = capacity-1;
+		int slot = hash & mask;
+		while(index.getLong(INDEX_HEADER_SIZE + slot*SLOT_SIZE)!=0)
+			slot = (slot+1) & mask;
+		int pos = INDEX_HEADER_SIZE + slot*SLOT_SIZE;
+		index.putInt(pos+8,hash);
+		index.putLong(pos,offset);
+	}
+	/*
+	 * FNV-1a over the serialised key, so hashes are stable across JVM restarts
+	 */
+	private static int hash(ByteBuffer key){
+		int h = 0x811C9DC5;
+		for(int i=key.position();i<key.limit();i++){
+			h ^= key.get(i);
+			h *= 0x01000193;
+		}
+		return h ^ (h>>>16);
+	}
+}
@@ -2,18 +2,40 @@ package com.aol.cyclops.functions;
 
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import lombok.Value;
 import lombok.val;
 
+import com.aol.cyclops.lambda.metrics.CacheMetrics;
+import com.aol.cyclops.lambda.metrics.Metrics;
 import com.aol.cyclops.lambda.utils.ExceptionSoftener;
 import com.aol.cyclops.lambda.utils.LazyImmutable;
+import com.aol.cyclops.trampoline.Trampoline;
 
+/**
+ * Memoisation of Suppliers and Functions.
+ * 
+ * When metrics are enabled (see Metrics) each memoised function records to the CacheMetrics registered under it's name. 
+ * Functions memoised without a name share the entry named after the factory method (e.g. "Memoise.memoiseFunction"), 
+ * so name caches that should be measured separately.
+ * 
+ * <pre>{@code
+ *  Function<String,Customer> lookup = Memoise.memoiseFunction(this::loadCustomer,"customers");
+ *  Metrics.snapshot().get("customers").getHitRate();
+ * }</pre>
+ * 
+ * @author johnmcclean
+ *
+ */
 public class Memoise {
 
 	/**
@@ -23,7 +45,17 @@ public class Memoise {
 	 * @return Memoised Supplier
 	 */
 	public static <T> Supplier<T> memoiseSupplier(Supplier<T> s){
-		LazyImmutable<T> lazy = LazyImmutable.def();
+		return memoiseSupplier(s,"Memoise.memoiseSupplier");
+	}
+	/**
+	 * Convert a Supplier into one that caches it's result
+	 * 
+	 * @param s Supplier to memoise
+	 * @param name Name to record metrics under
+	 * @return Memoised Supplier
+	 */
+	public static <T> Supplier<T> memoiseSupplier(Supplier<T> s,String name){
+		LazyImmutable<T> lazy = LazyImmutable.def(name);
 		return () -> lazy.computeIfAbsent(s);
 	}
 	/**
@@ -33,7 +65,17 @@ public class Memoise {
 	 * @return Memoised Callable
 	 */
 	public static <T> Callable<T> memoiseCallable(Callable<T> s){
-		LazyImmutable<T> lazy = LazyImmutable.def();
+		return memoiseCallable(s,"Memoise.memoiseCallable");
+	}
+	/**
+	 * Convert a Callable into one that caches it's result
+	 * 
+	 * @param s Callable to memoise
+	 * @param name Name to record metrics under
+	 * @return Memoised Callable
+	 */
+	public static <T> Callable<T> memoiseCallable(Callable<T> s,String name){
+		LazyImmutable<T> lazy = LazyImmutable.def(name);
 		return () -> lazy.computeIfAbsent(() -> { 
 			try { 
 				return s.call();
@@ -52,18 +94,420 @@ public class Memoise {
 	 * @return Memoised Function
 	 */
 	public static <T,R> Function<T,R> memoiseFunction(Function<T,R> fn){
+		return memoiseFunction(fn,"Memoise.memoiseFunction");
+	}
+	/**
+	 * Convert a Function into one that caches it's result
+	 * 
+	 * @param fn Function to memoise
+	 * @param name Name to record metrics under
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,R> memoiseFunction(Function<T,R> fn,String name){
+		CacheMetrics metrics = metrics(name);
+		Function<T,R> compute = metrics==null ? fn : metrics.timed(fn);
+		Map<T,R> lazy = new ConcurrentHashMap<>();
+		Function<T,R> memoised = t -> {
+			R result = lazy.get(t);
+			return result!=null ? result : lazy.computeIfAbsent(t,compute);
+		};
+		return metrics==null ? memoised : t -> {
+			metrics.request();
+			return memoised.apply(t);
+		};
+	}
+	/**
+	 * Convert a Function into one that caches it's result in a cache configured by the supplied CachePolicy
+	 * 
+	 * <pre>{@code
+	 *  Function<String,Customer> lookup = Memoise.memoiseFunction(this::loadCustomer,CachePolicy.lru(10_000));
+	 * }</pre>
+	 * 
+	 * @param fn Function to memoise
+	 * @param policy Size, expiry and reference strength of the cache (and name to record metrics under)
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,R> memoiseFunction(Function<T,R> fn,CachePolicy policy){
+		CacheMetrics metrics = metrics(policy,"Memoise.memoiseFunction");
+		BoundedCache<T,R> cache = new BoundedCache<>(policy,metrics);
+		Function<T,R> compute = metrics==null ? fn : metrics.timed(fn);
+		return t -> cache.computeIfAbsent(t,compute);
+	}
+	/**
+	 * Convert a Function into one that caches it's results in a persistent, memory mapped store, so results
+	 * survive JVM restarts. Results are computed outside of any lock, and the first stored result for a key wins.
+	 * 
+	 * <pre>{@code
+	 *  MappedMemoStore<String,String> store = MappedMemoStore.open(Paths.get("/var/cache/lookup"),Serialiser.utf8(),Serialiser.utf8());
+	 *  Function<String,String> lookup = Memoise.memoisePersistent(this::remoteLookup,store);
+	 * }</pre>
+	 * 
+	 * @param fn Function to memoise, must not return null
+	 * @param store Store to cache results in
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,R> memoisePersistent(Function<T,R> fn,MappedMemoStore<T,R> store){
+		return t -> {
+			R result = store.get(t);
+			if(result!=null)
+				return result;
+			result = fn.apply(t);
+			R existing = store.putIfAbsent(t,result);
+			return existing!=null ? existing : result;
+		};
+	}
+	
+	/**
+	 * Memoise a recursive Function. The supplied function is passed a memoised reference to itself to use for recursive calls.
+	 * 
+	 * Unlike memoiseFunction, cached values are looked up and stored without holding a lock while the function runs,
+	 * so recursive calls are safe.
+	 * 
+	 * <pre>{@code
+	 *  Function<Integer,Long> fib = Memoise.memoiseRecursive((self,n) -> n<2 ? n : self.apply(n-1)+self.apply(n-2));
+	 * }</pre>
+	 * 
+	 * @param fn Recursive function, accepting a memoised self reference and the input value
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,R> memoiseRecursive(BiFunction<Function<T,R>,T,R> fn){
 		Map<T,R> lazy = new ConcurrentHashMap<>();
-		return t -> lazy.computeIfAbsent(t,fn);
+		Recursive<T,R> self = new Recursive<>();
+		self.fn = t -> {
+			R result = lazy.get(t);
+			if(result==null && (result = fn.apply(self.fn,t))!=null)
+				lazy.putIfAbsent(t,result);
+			return result;
+		};
+		return self.fn;
+	}
+	/**
+	 * Memoise a recursive Function, for dynamic programming algorithms that solve sub-problems in parallel. 
+	 * 
+	 * Each value is computed once only - threads that request a value that is being computed by another thread wait for
+	 * it. A cycle fails with an IllegalStateException instead of blocking forever, whether it is a recursive call to a value the current thread 
+	 * is already computing, or a chain of threads each waiting for a value computed by the next (e.g. thread A computes x which needs y, while
+	 * thread B computes y which needs x).
+	 * 
+	 * @param fn Recursive function, accepting a memoised self reference and the input value
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,R> memoiseRecursiveConcurrent(BiFunction<Function<T,R>,T,R> fn){
+		Map<T,CompletableFuture<R>> lazy = new ConcurrentHashMap<>();
+		Recursive<T,R> self = new Recursive<>();
+		self.fn = t -> {
+			CompletableFuture<R> result = lazy.get(t);
+			if(result==null){
+				InFlight<R> promise = new InFlight<>();
+				result = lazy.putIfAbsent(t,promise);
+				if(result==null)
+					return promise.compute(()->fn.apply(self.fn,t),()->lazy.remove(t,promise));
+			}
+			if(result instanceof InFlight)
+				return ((InFlight<R>)result).await(t);
+			return result.join();
+		};
+		return self.fn;
+	}
+	/**
+	 * Memoise a recursive Function that returns a Trampoline, so that deeply recursive algorithms run in constant stack.
+	 * 
+	 * <pre>{@code
+	 *  Function<Integer,Long> fib = Memoise.memoiseTrampoline((self,n) -> n<2 ? Trampoline.done((long)n) : 
+	 *  															self.apply(n-1).flatMap(a->self.apply(n-2).map(b->a+b)));
+	 *  fib.apply(10_000);
+	 * }</pre>
+	 * 
+	 * @param fn Recursive function, accepting a memoised self reference and the input value
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,R> memoiseTrampoline(BiFunction<Function<T,Trampoline<R>>,T,Trampoline<R>> fn){
+		Map<T,R> lazy = new ConcurrentHashMap<>();
+		Recursive<T,Trampoline<R>> self = new Recursive<>();
+		self.fn = t -> {
+			R result = lazy.get(t);
+			if(result!=null)
+				return Trampoline.done(result);
+			return Trampoline.more(()->fn.apply(self.fn,t)).map(r -> {
+				if(r!=null)
+					lazy.putIfAbsent(t,r);
+				return r;
+			});
+		};
+		return t -> self.fn.apply(t).result();
+	}
+	
+	/**
+	 * Convert an asynchronous Function into one that caches the CompletableFuture it returns. 
+	 * 
+	 * Concurrent callers for the same key share a single in flight computation, the function is called outside of any lock. 
+	 * Futures that complete exceptionally are removed from the cache, so the next caller will try again.
+	 * 
+	 * <pre>{@code
+	 *  Function<String,CompletableFuture<Customer>> lookup = Memoise.memoiseAsync(customerService::load);
+	 * }</pre>
+	 * 
+	 * @param fn Asynchronous function to memoise
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,CompletableFuture<R>> memoiseAsync(Function<T,CompletableFuture<R>> fn){
+		return memoiseAsync(fn,false);
+	}
+	/**
+	 * Convert an asynchronous Function into one that caches the CompletableFuture it returns. 
+	 * Futures that complete exceptionally are removed from the cache, so the next caller will try again.
+	 * 
+	 * @param fn Asynchronous function to memoise
+	 * @param name Name to record metrics under
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,CompletableFuture<R>> memoiseAsync(Function<T,CompletableFuture<R>> fn,String name){
+		return memoiseAsync(fn,false,name);
+	}
+	/**
+	 * Convert an asynchronous Function into one that caches the CompletableFuture it returns. 
+	 * Concurrent callers for the same key share a single in flight computation.
+	 * 
+	 * @param fn Asynchronous function to memoise
+	 * @param cacheFailures true if futures that complete exceptionally should remain cached, false to remove them so the next caller will try again
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,CompletableFuture<R>> memoiseAsync(Function<T,CompletableFuture<R>> fn,boolean cacheFailures){
+		return memoiseAsync(fn,cacheFailures,"Memoise.memoiseAsync");
+	}
+	/**
+	 * Convert an asynchronous Function into one that caches the CompletableFuture it returns. 
+	 * Concurrent callers for the same key share a single in flight computation.
+	 * 
+	 * @param fn Asynchronous function to memoise
+	 * @param cacheFailures true if futures that complete exceptionally should remain cached, false to remove them so the next caller will try again
+	 * @param name Name to record metrics under
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,CompletableFuture<R>> memoiseAsync(Function<T,CompletableFuture<R>> fn,boolean cacheFailures,String name){
+		CacheMetrics metrics = metrics(name);
+		Map<T,CompletableFuture<R>> inFlight = new ConcurrentHashMap<>();
+		if(metrics!=null){
+			return t -> {
+				metrics.request();
+				CompletableFuture<R> result = inFlight.get(t);
+				if(result==null){
+					CompletableFuture<R> promise = new CompletableFuture<>();
+					result = inFlight.putIfAbsent(t,promise);
+					if(result==null){
+						long start = System.nanoTime();
+						promise.whenComplete((value,error) -> metrics.computed(start));
+						return start(t,fn,promise,error -> {
+							if(error!=null && !cacheFailures){
+								inFlight.remove(t,promise);
+								metrics.removed(1);
+							}
+						});
+					}
+				}
+				if(!result.isDone())
+					metrics.waited();
+				return result;
+			};
+		}
+		return t -> {
+			CompletableFuture<R> result = inFlight.get(t);
+			if(result!=null)
+				return result;
+			CompletableFuture<R> promise = new CompletableFuture<>();
+			result = inFlight.putIfAbsent(t,promise);
+			if(result!=null)
+				return result;
+			return start(t,fn,promise,error -> {
+				if(error!=null && !cacheFailures)
+					inFlight.remove(t,promise);
+			});
+		};
+	}
+	/**
+	 * Convert an asynchronous Function into one that caches the CompletableFuture it returns, in a cache configured by 
+	 * the supplied CachePolicy. Futures that complete exceptionally are removed from the cache.
+	 * 
+	 * @param fn Asynchronous function to memoise
+	 * @param policy Size, expiry and reference strength of the cache (and name to record metrics under)
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,CompletableFuture<R>> memoiseAsync(Function<T,CompletableFuture<R>> fn,CachePolicy policy){
+		return memoiseAsync(fn,policy,false);
+	}
+	/**
+	 * Convert an asynchronous Function into one that caches the CompletableFuture it returns, in a cache configured by 
+	 * the supplied CachePolicy. Concurrent callers for the same key share a single in flight computation.
+	 * 
+	 * In flight futures are held separately from the bounded cache, and only offered to it once they complete - so they
+	 * can't be evicted (or refused admission) while other callers still depend on them.
+	 * 
+	 * @param fn Asynchronous function to memoise
+	 * @param policy Size, expiry and reference strength of the cache (and name to record metrics under)
+	 * @param cacheFailures true if futures that complete exceptionally should remain cached (until evicted or expired)
+	 * @return Memoised Function
+	 */
+	public static <T,R> Function<T,CompletableFuture<R>> memoiseAsync(Function<T,CompletableFuture<R>> fn,CachePolicy policy,boolean cacheFailures){
+		CacheMetrics metrics = metrics(policy,"Memoise.memoiseAsync");
+		BoundedCache<T,CompletableFuture<R>> cache = new BoundedCache<>(policy,metrics);
+		Map<T,CompletableFuture<R>> inFlight = new ConcurrentHashMap<>();
+		return t -> {
+			CompletableFuture<R> result = cache.getIfPresent(t);
+			if(result!=null)
+				return result;
+			if((result = inFlight.get(t))==null){
+				CompletableFuture<R> promise = new CompletableFuture<>();
+				if((result = inFlight.putIfAbsent(t,promise))==null){
+					CompletableFuture<R> completed = cache.peek(t);
+					if(completed!=null){
+						//another computation completed and moved to the cache since the lookup above
+						inFlight.remove(t,promise);
+						completed.whenComplete((value,error) -> {
+							if(error==null)
+								promise.complete(value);
+							else
+								promise.completeExceptionally(error);
+						});
+						return promise;
+					}
+					long started = System.nanoTime();
+					return start(t,fn,promise,error -> {
+						if(metrics!=null)
+							metrics.computed(started);
+						if(error==null || cacheFailures)
+							cache.putIfAbsent(t,promise);
+						else if(metrics!=null)
+							metrics.removed(1);
+						inFlight.remove(t,promise);
+					});
+				}
+			}
+			if(metrics!=null && !result.isDone())
+				metrics.waited();
+			return result;
+		};
+	}
+	/*
+	 * Run fn, passing it's outcome (null on success) to settle before completing promise
+	 */
+	private static <T,R> CompletableFuture<R> start(T t,Function<T,CompletableFuture<R>> fn,CompletableFuture<R> promise,Consumer<Throwable> settle){
+		try{
+			fn.apply(t).whenComplete((value,error) -> {
+				settle.accept(error);
+				if(error==null)
+					promise.complete(value);
+				else
+					promise.completeExceptionally(error);
+			});
+		}catch(Throwable error){
+			settle.accept(error);
+			promise.completeExceptionally(error);
+		}
+		return promise;
+	}
+	
+	/**
+	 * Convert an IntFunction into one that caches it's result, in a primitive keyed table (keys are not boxed)
+	 * 
+	 * @param fn IntFunction to memoise
+	 * @return Memoised IntFunction
+	 */
+	public static <R> IntFunction<R> memoiseIntFunction(IntFunction<R> fn){
+		return memoiseIntFunction(fn,"Memoise.memoiseIntFunction");
+	}
+	/**
+	 * Convert an IntFunction into one that caches it's result, in a primitive keyed table (keys are not boxed)
+	 * 
+	 * @param fn IntFunction to memoise
+	 * @param name Name to record metrics under
+	 * @return Memoised IntFunction
+	 */
+	public static <R> IntFunction<R> memoiseIntFunction(IntFunction<R> fn,String name){
+		CacheMetrics metrics = metrics(name);
+		//keys are only boxed when computing a value
+		IntFunction<R> compute = metrics==null ? fn : metrics.<Integer,R>timed(fn::apply)::apply;
+		LongKeyTable<R> cache = new LongKeyTable<>();
+		IntFunction<R> memoised = i -> {
+			R result = cache.get(i);
+			if(result==null && (result = compute.apply(i))!=null)
+				cache.putIfAbsent(i,result);
+			return result;
+		};
+		return metrics==null ? memoised : i -> {
+			metrics.request();
+			return memoised.apply(i);
+		};
+	}
+	/**
+	 * Convert a LongFunction into one that caches it's result, in a primitive keyed table (keys are not boxed)
+	 * 
+	 * @param fn LongFunction to memoise
+	 * @return Memoised LongFunction
+	 */
+	public static <R> LongFunction<R> memoiseLongFunction(LongFunction<R> fn){
+		return memoiseLongFunction(fn,"Memoise.memoiseLongFunction");
+	}
+	/**
+	 * Convert a LongFunction into one that caches it's result, in a primitive keyed table (keys are not boxed)
+	 * 
+	 * @param fn LongFunction to memoise
+	 * @param name Name to record metrics under
+	 * @return Memoised LongFunction
+	 */
+	public static <R> LongFunction<R> memoiseLongFunction(LongFunction<R> fn,String name){
+		CacheMetrics metrics = metrics(name);
+		//keys are only boxed when computing a value
+		LongFunction<R> compute = metrics==null ? fn : metrics.<Long,R>timed(fn::apply)::apply;
+		LongKeyTable<R> cache = new LongKeyTable<>();
+		LongFunction<R> memoised = l -> {
+			R result = cache.get(l);
+			if(result==null && (result = compute.apply(l))!=null)
+				cache.putIfAbsent(l,result);
+			return result;
+		};
+		return metrics==null ? memoised : l -> {
+			metrics.request();
+			return memoised.apply(l);
+		};
 	}
 	
 	/**
 	 * Convert a BiFunction into one that caches it's result
 	 * 
+	 * Results are cached in a table per argument, so cache hits don't allocate a composite key
+	 * 
 	 * @param fn BiFunction to memoise
 	 * @return Memoised BiFunction
 	 */
 	public static <T1,T2 , R> BiFunction<T1, T2, R> memoiseBiFunction(BiFunction<T1, T2, R> fn) {
-		val memoise2 = memoiseFunction((Pair<T1,T2> pair) -> fn.apply(pair._1,pair._2));
+		return memoiseBiFunction(fn,"Memoise.memoiseBiFunction");
+	}
+	/**
+	 * Convert a BiFunction into one that caches it's result
+	 * 
+	 * @param fn BiFunction to memoise
+	 * @param name Name to record metrics under
+	 * @return Memoised BiFunction
+	 */
+	public static <T1,T2 , R> BiFunction<T1, T2, R> memoiseBiFunction(BiFunction<T1, T2, R> fn,String name) {
+		CacheMetrics metrics = metrics(name);
+		BiFunction<T1,T2,R> compute = metrics==null ? fn : metrics.timed(fn);
+		NestedKeyCache<R> cache = new NestedKeyCache<>();
+		BiFunction<T1,T2,R> memoised = (t1,t2) -> cache.computeIfAbsent(t1,t2,compute);
+		return metrics==null ? memoised : (t1,t2) -> {
+			metrics.request();
+			return memoised.apply(t1,t2);
+		};
+	}
+	/**
+	 * Convert a BiFunction into one that caches it's result in a cache configured by the supplied CachePolicy
+	 * 
+	 * @param fn BiFunction to memoise
+	 * @param policy Size, expiry and reference strength of the cache (and name to record metrics under)
+	 * @return Memoised BiFunction
+	 */
+	public static <T1,T2 , R> BiFunction<T1, T2, R> memoiseBiFunction(BiFunction<T1, T2, R> fn,CachePolicy policy) {
+		val memoise2 = memoiseFunction((Pair<T1,T2> pair) -> fn.apply(pair._1,pair._2),named(policy,"Memoise.memoiseBiFunction"));
 		return (t1,t2) -> memoise2.apply(new Pair<>(t1,t2));
 	}
 	/**
@@ -73,7 +517,34 @@ public class Memoise {
 	 * @return Memoised TriFunction
 	 */
 	public static <T1,T2,T3, R> TriFunction<T1, T2,T3, R> memoiseTriFunction(TriFunction<T1, T2,T3, R> fn) {
-		val memoise2 = memoiseFunction((Triple<T1,T2,T3> triple) -> fn.apply(triple._1,triple._2,triple._3));
+		return memoiseTriFunction(fn,"Memoise.memoiseTriFunction");
+	}
+	/**
+	 * Convert a TriFunction into one that caches it's result
+	 * 
+	 * @param fn TriFunction to memoise
+	 * @param name Name to record metrics under
+	 * @return Memoised TriFunction
+	 */
+	public static <T1,T2,T3, R> TriFunction<T1, T2,T3, R> memoiseTriFunction(TriFunction<T1, T2,T3, R> fn,String name) {
+		CacheMetrics metrics = metrics(name);
+		TriFunction<T1,T2,T3,R> compute = metrics==null ? fn : (t1,t2,t3) -> metrics.timed(() -> fn.apply(t1,t2,t3)).get();
+		NestedKeyCache<R> cache = new NestedKeyCache<>();
+		TriFunction<T1,T2,T3,R> memoised = (t1,t2,t3) -> cache.computeIfAbsent(t1,t2,t3,compute);
+		return metrics==null ? memoised : (t1,t2,t3) -> {
+			metrics.request();
+			return memoised.apply(t1,t2,t3);
+		};
+	}
+	/**
+	 * Convert a TriFunction into one that caches it's result in a cache configured by the supplied CachePolicy
+	 * 
+	 * @param fn TriFunction to memoise
+	 * @param policy Size, expiry and reference strength of the cache (and name to record metrics under)
+	 * @return Memoised TriFunction
+	 */
+	public static <T1,T2,T3, R> TriFunction<T1, T2,T3, R> memoiseTriFunction(TriFunction<T1, T2,T3, R> fn,CachePolicy policy) {
+		val memoise2 = memoiseFunction((Triple<T1,T2,T3> triple) -> fn.apply(triple._1,triple._2,triple._3),named(policy,"Memoise.memoiseTriFunction"));
 		return (t1,t2,t3) -> memoise2.apply(new Triple<>(t1,t2,t3));
 	}
 	/**
@@ -83,7 +554,34 @@ public class Memoise {
 	 * @return Memoised TriFunction
 	 */
 	public static <T1,T2,T3,T4, R> QuadFunction<T1, T2,T3, T4,R> memoiseQuadFunction(QuadFunction<T1, T2,T3,T4, R> fn) {
-		val memoise2 = memoiseFunction((Quad<T1,T2,T3,T4> quad) -> fn.apply(quad._1,quad._2,quad._3,quad._4));
+		return memoiseQuadFunction(fn,"Memoise.memoiseQuadFunction");
+	}
+	/**
+	 * Convert a QuadFunction into one that caches it's result
+	 * 
+	 * @param fn QuadFunction to memoise
+	 * @param name Name to record metrics under
+	 * @return Memoised QuadFunction
+	 */
+	public static <T1,T2,T3,T4, R> QuadFunction<T1, T2,T3, T4,R> memoiseQuadFunction(QuadFunction<T1, T2,T3,T4, R> fn,String name) {
+		CacheMetrics metrics = metrics(name);
+		QuadFunction<T1,T2,T3,T4,R> compute = metrics==null ? fn : (t1,t2,t3,t4) -> metrics.timed(() -> fn.apply(t1,t2,t3,t4)).get();
+		NestedKeyCache<R> cache = new NestedKeyCache<>();
+		QuadFunction<T1,T2,T3,T4,R> memoised = (t1,t2,t3,t4) -> cache.computeIfAbsent(t1,t2,t3,t4,compute);
+		return metrics==null ? memoised : (t1,t2,t3,t4) -> {
+			metrics.request();
+			return memoised.apply(t1,t2,t3,t4);
+		};
+	}
+	/**
+	 * Convert a QuadFunction into one that caches it's result in a cache configured by the supplied CachePolicy
+	 * 
+	 * @param fn QuadFunction to memoise
+	 * @param policy Size, expiry and reference strength of the cache (and name to record metrics under)
+	 * @return Memoised QuadFunction
+	 */
+	public static <T1,T2,T3,T4, R> QuadFunction<T1, T2,T3, T4,R> memoiseQuadFunction(QuadFunction<T1, T2,T3,T4, R> fn,CachePolicy policy) {
+		val memoise2 = memoiseFunction((Quad<T1,T2,T3,T4> quad) -> fn.apply(quad._1,quad._2,quad._3,quad._4),named(policy,"Memoise.memoiseQuadFunction"));
 		return (t1,t2,t3,t4) -> memoise2.apply(new Quad<>(t1,t2,t3,t4));
 	}
 	/**
@@ -93,9 +591,109 @@ public class Memoise {
 	 * @return Memoised Predicate
 	 */
 	public static <T> Predicate<T> memoisePredicate(Predicate<T> p) {
-		Function<T, Boolean> memoised = memoiseFunction((Function<T,Boolean>)t-> p.test(t));
+		return memoisePredicate(p,"Memoise.memoisePredicate");
+	}
+	/**
+	 * Convert a Predicate into one that caches it's result
+	 * 
+	 * @param p Predicate to memoise
+	 * @param name Name to record metrics under
+	 * @return Memoised Predicate
+	 */
+	public static <T> Predicate<T> memoisePredicate(Predicate<T> p,String name) {
+		CacheMetrics metrics = metrics(name);
+		Function<T,Boolean> test = metrics==null ? p::test : metrics.timed(p::test);
+		Map<T,Boolean> lazy = new ConcurrentHashMap<>();
+		Predicate<T> memoised = t -> {
+			Boolean result = lazy.get(t);
+			return result!=null ? result : lazy.computeIfAbsent(t,test);
+		};
+		return metrics==null ? memoised : t -> {
+			metrics.request();
+			return memoised.test(t);
+		};
+	}
+	/**
+	 * Convert a Predicate into one that caches it's result in a cache configured by the supplied CachePolicy
+	 * 
+	 * @param p Predicate to memoise
+	 * @param policy Size, expiry and reference strength of the cache (and name to record metrics under)
+	 * @return Memoised Predicate
+	 */
+	public static <T> Predicate<T> memoisePredicate(Predicate<T> p,CachePolicy policy) {
+		Function<T, Boolean> memoised = memoiseFunction((Function<T,Boolean>)t-> p.test(t),named(policy,"Memoise.memoisePredicate"));
 		return (t) -> memoised.apply(t);
 	}
+	/*
+	 * Whether a memoised function is instrumented is decided when it is created, so there is no overhead when metrics are disabled
+	 */
+	private static CacheMetrics metrics(String name){
+		return Metrics.isEnabled() ? Metrics.cache(name) : null;
+	}
+	/*
+	 * A cache configured with CacheStats always records to the metrics behind them
+	 */
+	private static CacheMetrics metrics(CachePolicy policy, String defaultName){
+		if(policy.getStats()!=null)
+			return policy.getStats().getMetrics();
+		return metrics(policy.getName()!=null ? policy.getName() : defaultName);
+	}
+	private static CachePolicy named(CachePolicy policy, String defaultName){
+		return policy.getName()!=null ? policy : policy.withName(defaultName);
+	}
+	private static class Recursive<T,R>{
+		Function<T,R> fn;
+	}
+	/*
+	 * A value being computed by the thread that created it. Threads waiting for an InFlight value are recorded, so
+	 * that a waiter can follow the chain of threads it (indirectly) waits for and detect a cycle back to itself.
+	 */
+	private static class InFlight<R> extends CompletableFuture<R>{
+		private static final Map<Thread,InFlight<?>> waiting = new ConcurrentHashMap<>();
+		
+		private volatile Thread computing = Thread.currentThread();
+		
+		R compute(Supplier<R> s, Runnable onFailure){
+			try{
+				R result = s.get();
+				complete(result);
+				return result;
+			}catch(Throwable t){
+				onFailure.run();
+				completeExceptionally(t);
+				ExceptionSoftener.singleton.factory.getInstance().throwSoftenedException(t);
+				return null;
+			}finally{
+				computing = null;
+			}
+		}
+		/*
+		 * Each thread in a cycle records what it waits for before following the chain, so at least one of them sees the whole cycle
+		 */
+		R await(Object key){
+			Thread current = Thread.currentThread();
+			waiting.put(current,this);
+			try{
+				if(waitsFor(current))
+					throw new IllegalStateException("Cyclic recursive call for " + key);
+				return join();
+			}finally{
+				waiting.remove(current);
+			}
+		}
+		private boolean waitsFor(Thread thread){
+			InFlight<?> next = this;
+			for(int steps=0;next!=null && steps<=waiting.size();steps++){
+				Thread owner = next.computing;
+				if(owner==null)
+					return false;
+				if(owner==thread)
+					return true;
+				next = waiting.get(owner);
+			}
+			return false;
+		}
+	}
 	@Value
 	private static class Pair<T1,T2>{
 		T1 _1;
@@ -0,0 +1,65 @@
+package com.aol.cyclops.functions;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Cache for multi-argument functions, with one level of ConcurrentHashMap per argument. 
+ * 
+ * Looking up a cached value doesn't allocate a composite key. Each value is computed at most once per key (via computeIfAbsent 
+ * on the last level), so concurrent misses for the same arguments wait for a single computation. Null arguments are supported, null results are not cached.
+ * 
+ * Every distinct prefix of the arguments (e.g. each distinct first argument of a BiFunction) holds it's own ConcurrentHashMap, 
+ * created with a small initial table - on the order of 100 bytes per prefix before any entries are added. Where most prefixes only ever 
+ * see a few combinations of the remaining arguments, a composite key cache (Memoise with a CachePolicy) uses less memory.
+ * 
+ * @author johnmcclean
+ *
+ * @param <R> Result type
+ */
+@SuppressWarnings({"rawtypes","unchecked"})
+final class NestedKeyCache<R> {
+	
+	private static final Object NULL = new Object();
+	private static final int LEVEL_CAPACITY = 2;
+	private static final Function<Object,Map> newLevel = k -> new ConcurrentHashMap<>(LEVEL_CAPACITY);
+	
+	private final Map<Object,Object> root = new ConcurrentHashMap<>();
+	
+	<T1,T2> R computeIfAbsent(T1 k1, T2 k2, BiFunction<T1,T2,R> fn){
+		Map level = (Map)root.get(mask(k1));
+		R value = level==null ? null : (R)level.get(mask(k2));
+		if(value!=null)
+			return value;
+		return (R)level(root,k1).computeIfAbsent(mask(k2),k -> fn.apply(k1,k2));
+	}
+	<T1,T2,T3> R computeIfAbsent(T1 k1, T2 k2, T3 k3, TriFunction<T1,T2,T3,R> fn){
+		Map level = (Map)root.get(mask(k1));
+		if(level!=null)
+			level = (Map)level.get(mask(k2));
+		R value = level==null ? null : (R)level.get(mask(k3));
+		if(value!=null)
+			return value;
+		return (R)level(level(root,k1),k2).computeIfAbsent(mask(k3),k -> fn.apply(k1,k2,k3));
+	}
+	<T1,T2,T3,T4> R computeIfAbsent(T1 k1, T2 k2, T3 k3, T4 k4, QuadFunction<T1,T2,T3,T4,R> fn){
+		Map level = (Map)root.get(mask(k1));
+		if(level!=null)
+			level = (Map)level.get(mask(k2));
+		if(level!=null)
+			level = (Map)level.get(mask(k3));
+		R value = level==null ? null : (R)level.get(mask(k4));
+		if(value!=null)
+			return value;
+		return (R)level(level(level(root,k1),k2),k3).computeIfAbsent(mask(k4),k -> fn.apply(k1,k2,k3,k4));
+	}
+	
+	private static Map level(Map parent, Object key){
+		return (Map)parent.computeIfAbsent(mask(key),newLevel);
+	}
+	private static Object mask(Object key){
+		return key==null ? NULL : key;
+	}
+}
@@ -0,0 +1,117 @@
+package com.aol.cyclops.functions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.aol.cyclops.lambda.utils.ExceptionSoftener;
+
+/**
+ * Converts keys and values to and from a binary form, for persistent memoisation (see MappedMemoStore)
+ * 
+ * @author johnmcclean
+ *
+ * @param <T> Type to serialise
+ */
+public interface Serialiser<T> {
+
+	/**
+	 * @param value Value to serialise
+	 * @return Buffer containing the binary form of value, between position and limit
+	 */
+	ByteBuffer serialise(T value);
+	
+	/**
+	 * @param buffer Binary form, between position and limit. The buffer may be a read only view of a memory mapped file, 
+	 * 			it can be retained while the store it came from is open
+	 * @return Deserialised value
+	 */
+	T deserialise(ByteBuffer buffer);
+	
+	public static Serialiser<String> utf8(){
+		return new Serialiser<String>(){
+			public ByteBuffer serialise(String value) {
+				return StandardCharsets.UTF_8.encode(CharBuffer.wrap(value));
+			}
+			public String deserialise(ByteBuffer buffer) {
+				return StandardCharsets.UTF_8.decode(buffer).toString();
+			}
+		};
+	}
+	public static Serialiser<Integer> int32(){
+		return new Serialiser<Integer>(){
+			public ByteBuffer serialise(Integer value) {
+				return (ByteBuffer)ByteBuffer.allocate(4).putInt(value).flip();
+			}
+			public Integer deserialise(ByteBuffer buffer) {
+				return buffer.getInt(buffer.position());
+			}
+		};
+	}
+	public static Serialiser<Long> int64(){
+		return new Serialiser<Long>(){
+			public ByteBuffer serialise(Long value) {
+				return (ByteBuffer)ByteBuffer.allocate(8).putLong(value).flip();
+			}
+			public Long deserialise(ByteBuffer buffer) {
+				return buffer.getLong(buffer.position());
+			}
+		};
+	}
+	public static Serialiser<Double> float64(){
+		return new Serialiser<Double>(){
+			public ByteBuffer serialise(Double value) {
+				return (ByteBuffer)ByteBuffer.allocate(8).putDouble(value).flip();
+			}
+			public Double deserialise(ByteBuffer buffer) {
+				return buffer.getDouble(buffer.position());
+			}
+		};
+	}
+	/**
+	 * @return Serialiser for raw binary data, deserialised buffers are zero copy read only views of the stored data
+	 */
+	public static Serialiser<ByteBuffer> bytes(){
+		return new Serialiser<ByteBuffer>(){
+			public ByteBuffer serialise(ByteBuffer value) {
+				return value.duplicate();
+			}
+			public ByteBuffer deserialise(ByteBuffer buffer) {
+				return buffer;
+			}
+		};
+	}
+	/**
+	 * @return Serialiser that uses Java Serialization
+	 */
+	public static <T extends Serializable> Serialiser<T> java(){
+		return new Serialiser<T>(){
+			public ByteBuffer serialise(T value) {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				try(ObjectOutputStream out = new ObjectOutputStream(bytes)){
+					out.writeObject(value);
+				}catch(IOException e){
+					ExceptionSoftener.singleton.factory.getInstance().throwSoftenedException(e);
+				}
+				return ByteBuffer.wrap(bytes.toByteArray());
+			}
+			@SuppressWarnings("unchecked")
+			public T deserialise(ByteBuffer buffer) {
+				byte[] data = new byte[buffer.remaining()];
+				buffer.duplicate().get(data);
+				try(ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))){
+					return (T)in.readObject();
+				}catch(IOException | ClassNotFoundException e){
+					ExceptionSoftener.singleton.factory.getInstance().throwSoftenedException(e);
+					return null;
+				}
+			}
+		};
+	}
+}
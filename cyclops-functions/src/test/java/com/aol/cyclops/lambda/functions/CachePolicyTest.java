@@ -0,0 +1,154 @@
+package com.aol.cyclops.lambda.functions;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.aol.cyclops.functions.CachePolicy;
+import com.aol.cyclops.functions.CacheStats;
+import com.aol.cyclops.functions.Memoise;
+import com.aol.cyclops.lambda.metrics.CacheMetrics;
+import com.aol.cyclops.lambda.metrics.Metrics;
+import com.aol.cyclops.lambda.metrics.MetricsSnapshot;
+
+public class CachePolicyTest {
+
+	AtomicInteger called;
+	CacheStats stats;
+	AtomicLong time;
+	
+	@Before
+	public void setup(){
+		called = new AtomicInteger(0);
+		stats = new CacheStats();
+		time = new AtomicLong(0);
+	}
+	private Integer square(Integer i){
+		called.incrementAndGet();
+		return i*i;
+	}
+	@Test
+	public void lruIsBounded(){
+		Function<Integer,Integer> fn = Memoise.memoiseFunction(this::square, CachePolicy.lru(100).withStats(stats));
+		for(int i=0;i<10_000;i++)
+			assertThat(fn.apply(i),equalTo(i*i));
+		assertThat(stats.evictionCount(),greaterThan(9_000L));
+		assertThat(stats.missCount(),equalTo(10_000L));
+	}
+	@Test
+	public void lruRetainsRecentlyUsed(){
+		Function<Integer,Integer> fn = Memoise.memoiseFunction(this::square, CachePolicy.lru(10).withStats(stats));
+		for(int i=0;i<1_000;i++){
+			fn.apply(-1);
+			fn.apply(i);
+		}
+		assertThat(stats.hitCount(),equalTo(999L));
+	}
+	@Test
+	public void lfuRetainsFrequentlyUsed(){
+		Function<Integer,Integer> fn = Memoise.memoiseFunction(this::square, CachePolicy.lfu(10).withStats(stats));
+		for(int i=0;i<10;i++)
+			for(int hot=0;hot<5;hot++)
+				fn.apply(hot);
+		called.set(0);
+		for(int i=100;i<1_100;i++){
+			fn.apply(i);
+			if(i%20==0)
+				for(int hot=0;hot<5;hot++)
+					fn.apply(hot);
+		}
+		assertThat(called.get(),lessThan(1_025)); //LRU would miss all 250 hot key reads
+	}
+	@Test
+	public void expireAfterWrite(){
+		Function<Integer,Integer> fn = Memoise.memoiseFunction(this::square, CachePolicy.unbounded()
+																					.withExpireAfterWrite(Duration.ofSeconds(10))
+																					.withTicker(time::get));
+		fn.apply(2);
+		time.set(Duration.ofSeconds(5).toNanos());
+		fn.apply(2);
+		assertThat(called.get(),is(1));
+		time.set(Duration.ofSeconds(11).toNanos());
+		fn.apply(2);
+		assertThat(called.get(),is(2));
+	}
+	@Test
+	public void expireAfterAccess(){
+		Function<Integer,Integer> fn = Memoise.memoiseFunction(this::square, CachePolicy.lru(100)
+																					.withExpireAfterAccess(Duration.ofSeconds(10))
+																					.withTicker(time::get));
+		for(int second=0;second<60;second+=5){
+			time.set(Duration.ofSeconds(second).toNanos());
+			fn.apply(2);
+		}
+		assertThat(called.get(),is(1));
+		time.set(Duration.ofSeconds(100).toNanos());
+		fn.apply(2);
+		assertThat(called.get(),is(2));
+	}
+	@Test
+	public void weakValues(){
+		Function<Integer,Object> fn = Memoise.memoiseFunction(i->new Object(), CachePolicy.unbounded()
+																					.withValueStrength(CachePolicy.ValueStrength.WEAK));
+		Object first = fn.apply(1);
+		assertThat(fn.apply(1)==first,is(true));
+	}
+	@Test
+	public void biFunction(){
+		BiFunction<Integer,Integer,Integer> fn = Memoise.memoiseBiFunction((a,b)->{ called.incrementAndGet(); return a+b;}, 
+																				CachePolicy.lru(2).withStats(stats));
+		fn.apply(1,2);
+		fn.apply(1,2);
+		assertThat(called.get(),is(1));
+		assertThat(stats.hitRate(),equalTo(0.5));
+	}
+	@Test
+	public void concurrentAccess(){
+		Function<Integer,Integer> fn = Memoise.memoiseFunction(this::square, CachePolicy.lru(50).withStats(stats));
+		IntStream.range(0, 100_000).parallel().forEach(i->assertThat(fn.apply(i%500),equalTo((i%500)*(i%500))));
+		assertThat(stats.hitCount()+stats.missCount(),equalTo(100_000L));
+		assertThat(stats.evictionCount(),greaterThan(0L));
+	}
+	@Test
+	public void statsAreAViewOverMetrics(){
+		CacheMetrics metrics = Metrics.cache("CachePolicyTest.stats");
+		stats = new CacheStats(metrics);
+		Function<Integer,Integer> fn = Memoise.memoiseFunction(this::square, CachePolicy.lru(1).withStats(stats));
+		fn.apply(1);
+		fn.apply(1);
+		fn.apply(2);
+		assertThat(stats.hitCount(),equalTo(1L));
+		assertThat(stats.missCount(),equalTo(2L));
+		assertThat(stats.evictionCount(),equalTo(1L));
+		MetricsSnapshot snapshot = Metrics.snapshot().get("CachePolicyTest.stats");
+		assertThat(snapshot.getRequests(),equalTo(3L));
+		assertThat(snapshot.getHits(),equalTo(1L));
+		assertThat(snapshot.getEvictions(),equalTo(1L));
+		assertThat(snapshot.getEntries(),equalTo(1L));
+	}
+	@Test(expected=IllegalArgumentException.class)
+	public void lruRejectsZeroSize(){
+		CachePolicy.lru(0);
+	}
+	@Test(expected=IllegalArgumentException.class)
+	public void lfuRejectsNegativeSize(){
+		CachePolicy.lfu(-1);
+	}
+	@Test
+	public void boundedWithoutStats(){
+		Function<Integer,Integer> fn = Memoise.memoiseFunction(this::square, CachePolicy.lfu(10));
+		IntStream.range(0, 1_000).forEach(i->assertThat(fn.apply(i%20),equalTo((i%20)*(i%20))));
+	}
+}
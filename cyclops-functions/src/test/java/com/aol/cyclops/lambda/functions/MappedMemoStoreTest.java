@@ -0,0 +1,132 @@
+package com.aol.cyclops.lambda.functions;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.aol.cyclops.functions.MappedMemoStore;
+import com.aol.cyclops.functions.Memoise;
+import com.aol.cyclops.functions.Serialiser;
+
+public class MappedMemoStoreTest {
+
+	Path dir;
+	Path path;
+	AtomicInteger called = new AtomicInteger(0);
+	
+	@Before
+	public void setup() throws IOException{
+		dir = Files.createTempDirectory("memo");
+		path = dir.resolve("store");
+	}
+	@After
+	public void cleanup() throws IOException{
+		Files.list(dir).forEach(p -> p.toFile().delete());
+		Files.delete(dir);
+	}
+	
+	@Test
+	public void memoisesAcrossRestarts(){
+		try(MappedMemoStore<String,Integer> store = MappedMemoStore.open(path,Serialiser.utf8(),Serialiser.int32())){
+			Function<String,Integer> fn = Memoise.memoisePersistent(s -> { called.incrementAndGet(); return s.length();},store);
+			assertThat(fn.apply("hello"),equalTo(5));
+			assertThat(fn.apply("hello"),equalTo(5));
+			assertThat(fn.apply("hello world"),equalTo(11));
+		}
+		try(MappedMemoStore<String,Integer> store = MappedMemoStore.open(path,Serialiser.utf8(),Serialiser.int32())){
+			Function<String,Integer> fn = Memoise.memoisePersistent(s -> { called.incrementAndGet(); return s.length();},store);
+			assertThat(fn.apply("hello"),equalTo(5));
+			assertThat(fn.apply("hello world"),equalTo(11));
+			assertThat(store.size(),equalTo(2));
+		}
+		assertThat(called.get(),equalTo(2));
+	}
+	@Test
+	public void growsIndex(){
+		try(MappedMemoStore<Long,String> store = MappedMemoStore.open(path,Serialiser.int64(),Serialiser.utf8())){
+			for(long i=0;i<20_000;i++)
+				assertThat(store.putIfAbsent(i,"v"+i),nullValue());
+			assertThat(store.putIfAbsent(10L,"other"),equalTo("v10"));
+		}
+		try(MappedMemoStore<Long,String> store = MappedMemoStore.open(path,Serialiser.int64(),Serialiser.utf8())){
+			assertThat(store.size(),equalTo(20_000));
+			for(long i=0;i<20_000;i++)
+				assertThat(store.get(i),equalTo("v"+i));
+			assertThat(store.get(20_000L),nullValue());
+		}
+	}
+	@Test
+	public void rebuildsMissingIndex() throws IOException{
+		try(MappedMemoStore<String,String> store = MappedMemoStore.open(path,Serialiser.utf8(),Serialiser.utf8())){
+			store.putIfAbsent("","empty");
+			store.putIfAbsent("a","");
+			store.putIfAbsent("b","bee");
+		}
+		Files.delete(dir.resolve("store.idx"));
+		try(MappedMemoStore<String,String> store = MappedMemoStore.open(path,Serialiser.utf8(),Serialiser.utf8())){
+			assertThat(store.size(),equalTo(3));
+			assertThat(store.get(""),equalTo("empty"));
+			assertThat(store.get("a"),equalTo(""));
+			assertThat(store.get("b"),equalTo("bee"));
+		}
+	}
+	@Test
+	public void rebuildsIncompleteIndex() throws IOException{
+		try(MappedMemoStore<String,String> store = MappedMemoStore.open(path,Serialiser.utf8(),Serialiser.utf8())){
+			store.putIfAbsent("a","ay");
+			store.putIfAbsent("b","bee");
+		}
+		try(FileChannel index = FileChannel.open(dir.resolve("store.idx"),StandardOpenOption.WRITE)){
+			index.write(ByteBuffer.allocate(4),0);
+		}
+		try(MappedMemoStore<String,String> store = MappedMemoStore.open(path,Serialiser.utf8(),Serialiser.utf8())){
+			assertThat(store.size(),equalTo(2));
+			assertThat(store.get("a"),equalTo("ay"));
+			assertThat(store.get("b"),equalTo("bee"));
+			store.putIfAbsent("c","sea");
+		}
+		try(MappedMemoStore<String,String> store = MappedMemoStore.open(path,Serialiser.utf8(),Serialiser.utf8())){
+			assertThat(store.get("c"),equalTo("sea"));
+		}
+	}
+	@Test
+	public void zeroCopyBytes(){
+		try(MappedMemoStore<Integer,ByteBuffer> store = MappedMemoStore.open(path,Serialiser.int32(),Serialiser.bytes())){
+			store.putIfAbsent(1,ByteBuffer.wrap(new byte[]{1,2,3}));
+			ByteBuffer value = store.get(1);
+			assertThat(value.isDirect(),is(true));
+			assertThat(value.isReadOnly(),is(true));
+			assertThat(value.remaining(),equalTo(3));
+			assertThat(value.get(2),equalTo((byte)3));
+		}
+	}
+	@Test
+	public void javaSerialisation(){
+		try(MappedMemoStore<Integer,java.util.ArrayList<String>> store = MappedMemoStore.open(path,Serialiser.int32(),Serialiser.java())){
+			java.util.ArrayList<String> list = new java.util.ArrayList<>();
+			list.add("hello");
+			store.putIfAbsent(1,list);
+			assertThat(store.get(1),equalTo(list));
+		}
+	}
+	@Test(expected=IllegalStateException.class)
+	public void closed(){
+		MappedMemoStore<Integer,Integer> store = MappedMemoStore.open(path,Serialiser.int32(),Serialiser.int32());
+		store.close();
+		store.get(1);
+	}
+}
@@ -0,0 +1,137 @@
+package com.aol.cyclops.lambda.functions;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.aol.cyclops.functions.CachePolicy;
+import com.aol.cyclops.functions.Memoise;
+
+public class MemoiseAsyncTest {
+
+	AtomicInteger called;
+	List<CompletableFuture<String>> pending;
+	
+	@Before
+	public void setup(){
+		called = new AtomicInteger(0);
+		pending = new ArrayList<>();
+	}
+	private CompletableFuture<String> load(Integer key){
+		called.incrementAndGet();
+		CompletableFuture<String> future = new CompletableFuture<>();
+		pending.add(future);
+		return future;
+	}
+	@Test
+	public void concurrentCallersShareOneComputation(){
+		Function<Integer,CompletableFuture<String>> fn = Memoise.memoiseAsync(this::load);
+		CompletableFuture<String> first = fn.apply(1);
+		CompletableFuture<String> second = fn.apply(1);
+		assertThat(called.get(),is(1));
+		pending.get(0).complete("hello");
+		assertThat(first.join(),equalTo("hello"));
+		assertThat(second.join(),equalTo("hello"));
+		assertThat(fn.apply(1).join(),equalTo("hello"));
+		assertThat(called.get(),is(1));
+	}
+	@Test
+	public void failuresAreNotCached(){
+		Function<Integer,CompletableFuture<String>> fn = Memoise.memoiseAsync(this::load);
+		CompletableFuture<String> first = fn.apply(1);
+		pending.get(0).completeExceptionally(new RuntimeException("boom"));
+		assertThat(first.isCompletedExceptionally(),is(true));
+		fn.apply(1);
+		assertThat(called.get(),is(2));
+	}
+	@Test
+	public void synchronousFailure(){
+		Function<Integer,CompletableFuture<String>> fn = Memoise.memoiseAsync(i->{ called.incrementAndGet(); throw new IllegalStateException(); });
+		assertThat(fn.apply(1).isCompletedExceptionally(),is(true));
+		assertThat(fn.apply(1).isCompletedExceptionally(),is(true));
+		assertThat(called.get(),is(2));
+	}
+	@Test
+	public void failuresCachedWhenRequested(){
+		Function<Integer,CompletableFuture<String>> fn = Memoise.memoiseAsync(this::load,CachePolicy.lru(10),true);
+		fn.apply(1);
+		pending.get(0).completeExceptionally(new RuntimeException("boom"));
+		assertThat(fn.apply(1).isCompletedExceptionally(),is(true));
+		assertThat(called.get(),is(1));
+	}
+	@Test
+	public void boundedSingleFlight(){
+		Function<Integer,CompletableFuture<String>> fn = Memoise.memoiseAsync(this::load,CachePolicy.lru(10));
+		CompletableFuture<String> first = fn.apply(1);
+		assertThat(fn.apply(1)==first,is(true));
+		pending.get(0).completeExceptionally(new RuntimeException("boom"));
+		fn.apply(1);
+		assertThat(called.get(),is(2));
+	}
+	@Test
+	public void expires(){
+		AtomicLong time = new AtomicLong(0);
+		Function<Integer,CompletableFuture<String>> fn = Memoise.memoiseAsync(this::load,CachePolicy.unbounded()
+																						.withExpireAfterWrite(Duration.ofSeconds(1))
+																						.withTicker(time::get));
+		fn.apply(1);
+		pending.get(0).complete("hello");
+		fn.apply(1);
+		time.set(Duration.ofSeconds(2).toNanos());
+		fn.apply(1);
+		assertThat(called.get(),is(2));
+	}
+	@Test
+	public void inFlightFuturesOutliveExpiry(){
+		AtomicLong time = new AtomicLong(0);
+		Function<Integer,CompletableFuture<String>> fn = Memoise.memoiseAsync(this::load,CachePolicy.unbounded()
+																						.withExpireAfterWrite(Duration.ofSeconds(1))
+																						.withTicker(time::get));
+		CompletableFuture<String> first = fn.apply(1);
+		time.set(Duration.ofSeconds(2).toNanos());
+		assertThat(fn.apply(1)==first,is(true));
+		assertThat(called.get(),is(1));
+	}
+	@Test
+	public void singleFlightWhenLfuRefusesAdmission(){
+		Function<Integer,CompletableFuture<String>> fn = Memoise.memoiseAsync(this::load,CachePolicy.lfu(2));
+		for(int i=0;i<3;i++){
+			for(int j=0;j<5;j++)
+				fn.apply(i);
+			pending.get(i).complete("value"+i);
+		}
+		int before = called.get();
+		CompletableFuture<String> cold = fn.apply(100);
+		assertThat(fn.apply(100)==cold,is(true));
+		assertThat(fn.apply(100)==cold,is(true));
+		assertThat(called.get(),is(before+1));
+	}
+	@Test
+	public void singleFlightUnderEviction(){
+		Function<Integer,CompletableFuture<String>> fn = Memoise.memoiseAsync(this::load,CachePolicy.lru(1));
+		CompletableFuture<String> first = fn.apply(1);
+		fn.apply(2);
+		fn.apply(3);
+		assertThat(fn.apply(1)==first,is(true));
+		assertThat(called.get(),is(3));
+	}
+	@Test
+	public void unboundedFailuresCachedWhenRequested(){
+		Function<Integer,CompletableFuture<String>> fn = Memoise.memoiseAsync(this::load,true);
+		fn.apply(1);
+		pending.get(0).completeExceptionally(new RuntimeException("boom"));
+		assertThat(fn.apply(1).isCompletedExceptionally(),is(true));
+		assertThat(called.get(),is(1));
+	}
+}
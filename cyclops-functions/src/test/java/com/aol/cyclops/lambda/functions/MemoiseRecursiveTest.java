@@ -0,0 +1,146 @@
+package com.aol.cyclops.lambda.functions;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigInteger;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.aol.cyclops.functions.Memoise;
+import com.aol.cyclops.trampoline.Trampoline;
+
+public class MemoiseRecursiveTest {
+
+	AtomicInteger called = new AtomicInteger(0);
+	
+	@Test
+	public void fibonacci(){
+		Function<Integer,Long> fib = Memoise.memoiseRecursive((self,n) -> { called.incrementAndGet(); 
+																			return n<2 ? (long)n : self.apply(n-1)+self.apply(n-2);});
+		assertThat(fib.apply(90),equalTo(2880067194370816120L));
+		assertThat(called.get(),is(91));
+	}
+	@Test
+	public void gridPaths(){
+		Function<Integer,Long>[] paths = new Function[1];
+		int size = 16;
+		paths[0] = Memoise.memoiseRecursive((self,cell) -> {
+			int row = cell / size, col = cell % size;
+			if(row==0 || col==0)
+				return 1L;
+			return self.apply(cell-size) + self.apply(cell-1);
+		});
+		assertThat(paths[0].apply(size*size-1),equalTo(155117520L));
+	}
+	@Test
+	public void trampolined(){
+		Function<Integer,BigInteger> fib = Memoise.memoiseTrampoline((self,n) -> n<2 ? Trampoline.done(BigInteger.valueOf(n)) :
+																	self.apply(n-1).flatMap(a->self.apply(n-2).map(b->a.add(b))));
+		assertThat(fib.apply(20_000),equalTo(iterativeFib(20_000)));
+		assertThat(fib.apply(90).longValue(),equalTo(2880067194370816120L));
+	}
+	private BigInteger iterativeFib(int n){
+		BigInteger a = BigInteger.ZERO, b = BigInteger.ONE;
+		for(int i=0;i<n;i++){
+			BigInteger next = a.add(b);
+			a = b;
+			b = next;
+		}
+		return a;
+	}
+	@Test
+	public void concurrentComputesOnce(){
+		Function<Integer,Long> fib = Memoise.memoiseRecursiveConcurrent((self,n) -> { called.incrementAndGet(); 
+																					return n<2 ? (long)n : self.apply(n-1)+self.apply(n-2);});
+		IntStream.range(0, 90).parallel().forEach(fib::apply);
+		assertThat(fib.apply(90),equalTo(2880067194370816120L));
+		assertThat(called.get(),is(91));
+	}
+	@Test
+	public void concurrentForkJoin(){
+		Function<Integer,Long>[] fib = new Function[1];
+		fib[0] = Memoise.memoiseRecursiveConcurrent((self,n) -> {
+			called.incrementAndGet();
+			if(n<2)
+				return (long)n;
+			RecursiveTask<Long> left = new RecursiveTask<Long>(){
+				protected Long compute(){ return self.apply(n-1); }
+			};
+			left.fork();
+			return self.apply(n-2) + left.join();
+		});
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try{
+			assertThat(pool.invoke(new RecursiveTask<Long>(){
+				protected Long compute(){ return fib[0].apply(40); }
+			}),equalTo(102334155L));
+			assertThat(called.get(),is(41));
+		}finally{
+			pool.shutdown();
+		}
+	}
+	@Test(expected=IllegalStateException.class)
+	public void concurrentDetectsCycles(){
+		Function<Integer,Integer> cyclic = Memoise.memoiseRecursiveConcurrent((self,n) -> self.apply(n));
+		cyclic.apply(1);
+	}
+	@Test
+	public void concurrentDetectsCyclesAcrossThreads() throws Exception{
+		CountDownLatch started = new CountDownLatch(2);
+		Function<Integer,Integer> cyclic = Memoise.memoiseRecursiveConcurrent((self,n) -> {
+			started.countDown();
+			try{
+				started.await();
+			}catch(InterruptedException e){
+				throw new IllegalStateException(e);
+			}
+			return self.apply(n==1 ? 2 : 1);
+		});
+		ExecutorService exec = Executors.newFixedThreadPool(2);
+		try{
+			Future<Integer> one = exec.submit(()->cyclic.apply(1));
+			Future<Integer> two = exec.submit(()->cyclic.apply(2));
+			assertThat(cycleFailure(one) | cycleFailure(two),is(true));
+		}finally{
+			exec.shutdownNow();
+		}
+	}
+	private boolean cycleFailure(Future<Integer> future) throws Exception{
+		try{
+			future.get(10,TimeUnit.SECONDS);
+			throw new AssertionError("expected failure");
+		}catch(ExecutionException e){
+			Throwable cause = e.getCause();
+			while(cause instanceof CompletionException)
+				cause = cause.getCause();
+			return cause instanceof IllegalStateException;
+		}
+	}
+	@Test
+	public void concurrentFailureIsNotCached(){
+		Function<Integer,Integer> fn = Memoise.memoiseRecursiveConcurrent((self,n) -> {
+			if(called.incrementAndGet()==1)
+				throw new IllegalArgumentException();
+			return n;
+		});
+		try{
+			fn.apply(1);
+		}catch(IllegalArgumentException e){
+		}
+		assertThat(fn.apply(1),is(1));
+	}
+}
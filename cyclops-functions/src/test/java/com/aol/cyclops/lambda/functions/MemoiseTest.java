@@ -10,17 +10,25 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThat;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import lombok.val;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import com.aol.cyclops.functions.CachePolicy;
 import com.aol.cyclops.functions.Memoise;
+import com.aol.cyclops.lambda.metrics.Metrics;
+import com.aol.cyclops.lambda.metrics.MetricsSnapshot;
 public class MemoiseTest {
 
 	int called= 0;
@@ -105,4 +113,104 @@ public class MemoiseTest {
 		return a+b+c+d;
 	}
 
+	@Test
+	public void testMemoiseIntFunction(){
+		IntFunction<Integer> cached = Memoise.memoiseIntFunction(i->i + ++called);
+		for(int i=-1_000;i<1_000;i++)
+			assertThat(cached.apply(i),equalTo(i+called));
+		called=0;
+		for(int i=-1_000;i<1_000;i++)
+			cached.apply(i);
+		assertThat(called,equalTo(0));
+	}
+	@Test
+	public void testMemoiseLongFunction(){
+		LongFunction<Long> cached = Memoise.memoiseLongFunction(l->l + ++called);
+		assertThat(cached.apply(Long.MAX_VALUE-1),equalTo(Long.MAX_VALUE));
+		assertThat(cached.apply(Long.MAX_VALUE-1),equalTo(Long.MAX_VALUE));
+		assertThat(cached.apply(0),equalTo(2L));
+		assertThat(called,equalTo(2));
+	}
+	@Test
+	public void testMemoiseBiFunctionNullArguments(){
+		BiFunction<String,String,String> s = memoiseBiFunction( (a,b)->""+a+b+ ++called);
+		assertThat(s.apply(null,"b"),equalTo("nullb1"));
+		assertThat(s.apply(null,"b"),equalTo("nullb1"));
+		assertThat(s.apply("a",null),equalTo("anull2"));
+		assertThat(s.apply(null,null),equalTo("nullnull3"));
+		assertThat(s.apply(null,null),equalTo("nullnull3"));
+	}
+	@Test
+	public void testMemoiseQuadFunctionDistinguishesArguments(){
+		val cached = memoiseQuadFunction(this::addAll);
+		assertThat(cached.apply(1,2,3,4),equalTo(10));
+		assertThat(cached.apply(4,3,2,1),equalTo(10));
+		assertThat(cached.apply(1,2,3,4),equalTo(10));
+		assertThat(called,equalTo(2));
+	}
+	@Test
+	public void testMemoiseBiFunctionComputesOncePerKeyConcurrently(){
+		AtomicInteger computed = new AtomicInteger(0);
+		BiFunction<Integer,Integer,Integer> cached = memoiseBiFunction((a,b)->{ 
+			computed.incrementAndGet(); 
+			LockSupport.parkNanos(1_000_000);
+			return a+b;
+		});
+		IntStream.range(0, 1_000).parallel().forEach(i->assertThat(cached.apply(i%10,1),equalTo(i%10+1)));
+		assertThat(computed.get(),equalTo(10));
+	}
+	@Test
+	public void testMemoiseFunctionMetrics(){
+		Metrics.enable();
+		try{
+			Function<Integer,Integer> cached = memoiseFunction(i -> i + ++called);
+			cached.apply(1);
+			cached.apply(1);
+			cached.apply(2);
+		}finally{
+			Metrics.disable();
+		}
+		MetricsSnapshot snapshot = Metrics.snapshot().get("Memoise.memoiseFunction");
+		assertThat(snapshot.getRequests(),equalTo(3L));
+		assertThat(snapshot.getMisses(),equalTo(2L));
+		assertThat(snapshot.getEntries(),equalTo(2L));
+		assertThat(called,equalTo(2));
+	}
+	@Test
+	public void testNamedCachesRecordSeparately(){
+		Metrics.enable();
+		try{
+			Function<Integer,Integer> first = memoiseFunction(i -> i + ++called,"MemoiseTest.first");
+			BiFunction<Integer,Integer,Integer> second = memoiseBiFunction((a,b) -> a+b,"MemoiseTest.second");
+			first.apply(1);
+			first.apply(1);
+			first.apply(2);
+			second.apply(1,2);
+		}finally{
+			Metrics.disable();
+		}
+		MetricsSnapshot first = Metrics.snapshot().get("MemoiseTest.first");
+		assertThat(first.getRequests(),equalTo(3L));
+		assertThat(first.getMisses(),equalTo(2L));
+		assertThat(first.getEntries(),equalTo(2L));
+		MetricsSnapshot second = Metrics.snapshot().get("MemoiseTest.second");
+		assertThat(second.getRequests(),equalTo(1L));
+		assertThat(second.getMisses(),equalTo(1L));
+	}
+	@Test
+	public void testPolicyCacheMetrics(){
+		Metrics.enable();
+		try{
+			Function<Integer,Integer> cached = memoiseFunction(i -> i + ++called,CachePolicy.lru(1).withName("MemoiseTest.policy"));
+			cached.apply(1);
+			cached.apply(1);
+			cached.apply(2);
+		}finally{
+			Metrics.disable();
+		}
+		MetricsSnapshot snapshot = Metrics.snapshot().get("MemoiseTest.policy");
+		assertThat(snapshot.getRequests(),equalTo(3L));
+		assertThat(snapshot.getMisses(),equalTo(2L));
+		assertThat(snapshot.getEntries(),equalTo(1L));
+	}
 }
@@ -47,7 +47,7 @@ public class Extractors {
 	 * @return Memoised extractor
 	 */
 	public static final <T,R > Extractor<T,R> memoised( Extractor<T,R> extractor){
-		final LazyImmutable<R> value = new LazyImmutable<>();
+		final LazyImmutable<R> value = LazyImmutable.def("Extractors.memoised");
 		return input -> {
 			return value.computeIfAbsent(()->extractor.apply(input));
 				
@@ -0,0 +1,81 @@
+package com.aol.cyclops.trampoline;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * A Trampoline stage that continues with a function of the result of a previous stage.
+ * 
+ * FlatMapped stages are evaluated by an interpreter loop that keeps pending continuations on a heap allocated
+ * stack rather than on the call stack, so arbitrarily deep (or left nested) chains of flatMap run in constant stack.
+ * 
+ * @author johnmcclean
+ *
+ * @param <A> Result type of the previous stage
+ * @param <T> Result type
+ */
+@AllArgsConstructor
+final class FlatMapped<A,T> implements Trampoline<T> {
+	
+	private final Trampoline<A> previous;
+	private final Function<? super A,? extends Trampoline<T>> fn;
+
+	@Override
+	public boolean complete() {
+		return false;
+	}
+	
+	/* 
+	 * Single step, re-associating left nested stages so that each bounce does a constant amount of work
+	 * @see com.aol.cyclops.trampoline.Trampoline#bounce()
+	 */
+	@Override
+	@SuppressWarnings({"rawtypes","unchecked"})
+	public Trampoline<T> bounce() {
+		if(previous instanceof FlatMapped){
+			FlatMapped nested = (FlatMapped)previous;
+			return nested.previous.flatMap(a-> ((Trampoline)nested.fn.apply(a)).flatMap(fn));
+		}
+		if(!previous.complete())
+			return new FlatMapped<>(previous.bounce(),fn);
+		return fn.apply(previous.result());
+	}
+
+	@Override
+	public T result() {
+		return evaluate(this);
+	}
+	
+	/**
+	 * Run a Trampoline to completion
+	 * 
+	 * @param trampoline Trampoline to run
+	 * @return Result
+	 */
+	@SuppressWarnings({"rawtypes","unchecked"})
+	static <T> T evaluate(Trampoline<T> trampoline){
+		Trampoline current = trampoline;
+		Deque<Function> continuations = null;
+		while(true){
+			if(current instanceof FlatMapped){
+				FlatMapped next = (FlatMapped)current;
+				if(continuations==null)
+					continuations = new ArrayDeque<>();
+				continuations.push(next.fn);
+				current = next.previous;
+			}
+			else if(!current.complete()){
+				current = current.bounce();
+			}
+			else{
+				Object value = current.result();
+				if(continuations==null || continuations.isEmpty())
+					return (T)value;
+				current = (Trampoline)continuations.pop().apply(value);
+			}
+		}
+	}
+}
@@ -1,6 +1,6 @@
 package com.aol.cyclops.trampoline;
 
-import java.util.stream.Stream;
+import java.util.function.Function;
 
 /**
  * simple Trampoline implementation : inspired by excellent TotallyLazy Java 8 impl 
@@ -31,6 +31,33 @@ public interface Trampoline<T> {
 	default boolean complete() {
 		return true;
 	}
+	
+	/**
+	 * Transform the result of this Trampoline, without consuming stack
+	 * 
+	 * @param fn Mapping function
+	 * @return Trampoline with mapped result
+	 */
+	default <R> Trampoline<R> map(Function<? super T,? extends R> fn){
+		return flatMap(t -> done(fn.apply(t)));
+	}
+	/**
+	 * Continue this Trampoline with another, without consuming stack
+	 * 
+	 * <pre>{@code
+	 *  Trampoline<Long> fib(int n){
+	 *  	if(n<2)
+	 *  		return Trampoline.done((long)n);
+	 *  	return Trampoline.more(()->fib(n-1)).flatMap(a->fib(n-2).map(b->a+b));
+	 *  }
+	 * }</pre>
+	 * 
+	 * @param fn Function to the next Trampoline
+	 * @return Trampoline that completes with the result of the next Trampoline
+	 */
+	default <R> Trampoline<R> flatMap(Function<? super T,? extends Trampoline<R>> fn){
+		return new FlatMapped<>(this,fn);
+	}
 
 	
 	/**
@@ -63,18 +90,7 @@ public interface Trampoline<T> {
 			}
 
 			public T result() {
-				return trampoline(this);
-			}
-
-			T trampoline(Trampoline<T> trampoline) {
-				
-				return Stream.iterate(trampoline,Trampoline::bounce)
-							.filter(Trampoline::complete)
-							.findFirst()
-							.get()
-							.result();
-				
-
+				return FlatMapped.evaluate(this);
 			}
 		};
 	}
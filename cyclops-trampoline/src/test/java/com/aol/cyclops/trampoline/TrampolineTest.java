@@ -30,6 +30,50 @@ public class TrampolineTest {
 			return Trampoline.more(()->loop(times-1,sum+times));
 	}
 	
+	@Test
+	public void map(){
+		assertThat(loop(500000,10).map(i->i+1).result(),equalTo(446198427));
+	}
+	@Test
+	public void flatMapMutualRecursion(){
+		assertThat(even(1_000_001).result(),equalTo(false));
+		assertThat(odd(1_000_001).result(),equalTo(true));
+	}
+	Trampoline<Boolean> even(int n){
+		if(n==0)
+			return Trampoline.done(true);
+		return Trampoline.done(n-1).flatMap(this::odd);
+	}
+	Trampoline<Boolean> odd(int n){
+		if(n==0)
+			return Trampoline.done(false);
+		return Trampoline.done(n-1).flatMap(this::even);
+	}
+	@Test
+	public void leftNestedFlatMap(){
+		Trampoline<Integer> t = Trampoline.done(0);
+		for(int i=0;i<1_000_000;i++)
+			t = t.flatMap(v->Trampoline.done(v+1));
+		assertThat(t.result(),equalTo(1_000_000));
+	}
+	@Test
+	public void treeFold(){
+		assertThat(sum(0,100_000).result(),equalTo(4999950000L));
+	}
+	Trampoline<Long> sum(long from, long to){
+		if(to-from==1)
+			return Trampoline.done(from);
+		long mid = (from+to)/2;
+		return Trampoline.more(()->sum(from,mid)).flatMap(a->sum(mid,to).map(b->a+b));
+	}
+	@Test
+	public void bounceFlatMapped(){
+		Trampoline<Integer> t = Trampoline.done(1).flatMap(i->Trampoline.done(i+1)).map(i->i*10);
+		while(!t.complete())
+			t = t.bounce();
+		assertThat(t.result(),equalTo(20));
+	}
+	
 	@Test @Ignore
 	public void trampolineTest1(){
 		
@@ -0,0 +1,35 @@
+package com.aol.cyclops.trycatch;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * All of the results of a bulk Try operation (see Try#traverseAll and Try#sequenceAll), the successful
+ * values and captured Exceptions are held, in encounter order, in separate Lists.
+ * 
+ * @author johnmcclean
+ *
+ * @param <T> Value type
+ * @param <X> Error type
+ */
+@Value
+public class Accumulated<T,X extends Throwable> {
+	List<T> successes;
+	List<X> failures;
+	
+	/**
+	 * @return true if no Exceptions were captured
+	 */
+	public boolean isSuccess(){
+		return failures.isEmpty();
+	}
+	/**
+	 * @return Success with all values if there were no failures, otherwise a Failure with the first captured Exception
+	 */
+	public Try<List<T>,X> toTry(){
+		if(isSuccess())
+			return Success.of(successes);
+		return Failure.of(failures.get(0));
+	}
+}
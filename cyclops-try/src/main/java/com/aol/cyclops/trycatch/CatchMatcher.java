@@ -0,0 +1,52 @@
+package com.aol.cyclops.trycatch;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Matches failures against the Exception types a Try is configured to catch.
+ * 
+ * One off checks (withCatch, runWithCatch, Success#map etc) scan the configured classes directly via CatchMatcher#matches.
+ * Operations that match many failures against the same configuration (e.g. traversals) hold a CatchMatcher instance,
+ * which caches the result for each thrown type. The cache lives as long as the matcher, so no Class references are retained globally.
+ * 
+ * @author johnmcclean
+ *
+ */
+final class CatchMatcher {
+
+	private final Class<?>[] classes;
+	private final Map<Class<?>,Boolean> matched = new ConcurrentHashMap<>();
+	
+	/**
+	 * @param classes Exception types to catch (copied)
+	 */
+	CatchMatcher(Class<?>[] classes){
+		this.classes = classes.clone();
+	}
+	
+	/**
+	 * @param t Throwable to check
+	 * @return true if t is an instance of one of the configured Exception types
+	 */
+	boolean matches(Throwable t){
+		return matched.computeIfAbsent(t.getClass(),thrown -> assignable(classes,thrown));
+	}
+	
+	/**
+	 * @param classes Exception types to catch
+	 * @param t Throwable to check
+	 * @return true if t is an instance of one of classes
+	 */
+	static boolean matches(Class<?>[] classes, Throwable t){
+		return assignable(classes,t.getClass());
+	}
+	
+	private static boolean assignable(Class<?>[] classes, Class<?> thrown){
+		for(Class<?> next : classes){
+			if(next.isAssignableFrom(thrown))
+				return true;
+		}
+		return false;
+	}
+}
@@ -0,0 +1,30 @@
+package com.aol.cyclops.trycatch;
+
+/**
+ * Lightweight Exception for failures that are part of normal control flow (e.g. parsing or validation failures).
+ * 
+ * The stack trace is not filled in (or recorded) when a StacklessException is constructed, which makes creating
+ * and capturing it inside a Failure cheap. Extend it to define lightweight failure types
+ * 
+ * <pre>{@code
+ *   static class InvalidRecord extends StacklessException{
+ *   	InvalidRecord(String message){ super(message); }
+ *   }
+ *   
+ *   Try<Record,InvalidRecord> result = Try.withCatch(()->validate(record),InvalidRecord.class);
+ * }</pre>
+ * 
+ * @author johnmcclean
+ *
+ */
+public class StacklessException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public StacklessException(String message) {
+		super(message,null,false,false);
+	}
+	public StacklessException(String message,Throwable cause) {
+		super(message,cause,false,false);
+	}
+}
@@ -72,18 +72,13 @@ public class Success<T, X extends Throwable> implements Try<T,X>{
 		try{
 			return s.get();
 		}catch(Throwable t){
-			return (R)Failure.of(orThrow(Stream.of(classes).filter(c->c.isAssignableFrom(t.getClass())).map(c->t).findFirst(),t));
-			
+			if(CatchMatcher.matches(classes,t))
+				return (R)Failure.of(t);
+			ExceptionSoftener.singleton.factory.getInstance().throwSoftenedException(t);
+			return null;
 		}
 	}
 
-	private Throwable orThrow(Optional<Throwable> findFirst, Throwable t) {
-		if(findFirst.isPresent())
-			return findFirst.get();
-		ExceptionSoftener.singleton.factory.getInstance().throwSoftenedException(t);
-		return null;
-	}
-
 
 
 	/* 
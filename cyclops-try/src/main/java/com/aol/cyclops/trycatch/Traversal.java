@@ -0,0 +1,132 @@
+package com.aol.cyclops.trycatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.aol.cyclops.trycatch.Try.CheckedFunction;
+
+/**
+ * Applies a CheckedFunction to every element of a Collection, either on the calling thread, 
+ * split across a ForkJoinPool or in chunks on an Executor. 
+ * 
+ * Results and captured Exceptions are written into arrays indexed by position, so no per element Try is created
+ * and encounter order is preserved in parallel. Once processing should stop (the first failure when failing fast, 
+ * or an Exception that is not one of the types to catch) no elements after the stopping position are processed, 
+ * elements before it still are - so the Exception reported is always the one for the lowest failing position,
+ * as it would be sequentially.
+ * 
+ * @author johnmcclean
+ *
+ */
+final class Traversal<T,R,X extends Throwable> {
+
+	private final Object[] input;
+	private final CheckedFunction<T,R,X> fn;
+	private final CatchMatcher matcher;
+	private final boolean catchAll;
+	private final boolean failFast;
+	private final Object[] results;
+	private final Throwable[] errors;
+	private final AtomicInteger stop;
+	
+	Traversal(Collection<T> values, CheckedFunction<T,R,X> fn, Class<? extends X>[] classes, boolean failFast){
+		this.input = values.toArray();
+		this.fn = fn;
+		this.matcher = new CatchMatcher(classes);
+		this.catchAll = classes.length==0;
+		this.failFast = failFast;
+		this.results = new Object[input.length];
+		this.errors = new Throwable[input.length];
+		this.stop = new AtomicInteger(input.length);
+	}
+	
+	Try<List<R>,X> failFast(Executor executor){
+		run(executor);
+		int stopped = stop.get();
+		if(stopped==input.length)
+			return Success.of((List<R>)Arrays.asList(results));
+		Throwable t = errors[stopped];
+		if(catches(t))
+			return Failure.of((X)t);
+		throw new RuntimeException(t);
+	}
+	
+	Accumulated<R,X> accumulate(Executor executor){
+		run(executor);
+		int stopped = stop.get();
+		if(stopped!=input.length)
+			throw new RuntimeException(errors[stopped]);
+		List<R> successes = new ArrayList<>(input.length);
+		List<X> failures = new ArrayList<>();
+		for(int i=0;i<input.length;i++){
+			if(errors[i]==null)
+				successes.add((R)results[i]);
+			else
+				failures.add((X)errors[i]);
+		}
+		return new Accumulated<>(successes,failures);
+	}
+	
+	private void run(Executor executor){
+		if(executor==null){
+			apply(0,input.length);
+		}else if(executor instanceof ForkJoinPool){
+			ForkJoinPool pool = (ForkJoinPool)executor;
+			pool.invoke(new Task(0,input.length,Math.max(1, input.length / (pool.getParallelism() << 2))));
+		}else{
+			int chunkSize = Math.max(1, input.length / (Runtime.getRuntime().availableProcessors() << 2));
+			List<CompletableFuture<Void>> chunks = new ArrayList<>();
+			for(int from=0;from<input.length;from+=chunkSize){
+				int start = from;
+				int end = Math.min(input.length, from+chunkSize);
+				chunks.add(CompletableFuture.runAsync(()->apply(start,end),executor));
+			}
+			CompletableFuture.allOf(chunks.toArray(new CompletableFuture[chunks.size()])).join();
+		}
+	}
+	
+	private void apply(int from, int to){
+		for(int i=from;i<to && i<stop.get();i++){
+			try{
+				results[i] = fn.apply((T)input[i]);
+			}catch(Throwable t){
+				errors[i] = t;
+				if(failFast || !catches(t))
+					stop.accumulateAndGet(i, Math::min);
+			}
+		}
+	}
+	private boolean catches(Throwable t){
+		return catchAll || matcher.matches(t);
+	}
+	
+	private class Task extends RecursiveAction{
+		
+		private static final long serialVersionUID = 1L;
+		private final int from;
+		private final int to;
+		private final int targetSize;
+		
+		Task(int from, int to, int targetSize){
+			this.from = from;
+			this.to = to;
+			this.targetSize = targetSize;
+		}
+		@Override
+		protected void compute() {
+			if(to-from <= targetSize || from>=stop.get()){
+				apply(from,to);
+				return;
+			}
+			int mid = (from+to) >>> 1;
+			invokeAll(new Task(from,mid,targetSize),new Task(mid,to,targetSize));
+		}
+	}
+}
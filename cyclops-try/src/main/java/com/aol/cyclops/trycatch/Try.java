@@ -2,7 +2,12 @@
 package com.aol.cyclops.trycatch;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -210,13 +215,9 @@ public interface Try<T,X extends Throwable> extends Supplier<T>, ValueObject, St
 		try{
 			return Success.of(cf.get());
 		}catch(Throwable t){
-			if(classes.length==0)
+			if(classes.length==0 || CatchMatcher.matches(classes,t))
 				return Failure.of((X)t);
-			val error = Stream.of(classes).filter(c -> c.isAssignableFrom(t.getClass())).findFirst();
-			if(error.isPresent())
-				return Failure.of((X)t);
-			else
-				throw new RuntimeException(t);
+			throw new RuntimeException(t);
 		}
 		
 	}
@@ -234,16 +235,136 @@ public interface Try<T,X extends Throwable> extends Supplier<T>, ValueObject, St
 			cf.run();
 			return Success.of(null);
 		}catch(Throwable t){
-			if(classes.length==0)
-				return Failure.of((X)t);
-			val error = Stream.of(classes).filter(c -> c.isAssignableFrom(t.getClass())).findFirst();
-			if(error.isPresent())
+			if(classes.length==0 || CatchMatcher.matches(classes,t))
 				return Failure.of((X)t);
-			else
-				throw new RuntimeException(t);
+			throw new RuntimeException(t);
 		}
 		
 	}
+	/**
+	 * Apply the supplied CheckedFunction to each value in turn, stopping at the first failure.
+	 * 
+	 * <pre>{@code
+	 *  Try<List<Integer>,NumberFormatException> numbers = Try.traverse(Arrays.asList("1","2","3"),Integer::parseInt,NumberFormatException.class);
+	 *  //Success[[1,2,3]]
+	 * }</pre>
+	 * 
+	 * @param values Values to process
+	 * @param fn CheckedFunction to apply to each value
+	 * @param classes Exception types to catch (or all Exceptions if none specified)
+	 * @return Success with all results (in encounter order) or a Failure with the first Exception
+	 */
+	@SafeVarargs
+	public static <T,R,X extends Throwable> Try<List<R>,X> traverse(Collection<T> values,CheckedFunction<T,R,X> fn,Class<? extends X>...classes){
+		return new Traversal<>(values,fn,classes,true).failFast(null);
+	}
+	/**
+	 * Apply the supplied CheckedFunction to each value in parallel on the supplied ForkJoinPool. Once any
+	 * application fails no values after it are processed. The failure returned is the one for the first failing value 
+	 * in encounter order (as it would be sequentially), not the first to occur.
+	 * 
+	 * @param pool ForkJoinPool to execute on
+	 * @param values Values to process
+	 * @param fn CheckedFunction to apply to each value
+	 * @param classes Exception types to catch (or all Exceptions if none specified)
+	 * @return Success with all results (in encounter order) or a Failure
+	 */
+	@SafeVarargs
+	public static <T,R,X extends Throwable> Try<List<R>,X> traverse(ForkJoinPool pool,Collection<T> values,CheckedFunction<T,R,X> fn,Class<? extends X>...classes){
+		return new Traversal<>(values,fn,classes,true).failFast(pool);
+	}
+	/**
+	 * Apply the supplied CheckedFunction to each value in parallel, in chunks submitted to the supplied Executor. Once any
+	 * application fails no values after it are processed. The failure returned is the one for the first failing value 
+	 * in encounter order (as it would be sequentially), not the first to occur.
+	 * 
+	 * @param executor Executor to execute on
+	 * @param values Values to process
+	 * @param fn CheckedFunction to apply to each value
+	 * @param classes Exception types to catch (or all Exceptions if none specified)
+	 * @return Success with all results (in encounter order) or a Failure
+	 */
+	@SafeVarargs
+	public static <T,R,X extends Throwable> Try<List<R>,X> traverse(Executor executor,Collection<T> values,CheckedFunction<T,R,X> fn,Class<? extends X>...classes){
+		return new Traversal<>(values,fn,classes,true).failFast(executor);
+	}
+	/**
+	 * Apply the supplied CheckedFunction to every value, accumulating all results and all captured Exceptions
+	 * 
+	 * <pre>{@code
+	 *  Accumulated<Integer,NumberFormatException> numbers = Try.traverseAll(Arrays.asList("1","x","3"),Integer::parseInt,NumberFormatException.class);
+	 *  //successes [1,3] failures [NumberFormatException]
+	 * }</pre>
+	 * 
+	 * @param values Values to process
+	 * @param fn CheckedFunction to apply to each value
+	 * @param classes Exception types to catch (or all Exceptions if none specified)
+	 * @return All results and all captured Exceptions
+	 */
+	@SafeVarargs
+	public static <T,R,X extends Throwable> Accumulated<R,X> traverseAll(Collection<T> values,CheckedFunction<T,R,X> fn,Class<? extends X>...classes){
+		return new Traversal<>(values,fn,classes,false).accumulate(null);
+	}
+	/**
+	 * Apply the supplied CheckedFunction to every value in parallel on the supplied ForkJoinPool, 
+	 * accumulating all results and all captured Exceptions (in encounter order)
+	 * 
+	 * @param pool ForkJoinPool to execute on
+	 * @param values Values to process
+	 * @param fn CheckedFunction to apply to each value
+	 * @param classes Exception types to catch (or all Exceptions if none specified)
+	 * @return All results and all captured Exceptions
+	 */
+	@SafeVarargs
+	public static <T,R,X extends Throwable> Accumulated<R,X> traverseAll(ForkJoinPool pool,Collection<T> values,CheckedFunction<T,R,X> fn,Class<? extends X>...classes){
+		return new Traversal<>(values,fn,classes,false).accumulate(pool);
+	}
+	/**
+	 * Apply the supplied CheckedFunction to every value in parallel, in chunks submitted to the supplied Executor, 
+	 * accumulating all results and all captured Exceptions (in encounter order)
+	 * 
+	 * @param executor Executor to execute on
+	 * @param values Values to process
+	 * @param fn CheckedFunction to apply to each value
+	 * @param classes Exception types to catch (or all Exceptions if none specified)
+	 * @return All results and all captured Exceptions
+	 */
+	@SafeVarargs
+	public static <T,R,X extends Throwable> Accumulated<R,X> traverseAll(Executor executor,Collection<T> values,CheckedFunction<T,R,X> fn,Class<? extends X>...classes){
+		return new Traversal<>(values,fn,classes,false).accumulate(executor);
+	}
+	/**
+	 * Convert a Collection of Trys into a single Try
+	 * 
+	 * @param trys Trys to sequence
+	 * @return Success with all values or the first Failure
+	 */
+	public static <T,X extends Throwable> Try<List<T>,X> sequence(Collection<? extends Try<T,X>> trys){
+		List<T> values = new ArrayList<>(trys.size());
+		for(Try<T,X> next : trys){
+			if(next.isFailure())
+				return (Try)next;
+			values.add(next.get());
+		}
+		return Success.of(values);
+	}
+	/**
+	 * Split a Collection of Trys into successful values and failures
+	 * 
+	 * @param trys Trys to sequence
+	 * @return All values and all Exceptions
+	 */
+	public static <T,X extends Throwable> Accumulated<T,X> sequenceAll(Collection<? extends Try<T,X>> trys){
+		List<T> successes = new ArrayList<>(trys.size());
+		List<X> failures = new ArrayList<>();
+		for(Try<T,X> next : trys){
+			if(next.isSuccess())
+				successes.add(next.get());
+			else
+				failures.add(next.toFailedOptional().get());
+		}
+		return new Accumulated<>(successes,failures);
+	}
 	/**
 	 * Fluent step builder for Try / Catch / Finally and Try with resources equivalents.
 	 * Start with Exception types to catch.
@@ -0,0 +1,179 @@
+package com.aol.cyclops.trycatch;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+
+import com.aol.cyclops.trycatch.Try.CheckedSupplier;
+
+/**
+ * Asynchronous Try, a Try that will be computed on an Executor.
+ * 
+ * Computations (and functions passed to map / flatMap / recover etc) are run on the supplied Executor, and 
+ * compose without blocking. As with Try only the specified Exception types are captured as Failures (or all Exceptions if none are specified),
+ * any other Exception completes the underlying CompletableFuture exceptionally.
+ * 
+ * <pre>{@code
+ *  TryFuture<String,IOException> page = TryFuture.fromFuture(httpClient.get(url),executor,IOException.class)
+ *  											.map(this::parse)
+ *  											.recoverFor(FileNotFoundException.class, e->"default");
+ * }</pre>
+ * 
+ * @author johnmcclean
+ *
+ * @param <T> Return type (success)
+ * @param <X> Base Error type
+ */
+@AllArgsConstructor(access=AccessLevel.PRIVATE)
+public class TryFuture<T,X extends Throwable> {
+
+	private final CompletableFuture<Try<T,X>> future;
+	private final Executor executor;
+	private final Class<? extends X>[] classes;
+	
+	/**
+	 * Execute the supplied CheckedSupplier on the Executor, catching the specified Exceptions (or all Exceptions if none specified)
+	 * 
+	 * @param cf CheckedSupplier to attempt to execute
+	 * @param executor Executor to run the CheckedSupplier (and subsequent operations) on
+	 * @param classes Exception types to catch
+	 * @return New TryFuture
+	 */
+	@SafeVarargs
+	public static <T,X extends Throwable> TryFuture<T,X> withCatch(CheckedSupplier<T,X> cf,Executor executor,Class<? extends X>...classes){
+		return new TryFuture<>(CompletableFuture.supplyAsync(()->Try.withCatch(cf, classes),executor),executor,classes);
+	}
+	/**
+	 * Capture the result of a CompletableFuture as a TryFuture, without blocking
+	 * 
+	 * @param future CompletableFuture to convert
+	 * @param executor Executor to run subsequent operations on
+	 * @param classes Exception types to capture as Failures
+	 * @return New TryFuture
+	 */
+	@SafeVarargs
+	public static <T,X extends Throwable> TryFuture<T,X> fromFuture(CompletableFuture<T> future,Executor executor,Class<? extends X>...classes){
+		return new TryFuture<>(future.handle((value,error)->{
+				if(error==null)
+					return Success.of(value);
+				Throwable cause = error instanceof CompletionException && error.getCause()!=null ? error.getCause() : error;
+				if(catches(cause,classes))
+					return Failure.of((X)cause);
+				throw new CompletionException(cause);
+			}),executor,classes);
+	}
+	/**
+	 * @param value Successful value
+	 * @param executor Executor to run subsequent operations on
+	 * @param classes Exception types to catch in subsequent operations
+	 * @return TryFuture that has already completed successfully
+	 */
+	@SafeVarargs
+	public static <T,X extends Throwable> TryFuture<T,X> of(T value,Executor executor,Class<? extends X>...classes){
+		return new TryFuture<>(CompletableFuture.completedFuture(Success.of(value)),executor,classes);
+	}
+	/**
+	 * @param error Failure value
+	 * @param executor Executor to run subsequent operations on
+	 * @param classes Exception types to catch in subsequent operations
+	 * @return TryFuture that has already completed with a Failure
+	 */
+	@SafeVarargs
+	public static <T,X extends Throwable> TryFuture<T,X> failed(X error,Executor executor,Class<? extends X>...classes){
+		return new TryFuture<>(CompletableFuture.completedFuture(Failure.of(error)),executor,classes);
+	}
+	
+	/**
+	 * @param fn Map success value from T to R
+	 * @return New TryFuture with mapped value, or a Failure if fn throws one of the specified Exceptions
+	 */
+	public <R> TryFuture<R,X> map(Function<T,R> fn){
+		return with(future.thenApplyAsync(t-> t.isFailure() ? t : Try.<R,X>withCatch(()->fn.apply(t.get()),classes),executor));
+	}
+	/**
+	 * @param fn FlatMap success value to the next TryFuture
+	 * @return New TryFuture that completes when the returned TryFuture does
+	 */
+	public <R> TryFuture<R,X> flatMap(Function<T,TryFuture<R,X>> fn){
+		return with(future.thenComposeAsync(t-> {
+			if(t.isFailure())
+				return CompletableFuture.completedFuture((Try)t);
+			Try<TryFuture<R,X>,X> next = Try.withCatch(()->fn.apply(t.get()),classes);
+			if(next.isFailure())
+				return CompletableFuture.completedFuture((Try)next);
+			return next.get().future;
+		},executor));
+	}
+	/**
+	 * @param p Predicate to test the success value against
+	 * @return CompletableFuture with the value if it is a Success that passes the predicate, otherwise Optional.empty
+	 */
+	public CompletableFuture<Optional<T>> filter(Predicate<T> p){
+		return future.thenApplyAsync(t->t.filter(p),executor);
+	}
+	/**
+	 * @param fn Recovery function - map from a failure to a Success
+	 * @return New TryFuture
+	 */
+	public TryFuture<T,X> recover(Function<X,T> fn){
+		return with(future.thenApplyAsync(t->t.recover(fn),executor));
+	}
+	/**
+	 * @param t Type of exception to match against
+	 * @param fn Recovery function
+	 * @return New TryFuture, recovered if the exception is of the specified type
+	 */
+	public TryFuture<T,X> recoverFor(Class<? extends X> t,Function<X,T> fn){
+		return with(future.thenApplyAsync(result->result.recoverFor(t, fn),executor));
+	}
+	/**
+	 * @param consumer Accept Exception if Failure
+	 * @return New TryFuture with the same result
+	 */
+	public TryFuture<T,X> onFail(Consumer<X> consumer){
+		return with(future.thenApplyAsync(t->t.onFail(consumer),executor));
+	}
+	/**
+	 * @param t Type of exception to match against
+	 * @param consumer Accept Exception if Failure of the specified type
+	 * @return New TryFuture with the same result
+	 */
+	public TryFuture<T,X> onFail(Class<? extends X> t,Consumer<X> consumer){
+		return with(future.thenApplyAsync(result->result.onFail(t,consumer),executor));
+	}
+	/**
+	 * @return CompletableFuture that completes with the Try result
+	 */
+	public CompletableFuture<Try<T,X>> toCompletableFuture(){
+		return future;
+	}
+	/**
+	 * @return true if the result is available
+	 */
+	public boolean isDone(){
+		return future.isDone();
+	}
+	/**
+	 * Block until the result is available
+	 * 
+	 * @return Try result
+	 */
+	public Try<T,X> join(){
+		return future.join();
+	}
+	
+	@SuppressWarnings({"rawtypes","unchecked"})
+	private <R> TryFuture<R,X> with(CompletableFuture next){
+		return new TryFuture<>(next,executor,classes);
+	}
+	private static boolean catches(Throwable t,Class<?>[] classes){
+		return classes.length==0 || CatchMatcher.matches(classes,t);
+	}
+}
@@ -0,0 +1,76 @@
+package com.aol.cyclops.trycatch;
+
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import com.aol.cyclops.lambda.api.Comprehender;
+
+/**
+ * Comprehender for for-comprehensions over TryFuture, the comprehension is composed without blocking.
+ * As with Try, Failures are passed on and an empty instance is a Success of Optional.empty()
+ * 
+ * @author johnmcclean
+ *
+ */
+public class TryFutureComprehender implements Comprehender<TryFuture> {
+
+	/* 
+	 * @see com.aol.cyclops.lambda.api.Comprehender#map(java.lang.Object, java.util.function.Function)
+	 */
+	@Override
+	public Object map(TryFuture t, Function fn) {
+		return t.map(fn);
+	}
+
+	/* 
+	 * @see com.aol.cyclops.lambda.api.Comprehender#flatMap(java.lang.Object, java.util.function.Function)
+	 */
+	@Override
+	public TryFuture flatMap(TryFuture t, Function fn) {
+		return t.flatMap(fn);
+	}
+
+	/* 
+	 * @see com.aol.cyclops.lambda.api.Comprehender#instanceOfT(java.lang.Object)
+	 */
+	@Override
+	public boolean instanceOfT(Object apply) {
+		return apply instanceof TryFuture;
+	}
+
+	/* 
+	 * @see com.aol.cyclops.lambda.api.Comprehender#of(java.lang.Object)
+	 */
+	@Override
+	public TryFuture of(Object o) {
+		if(o instanceof Throwable)
+			return TryFuture.failed((Throwable)o,ForkJoinPool.commonPool());
+		return TryFuture.of(o,ForkJoinPool.commonPool());
+	}
+
+	/* 
+	 * @see com.aol.cyclops.lambda.api.Comprehender#empty()
+	 */
+	@Override
+	public TryFuture empty() {
+		return TryFuture.of(Optional.empty(),ForkJoinPool.commonPool());
+	}
+
+	@Override
+	public Class getTargetClass() {
+		return TryFuture.class;
+	}
+
+	/* 
+	 * Blocks until the TryFuture completes, as with CompletableFutures returned to other monad types
+	 * @see com.aol.cyclops.lambda.api.Comprehender#resolveForCrossTypeFlatMap(com.aol.cyclops.lambda.api.Comprehender, java.lang.Object)
+	 */
+	@Override
+	public Object resolveForCrossTypeFlatMap(Comprehender comp,TryFuture apply){
+		Try result = apply.join();
+		if(result.isSuccess())
+			return comp.of(result.get());
+		return comp.empty();
+	}
+}
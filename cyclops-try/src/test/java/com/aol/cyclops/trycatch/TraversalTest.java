@@ -0,0 +1,128 @@
+package com.aol.cyclops.trycatch;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class TraversalTest {
+
+	List<String> input = Arrays.asList("1","2","x","4","y");
+	List<String> large = IntStream.range(0, 10_000).mapToObj(i-> i==5_000 ? "x" : ""+i).collect(Collectors.toList());
+	
+	@Test
+	public void traverseSuccess(){
+		assertThat(Try.traverse(Arrays.asList("1","2","3"),Integer::parseInt,NumberFormatException.class).get(),
+						equalTo(Arrays.asList(1,2,3)));
+	}
+	@Test
+	public void traverseStopsAtFirstFailure(){
+		AtomicInteger count = new AtomicInteger(0);
+		Try<List<Integer>,NumberFormatException> result = Try.traverse(input,s->{ count.incrementAndGet(); return Integer.parseInt(s);},
+																		NumberFormatException.class);
+		assertThat(result.isFailure(),is(true));
+		assertThat(result.toFailedOptional().get().getMessage(),equalTo("For input string: \"x\""));
+		assertThat(count.get(),is(3));
+	}
+	@Test(expected=RuntimeException.class)
+	public void traverseRethrowsUnconfiguredException(){
+		Try.traverse(input,Integer::parseInt,IllegalStateException.class);
+	}
+	@Test
+	public void traverseParallel(){
+		List<String> values = IntStream.range(0, 10_000).mapToObj(i->""+i).collect(Collectors.toList());
+		assertThat(Try.traverse(ForkJoinPool.commonPool(),values,Integer::parseInt,NumberFormatException.class).get(),
+				equalTo(IntStream.range(0, 10_000).boxed().collect(Collectors.toList())));
+	}
+	@Test
+	public void traverseParallelFailure(){
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try{
+			Try<List<Integer>,NumberFormatException> result = Try.traverse(pool,large,Integer::parseInt,NumberFormatException.class);
+			assertThat(result.toFailedOptional().get(),instanceOf(NumberFormatException.class));
+		}finally{
+			pool.shutdown();
+		}
+	}
+	@Test
+	public void traverseParallelReportsFirstFailureInEncounterOrder(){
+		List<String> values = IntStream.range(0, 10_000).mapToObj(i-> i%1_000==999 ? "x"+i : ""+i).collect(Collectors.toList());
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try{
+			for(int i=0;i<20;i++){
+				Try<List<Integer>,NumberFormatException> result = Try.traverse(pool,values,Integer::parseInt,NumberFormatException.class);
+				assertThat(result.toFailedOptional().get().getMessage(),equalTo("For input string: \"x999\""));
+			}
+		}finally{
+			pool.shutdown();
+		}
+	}
+	@Test
+	public void traverseOnExecutor(){
+		List<String> values = IntStream.range(0, 10_000).mapToObj(i->""+i).collect(Collectors.toList());
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try{
+			assertThat(Try.traverse(executor,values,Integer::parseInt,NumberFormatException.class).get(),
+					equalTo(IntStream.range(0, 10_000).boxed().collect(Collectors.toList())));
+			assertThat(Try.traverse(executor,large,Integer::parseInt,NumberFormatException.class).toFailedOptional().get().getMessage(),
+					equalTo("For input string: \"x\""));
+		}finally{
+			executor.shutdown();
+		}
+	}
+	@Test
+	public void traverseAll(){
+		Accumulated<Integer,NumberFormatException> result = Try.traverseAll(input,Integer::parseInt,NumberFormatException.class);
+		assertThat(result.getSuccesses(),equalTo(Arrays.asList(1,2,4)));
+		assertThat(result.getFailures().size(),is(2));
+		assertThat(result.isSuccess(),is(false));
+		assertThat(result.toTry().isFailure(),is(true));
+	}
+	@Test
+	public void traverseAllParallel(){
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try{
+			Accumulated<Integer,NumberFormatException> result = Try.traverseAll(pool,large,Integer::parseInt,NumberFormatException.class);
+			assertThat(result.getSuccesses().size(),is(9_999));
+			assertThat(result.getSuccesses().get(5_000),is(5_001));
+			assertThat(result.getFailures().size(),is(1));
+		}finally{
+			pool.shutdown();
+		}
+	}
+	@Test
+	public void traverseAllOnExecutor(){
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try{
+			Accumulated<Integer,NumberFormatException> result = Try.traverseAll(executor,large,Integer::parseInt,NumberFormatException.class);
+			assertThat(result.getSuccesses().size(),is(9_999));
+			assertThat(result.getSuccesses().get(5_000),is(5_001));
+			assertThat(result.getFailures().size(),is(1));
+		}finally{
+			executor.shutdown();
+		}
+	}
+	@Test
+	public void sequence(){
+		assertThat(Try.sequence(Arrays.asList(Success.of(1),Success.of(2))).get(),equalTo(Arrays.asList(1,2)));
+		assertThat(Try.sequence(Arrays.asList(Success.of(1),Failure.of(new RuntimeException()))).isFailure(),is(true));
+	}
+	@Test
+	public void sequenceAll(){
+		Accumulated<Integer,RuntimeException> result = Try.sequenceAll(Arrays.<Try<Integer,RuntimeException>>asList(Success.of(1),
+																		Failure.of(new RuntimeException()),Success.of(3)));
+		assertThat(result.getSuccesses(),equalTo(Arrays.asList(1,3)));
+		assertThat(result.getFailures().size(),is(1));
+	}
+}
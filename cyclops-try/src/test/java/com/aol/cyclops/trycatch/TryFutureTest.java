@@ -0,0 +1,106 @@
+package com.aol.cyclops.trycatch;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.aol.cyclops.comprehensions.donotation.typed.Do;
+import com.aol.cyclops.lambda.api.AsAnyM;
+
+public class TryFutureTest {
+
+	ExecutorService exec = Executors.newFixedThreadPool(2);
+	
+	@After
+	public void shutdown(){
+		exec.shutdown();
+	}
+	
+	@Test
+	public void withCatchSuccess(){
+		assertThat(TryFuture.withCatch(()->"hello",exec,IOException.class)
+						.map(s->s+" world")
+						.join().get(),equalTo("hello world"));
+	}
+	@Test
+	public void withCatchFailure(){
+		Try<String,IOException> result = TryFuture.<String,IOException>withCatch(()->{ throw new FileNotFoundException(); },exec,IOException.class)
+														.map(s->s+" world")
+														.join();
+		assertThat(result.isFailure(),is(true));
+		assertThat(result.toFailedOptional().get(),instanceOf(FileNotFoundException.class));
+	}
+	@Test(expected=CompletionException.class)
+	public void unconfiguredExceptionCompletesExceptionally(){
+		TryFuture.withCatch(()->"hello",exec,IOException.class)
+				 .map(s->{ throw new IllegalStateException(); })
+				 .join();
+	}
+	@Test
+	public void fromFutureDoesNotBlock(){
+		CompletableFuture<String> cf = new CompletableFuture<>();
+		TryFuture<Integer,IOException> tf = TryFuture.<String,IOException>fromFuture(cf,exec,IOException.class)
+													.map(String::length);
+		assertThat(tf.isDone(),is(false));
+		cf.complete("hello");
+		assertThat(tf.join().get(),is(5));
+	}
+	@Test
+	public void fromFailedFuture(){
+		CompletableFuture<String> cf = new CompletableFuture<>();
+		cf.completeExceptionally(new IOException("boom"));
+		AtomicReference<IOException> failed = new AtomicReference<>();
+		assertThat(TryFuture.<String,IOException>fromFuture(cf,exec,IOException.class)
+					.onFail(failed::set)
+					.recoverFor(IOException.class, e->e.getMessage())
+					.join().get(),equalTo("boom"));
+		assertThat(failed.get().getMessage(),equalTo("boom"));
+	}
+	@Test
+	public void flatMap(){
+		assertThat(TryFuture.of(10,exec,ArithmeticException.class)
+					.flatMap(i->TryFuture.withCatch(()->i/0,exec,ArithmeticException.class))
+					.recover(e->-1)
+					.join().get(),is(-1));
+	}
+	@Test
+	public void filter(){
+		assertThat(TryFuture.of(10,exec).filter(i->i>5).join(),equalTo(Optional.of(10)));
+		assertThat(TryFuture.of(10,exec).filter(i->i>50).join(),equalTo(Optional.empty()));
+	}
+	@Test
+	public void anyM(){
+		TryFuture<Integer,RuntimeException> tf = AsAnyM.<Integer>notTypeSafeAnyM(TryFuture.of(10,exec))
+															.map(i->i*2)
+															.unwrap();
+		assertThat(tf.join().get(),is(20));
+	}
+	@Test
+	public void forComprehension(){
+		TryFuture<Integer,RuntimeException> tf = Do.add(AsAnyM.<Integer>notTypeSafeAnyM(TryFuture.of(10,exec)))
+													.add(AsAnyM.<Integer>notTypeSafeAnyM(TryFuture.of(5,exec)))
+													.yield(a->b->a+b).unwrap();
+		assertThat(tf.join().get(),is(15));
+	}
+	@Test
+	public void comprehenderMapsThrowableToFailure(){
+		IOException error = new IOException("boom");
+		Try result = new TryFutureComprehender().of(error).join();
+		assertThat(result.isFailure(),is(true));
+		assertThat(result.toFailedOptional().get(),is(error));
+		assertThat(new TryComprehender().of(error).isFailure(),is(true));
+	}
+}
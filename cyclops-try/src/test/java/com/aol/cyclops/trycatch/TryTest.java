@@ -57,6 +57,41 @@ public class TryTest {
 		
 										
 		
+	}
+	
+	@Test
+	public void catchesSubclassOfConfiguredException(){
+		Class[] classes = {IOException.class};
+		for(int i=0;i<3;i++)
+			assertThat(Try.withCatch(()-> { throw new FileNotFoundException(); },classes).isFailure(),is(true));
+	}
+	@Test
+	public void reusedClassArrayIsMatchedByContent(){
+		Class[] classes = {IOException.class};
+		assertThat(Try.withCatch(()-> { throw new FileNotFoundException(); },classes).isFailure(),is(true));
+		classes[0] = IllegalStateException.class;
+		assertThat(Try.withCatch(()-> { throw new IllegalStateException(); },classes).isFailure(),is(true));
+	}
+	@Test
+	public void matcherCopiesConfiguredClasses(){
+		Class[] classes = {IOException.class};
+		CatchMatcher matcher = new CatchMatcher(classes);
+		classes[0] = IllegalStateException.class;
+		assertThat(matcher.matches(new FileNotFoundException()),is(true));
+		assertThat(matcher.matches(new IllegalStateException()),is(false));
+	}
+	@Test(expected=RuntimeException.class)
+	public void rethrowsUnconfiguredException(){
+		Try.withCatch(()-> { throw new IllegalStateException(); },IOException.class);
+	}
+	@Test
+	public void stacklessFailure(){
+		Try<String,InvalidInput> t = Try.withCatch(()-> { throw new InvalidInput("bad"); },InvalidInput.class);
+		assertThat(t.toFailedOptional().get().getStackTrace().length,is(0));
+		assertThat(t.toFailedOptional().get().getMessage(),is("bad"));
+	}
+	static class InvalidInput extends StacklessException{
+		InvalidInput(String message){ super(message); }
 	}
 	
 	public void testMultipleResources(){
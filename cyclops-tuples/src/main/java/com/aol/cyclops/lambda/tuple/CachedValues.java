@@ -1,7 +1,5 @@
 package com.aol.cyclops.lambda.tuple;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -9,13 +7,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.BiConsumer;
-import java.util.function.BiFunction;
-import java.util.function.BinaryOperator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.function.Supplier;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -30,7 +27,6 @@ import com.aol.cyclops.matcher.builders.MatchingInstance;
 import com.aol.cyclops.matcher.builders.PatternMatcher;
 import com.aol.cyclops.matcher.builders._Simpler_Case;
 import com.aol.cyclops.value.StreamableValue;
-import com.nurkiewicz.lazyseq.LazySeq;
 
 
 
@@ -68,22 +64,16 @@ public interface CachedValues extends Iterable, StreamableValue, Comparable<Cach
 	default <T extends CachedValues> ConvertStep<T> convert(){
 		return new ConvertStep(this);
 	}
+	/**
+	 * Create an instance of the supplied class, using a public constructor that accepts the values in this tuple.
+	 * Constructors are resolved once per class and arity and cached.
+	 * 
+	 * @param to Class to create
+	 * @return New instance of to
+	 */
 	default <X> X to(Class<X> to){
-		Constructor<X> cons = (Constructor)Stream.of(to.getConstructors())
-							.filter(c -> c.getParameterCount()==arity())
-							.findFirst()
-							.get();
-		try {
-			
-			return cons.newInstance(getCachedValues().toArray());
-		} catch (InstantiationException | IllegalAccessException
-				| IllegalArgumentException | InvocationTargetException e) {
-			return new ParamMatcher().create(to, arity(), getCachedValues(),e);
-			
-		}
-		
-		
-		
+		List<Object> values = getCachedValues();
+		return ParamMatcher.create(to, arity(), values.size()>arity() ? values.subList(0,arity()) : values);
 	}
 	/**
 	 * Wrap multiple reducers or monoids into a single reducer instance,
@@ -117,28 +107,7 @@ public interface CachedValues extends Iterable, StreamableValue, Comparable<Cach
 	 */
 	default <T extends CachedValues> Monoid<T> asReducer(){
 		List<Monoid> reducers = (List)getCachedValues().stream().filter(c-> c instanceof Monoid).collect(Collectors.toList());
-		return new Monoid(){
-			public CachedValues zero(){
-				return new TupleImpl(reducers.stream().map(r->r.zero()).collect(Collectors.toList()),arity());
-			}
-			public BiFunction<CachedValues,CachedValues,CachedValues> combiner(){
-				return (c1,c2) -> { 
-					List l= new ArrayList<>();
-					
-					
-					for(int i=0;i<reducers.size();i++){
-						l.add(reducers.get(i).combiner().apply(c1.getCachedValues().get(i),c2.getCachedValues().get(0)));
-					}
-					
-					return new TupleImpl(l,l.size());
-				};
-			}
-			
-		
-			public Stream mapToType(Stream stream){
-				return (Stream) stream.map(CachedValues::of);
-			}
-		};
+		return (Monoid)new TupleReducer(reducers);
 	}
 	/**
 	 * Wrap multiple collectors in a single Collector instance, so they can all run against a single Stream
@@ -154,19 +123,8 @@ public interface CachedValues extends Iterable, StreamableValue, Comparable<Cach
 	 * @return Collector
 	 */
 	default <T,A,R> Collector<T,A,R> asCollector(){
-
 		List<Collector> collectors = (List)getCachedValues().stream().filter(c-> c instanceof Collector).collect(Collectors.toList());
-		final Supplier supplier =  ()-> collectors.stream().map(c->c.supplier().get()).collect(Collectors.toList());
-		final BiConsumer accumulator = (acc,next) -> {  LazySeq.of(collectors.stream().iterator()).<Object,PTuple2<Collector,Object>>zip(LazySeq.of((List)acc),(a,b)->PowerTuples.<Collector,Object>tuple(a,b))
-													
-													.forEach( t -> t.v1().accumulator().accept(t.v2(),next));
-		};
-		final BinaryOperator combiner = (t1,t2)-> new TupleImpl(collectors.stream().map(c->c.combiner().apply(t1,t2)).collect(Collectors.toList()),arity());
-		
-		return (Collector) Collector.of( supplier,
-                accumulator ,
-		 combiner,
-		values-> new TupleImpl(LazySeq.of(collectors.stream().iterator()).<Object,PTuple2<Collector,Object>>zip(LazySeq.of((List)values),(a,b)->PowerTuples.<Collector,Object>tuple(a,b)).map(t->t.v1().finisher().apply(t.v2())).toList(),arity()));
+		return (Collector)new TupleCollector<>(collectors);
 	}
 
 
@@ -218,6 +176,51 @@ public interface CachedValues extends Iterable, StreamableValue, Comparable<Cach
 		return result;
 	}
 	public int arity();
+	/**
+	 * Eagerly evaluate all values of this tuple, returning a tuple that holds it's own values.
+	 * Use to flatten a chain of lazily derived tuples (concatenated, swapped, reordered or lazily mapped),
+	 * so that later reads don't go through the chain and the tuples it was derived from can be collected.
+	 * 
+	 * @return Tuple with the same values, independent of any tuples this one was derived from
+	 */
+	default <T extends CachedValues> T materialise(){
+		return (T)FieldTuple.of(getCachedValues(),arity());
+	}
+	/**
+	 * Evaluate every value of this tuple concurrently on the supplied Executor, useful when lazily mapped values
+	 * hold independent, expensive (e.g. blocking remote) computations.
+	 *
+	 * <pre>{@code
+	 * 	CompletableFuture<PTuple2<User,List<Order>>> result = tuple(id,id).lazyMap1(this::loadUser)
+	 * 																	.lazyMap2(this::loadOrders)
+	 * 																	.evaluateAllAsync(executor);
+	 * }</pre>
+	 *
+	 * @param executor Executor to evaluate each value on
+	 * @return CompletableFuture that completes with a tuple holding the evaluated values, or exceptionally if any value fails
+	 */
+	default <T extends CachedValues> CompletableFuture<T> evaluateAllAsync(Executor executor){
+		return SlotEvaluation.async(this,executor);
+	}
+	/**
+	 * Evaluate every value of this tuple concurrently as fork join tasks, suitable for CPU bound lazily mapped values
+	 * (which may themselves fork further tasks)
+	 *
+	 * @param pool ForkJoinPool to evaluate each value on
+	 * @return CompletableFuture that completes with a tuple holding the evaluated values, or exceptionally if any value fails
+	 */
+	default <T extends CachedValues> CompletableFuture<T> evaluateAllForkJoin(ForkJoinPool pool){
+		return SlotEvaluation.forkJoin(this,pool);
+	}
+	/**
+	 * Evaluate every value of this tuple concurrently in the common ForkJoinPool
+	 *
+	 * @see #evaluateAllForkJoin(ForkJoinPool)
+	 * @return CompletableFuture that completes with a tuple holding the evaluated values, or exceptionally if any value fails
+	 */
+	default <T extends CachedValues> CompletableFuture<T> evaluateAllForkJoin(){
+		return evaluateAllForkJoin(ForkJoinPool.commonPool());
+	}
 	/**
 	 * Will attempt to convert each element in the tuple into a flattened Stream
 	 * 
@@ -0,0 +1,63 @@
+package com.aol.cyclops.lambda.tuple;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tuple that concatenates two tuples (see Concatenate). Each value is read from the tuple it belongs to on access, 
+ * so lazily mapped or memoised values of either tuple are only evaluated when they are needed, and independently of one another.
+ * 
+ * @author johnmcclean
+ *
+ */
+final class ConcatView extends TupleView {
+
+	private final CachedValues first;
+	private final int firstArity;
+	private final CachedValues concatWith;
+	
+	ConcatView(CachedValues first, int firstArity, CachedValues concatWith, int concatArity){
+		super(firstArity+concatArity);
+		this.first = first;
+		this.firstArity = firstArity;
+		this.concatWith = concatWith;
+	}
+	
+	public Object v1(){
+		return get(0);
+	}
+	public Object v2(){
+		return get(1);
+	}
+	public Object v3(){
+		return arity()>2 ? get(2) : super.v3();
+	}
+	public Object v4(){
+		return arity()>3 ? get(3) : super.v4();
+	}
+	public Object v5(){
+		return arity()>4 ? get(4) : super.v5();
+	}
+	public Object v6(){
+		return arity()>5 ? get(5) : super.v6();
+	}
+	public Object v7(){
+		return arity()>6 ? get(6) : super.v7();
+	}
+	public Object v8(){
+		return arity()>7 ? get(7) : super.v8();
+	}
+	
+	@Override
+	protected List<Object> computeValues() {
+		Object[] values = new Object[arity()];
+		for(int i=0;i<values.length;i++)
+			values[i] = get(i);
+		return Arrays.asList(values);
+	}
+	private Object get(int index){
+		if(isMaterialised())
+			return value(index);
+		return index<firstArity ? SlotEvaluation.value(first,index) : SlotEvaluation.value(concatWith,index-firstArity);
+	}
+}
@@ -1,9 +1,5 @@
 package com.aol.cyclops.lambda.tuple;
 
-import java.util.Arrays;
-import java.util.Iterator;
-import java.util.List;
-
 
 
 public interface Concatenate{
@@ -21,27 +17,7 @@ public interface Concatenate{
 	public static <T1,NT1> PTuple2<T1,NT1> concat(PTuple1<T1> first, PTuple1<NT1> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),2){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),concatWith.v1());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,1,concatWith,1);
 		
 	}
 
@@ -59,31 +35,7 @@ public interface Concatenate{
 	public static <T1,NT1,NT2> PTuple3<T1,NT1,NT2> concat(PTuple1<T1> first, PTuple2<NT1,NT2> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),3){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public NT2 v2(){
-				return concatWith.v2();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),concatWith.v1(),concatWith.v2());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,1,concatWith,2);
 		
 	}
 
@@ -101,35 +53,7 @@ public interface Concatenate{
 	public static <T1,NT1,NT2,NT3> PTuple4<T1,NT1,NT2,NT3> concat(PTuple1<T1> first, PTuple3<NT1,NT2,NT3> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),4){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public NT2 v2(){
-				return concatWith.v2();
-			}
-
-			public NT3 v3(){
-				return concatWith.v3();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),concatWith.v1(),concatWith.v2(),concatWith.v3());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,1,concatWith,3);
 		
 	}
 
@@ -147,39 +71,7 @@ public interface Concatenate{
 	public static <T1,NT1,NT2,NT3,NT4> PTuple5<T1,NT1,NT2,NT3,NT4> concat(PTuple1<T1> first, PTuple4<NT1,NT2,NT3,NT4> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),5){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public NT2 v2(){
-				return concatWith.v2();
-			}
-
-			public NT3 v3(){
-				return concatWith.v3();
-			}
-
-			public NT4 v4(){
-				return concatWith.v4();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),concatWith.v1(),concatWith.v2(),concatWith.v3(),concatWith.v4());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,1,concatWith,4);
 		
 	}
 
@@ -197,43 +89,7 @@ public interface Concatenate{
 	public static <T1,NT1,NT2,NT3,NT4,NT5> PTuple6<T1,NT1,NT2,NT3,NT4,NT5> concat(PTuple1<T1> first, PTuple5<NT1,NT2,NT3,NT4,NT5> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),6){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public NT2 v2(){
-				return concatWith.v2();
-			}
-
-			public NT3 v3(){
-				return concatWith.v3();
-			}
-
-			public NT4 v4(){
-				return concatWith.v4();
-			}
-
-			public NT5 v5(){
-				return concatWith.v5();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),concatWith.v1(),concatWith.v2(),concatWith.v3(),concatWith.v4(),concatWith.v5());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,1,concatWith,5);
 		
 	}
 
@@ -251,47 +107,7 @@ public interface Concatenate{
 	public static <T1,NT1,NT2,NT3,NT4,NT5,NT6> PTuple7<T1,NT1,NT2,NT3,NT4,NT5,NT6> concat(PTuple1<T1> first, PTuple6<NT1,NT2,NT3,NT4,NT5,NT6> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),7){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public NT2 v2(){
-				return concatWith.v2();
-			}
-
-			public NT3 v3(){
-				return concatWith.v3();
-			}
-
-			public NT4 v4(){
-				return concatWith.v4();
-			}
-
-			public NT5 v5(){
-				return concatWith.v5();
-			}
-
-			public NT6 v6(){
-				return concatWith.v6();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),concatWith.v1(),concatWith.v2(),concatWith.v3(),concatWith.v4(),concatWith.v5(),concatWith.v6());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,1,concatWith,6);
 		
 	}
 
@@ -309,51 +125,7 @@ public interface Concatenate{
 	public static <T1,NT1,NT2,NT3,NT4,NT5,NT6,NT7> PTuple8<T1,NT1,NT2,NT3,NT4,NT5,NT6,NT7> concat(PTuple1<T1> first, PTuple7<NT1,NT2,NT3,NT4,NT5,NT6,NT7> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),8){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public NT2 v2(){
-				return concatWith.v2();
-			}
-
-			public NT3 v3(){
-				return concatWith.v3();
-			}
-
-			public NT4 v4(){
-				return concatWith.v4();
-			}
-
-			public NT5 v5(){
-				return concatWith.v5();
-			}
-
-			public NT6 v6(){
-				return concatWith.v6();
-			}
-
-			public NT7 v7(){
-				return concatWith.v7();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),concatWith.v1(),concatWith.v2(),concatWith.v3(),concatWith.v4(),concatWith.v5(),concatWith.v6(),concatWith.v7());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,1,concatWith,7);
 		
 	}
 
@@ -372,31 +144,7 @@ public interface Concatenate{
 	public static <T1,T2,NT1> PTuple3<T1,T2,NT1> concat(PTuple2<T1,T2> first, PTuple1<NT1> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),3){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),concatWith.v1());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,2,concatWith,1);
 		
 	}
 
@@ -414,31 +162,7 @@ public interface Concatenate{
 	public static <T1,T2,NT1,NT2> PTuple4<T1,T2,NT1,NT2> concat(PTuple2<T1,T2> first, PTuple2<NT1,NT2> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),4){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),concatWith.v1(),concatWith.v2());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,2,concatWith,2);
 		
 	}
 
@@ -456,35 +180,7 @@ public interface Concatenate{
 	public static <T1,T2,NT1,NT2,NT3> PTuple5<T1,T2,NT1,NT2,NT3> concat(PTuple2<T1,T2> first, PTuple3<NT1,NT2,NT3> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),5){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public NT3 v3(){
-				return concatWith.v3();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),concatWith.v1(),concatWith.v2(),concatWith.v3());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,2,concatWith,3);
 		
 	}
 
@@ -502,39 +198,7 @@ public interface Concatenate{
 	public static <T1,T2,NT1,NT2,NT3,NT4> PTuple6<T1,T2,NT1,NT2,NT3,NT4> concat(PTuple2<T1,T2> first, PTuple4<NT1,NT2,NT3,NT4> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),6){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public NT3 v3(){
-				return concatWith.v3();
-			}
-
-			public NT4 v4(){
-				return concatWith.v4();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),concatWith.v1(),concatWith.v2(),concatWith.v3(),concatWith.v4());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,2,concatWith,4);
 		
 	}
 
@@ -552,43 +216,7 @@ public interface Concatenate{
 	public static <T1,T2,NT1,NT2,NT3,NT4,NT5> PTuple7<T1,T2,NT1,NT2,NT3,NT4,NT5> concat(PTuple2<T1,T2> first, PTuple5<NT1,NT2,NT3,NT4,NT5> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),7){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public NT3 v3(){
-				return concatWith.v3();
-			}
-
-			public NT4 v4(){
-				return concatWith.v4();
-			}
-
-			public NT5 v5(){
-				return concatWith.v5();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),concatWith.v1(),concatWith.v2(),concatWith.v3(),concatWith.v4(),concatWith.v5());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,2,concatWith,5);
 		
 	}
 
@@ -606,47 +234,7 @@ public interface Concatenate{
 	public static <T1,T2,NT1,NT2,NT3,NT4,NT5,NT6> PTuple8<T1,T2,NT1,NT2,NT3,NT4,NT5,NT6> concat(PTuple2<T1,T2> first, PTuple6<NT1,NT2,NT3,NT4,NT5,NT6> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),8){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public NT3 v3(){
-				return concatWith.v3();
-			}
-
-			public NT4 v4(){
-				return concatWith.v4();
-			}
-
-			public NT5 v5(){
-				return concatWith.v5();
-			}
-
-			public NT6 v6(){
-				return concatWith.v6();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),concatWith.v1(),concatWith.v2(),concatWith.v3(),concatWith.v4(),concatWith.v5(),concatWith.v6());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,2,concatWith,6);
 		
 	}
 
@@ -665,35 +253,7 @@ public interface Concatenate{
 	public static <T1,T2,T3,NT1> PTuple4<T1,T2,T3,NT1> concat(PTuple3<T1,T2,T3> first, PTuple1<NT1> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),4){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public T3 v3(){
-				return first.v3();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),first.v3(),concatWith.v1());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,3,concatWith,1);
 		
 	}
 
@@ -711,35 +271,7 @@ public interface Concatenate{
 	public static <T1,T2,T3,NT1,NT2> PTuple5<T1,T2,T3,NT1,NT2> concat(PTuple3<T1,T2,T3> first, PTuple2<NT1,NT2> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),5){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public T3 v3(){
-				return first.v3();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),first.v3(),concatWith.v1(),concatWith.v2());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,3,concatWith,2);
 		
 	}
 
@@ -757,35 +289,7 @@ public interface Concatenate{
 	public static <T1,T2,T3,NT1,NT2,NT3> PTuple6<T1,T2,T3,NT1,NT2,NT3> concat(PTuple3<T1,T2,T3> first, PTuple3<NT1,NT2,NT3> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),6){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public T3 v3(){
-				return first.v3();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),first.v3(),concatWith.v1(),concatWith.v2(),concatWith.v3());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,3,concatWith,3);
 		
 	}
 
@@ -803,39 +307,7 @@ public interface Concatenate{
 	public static <T1,T2,T3,NT1,NT2,NT3,NT4> PTuple7<T1,T2,T3,NT1,NT2,NT3,NT4> concat(PTuple3<T1,T2,T3> first, PTuple4<NT1,NT2,NT3,NT4> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),7){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public T3 v3(){
-				return first.v3();
-			}
-
-			public NT4 v4(){
-				return concatWith.v4();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),first.v3(),concatWith.v1(),concatWith.v2(),concatWith.v3(),concatWith.v4());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,3,concatWith,4);
 		
 	}
 
@@ -853,43 +325,7 @@ public interface Concatenate{
 	public static <T1,T2,T3,NT1,NT2,NT3,NT4,NT5> PTuple8<T1,T2,T3,NT1,NT2,NT3,NT4,NT5> concat(PTuple3<T1,T2,T3> first, PTuple5<NT1,NT2,NT3,NT4,NT5> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),8){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public T3 v3(){
-				return first.v3();
-			}
-
-			public NT4 v4(){
-				return concatWith.v4();
-			}
-
-			public NT5 v5(){
-				return concatWith.v5();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),first.v3(),concatWith.v1(),concatWith.v2(),concatWith.v3(),concatWith.v4(),concatWith.v5());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,3,concatWith,5);
 		
 	}
 
@@ -908,39 +344,7 @@ public interface Concatenate{
 	public static <T1,T2,T3,T4,NT1> PTuple5<T1,T2,T3,T4,NT1> concat(PTuple4<T1,T2,T3,T4> first, PTuple1<NT1> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),5){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public T3 v3(){
-				return first.v3();
-			}
-
-			public T4 v4(){
-				return first.v4();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),first.v3(),first.v4(),concatWith.v1());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,4,concatWith,1);
 		
 	}
 
@@ -958,39 +362,7 @@ public interface Concatenate{
 	public static <T1,T2,T3,T4,NT1,NT2> PTuple6<T1,T2,T3,T4,NT1,NT2> concat(PTuple4<T1,T2,T3,T4> first, PTuple2<NT1,NT2> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),6){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public T3 v3(){
-				return first.v3();
-			}
-
-			public T4 v4(){
-				return first.v4();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),first.v3(),first.v4(),concatWith.v1(),concatWith.v2());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,4,concatWith,2);
 		
 	}
 
@@ -1008,39 +380,7 @@ public interface Concatenate{
 	public static <T1,T2,T3,T4,NT1,NT2,NT3> PTuple7<T1,T2,T3,T4,NT1,NT2,NT3> concat(PTuple4<T1,T2,T3,T4> first, PTuple3<NT1,NT2,NT3> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),7){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public T3 v3(){
-				return first.v3();
-			}
-
-			public T4 v4(){
-				return first.v4();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),first.v3(),first.v4(),concatWith.v1(),concatWith.v2(),concatWith.v3());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,4,concatWith,3);
 		
 	}
 
@@ -1058,39 +398,7 @@ public interface Concatenate{
 	public static <T1,T2,T3,T4,NT1,NT2,NT3,NT4> PTuple8<T1,T2,T3,T4,NT1,NT2,NT3,NT4> concat(PTuple4<T1,T2,T3,T4> first, PTuple4<NT1,NT2,NT3,NT4> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),8){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public T3 v3(){
-				return first.v3();
-			}
-
-			public T4 v4(){
-				return first.v4();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),first.v3(),first.v4(),concatWith.v1(),concatWith.v2(),concatWith.v3(),concatWith.v4());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,4,concatWith,4);
 		
 	}
 
@@ -1109,43 +417,7 @@ public interface Concatenate{
 	public static <T1,T2,T3,T4,T5,NT1> PTuple6<T1,T2,T3,T4,T5,NT1> concat(PTuple5<T1,T2,T3,T4,T5> first, PTuple1<NT1> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),6){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public T3 v3(){
-				return first.v3();
-			}
-
-			public T4 v4(){
-				return first.v4();
-			}
-
-			public T5 v5(){
-				return first.v5();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),first.v3(),first.v4(),first.v5(),concatWith.v1());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,5,concatWith,1);
 		
 	}
 
@@ -1163,43 +435,7 @@ public interface Concatenate{
 	public static <T1,T2,T3,T4,T5,NT1,NT2> PTuple7<T1,T2,T3,T4,T5,NT1,NT2> concat(PTuple5<T1,T2,T3,T4,T5> first, PTuple2<NT1,NT2> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),7){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public T3 v3(){
-				return first.v3();
-			}
-
-			public T4 v4(){
-				return first.v4();
-			}
-
-			public T5 v5(){
-				return first.v5();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),first.v3(),first.v4(),first.v5(),concatWith.v1(),concatWith.v2());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,5,concatWith,2);
 		
 	}
 
@@ -1217,43 +453,7 @@ public interface Concatenate{
 	public static <T1,T2,T3,T4,T5,NT1,NT2,NT3> PTuple8<T1,T2,T3,T4,T5,NT1,NT2,NT3> concat(PTuple5<T1,T2,T3,T4,T5> first, PTuple3<NT1,NT2,NT3> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),8){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public T3 v3(){
-				return first.v3();
-			}
-
-			public T4 v4(){
-				return first.v4();
-			}
-
-			public T5 v5(){
-				return first.v5();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),first.v3(),first.v4(),first.v5(),concatWith.v1(),concatWith.v2(),concatWith.v3());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,5,concatWith,3);
 		
 	}
 
@@ -1272,47 +472,7 @@ public interface Concatenate{
 	public static <T1,T2,T3,T4,T5,T6,NT1> PTuple7<T1,T2,T3,T4,T5,T6,NT1> concat(PTuple6<T1,T2,T3,T4,T5,T6> first, PTuple1<NT1> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),7){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public T3 v3(){
-				return first.v3();
-			}
-
-			public T4 v4(){
-				return first.v4();
-			}
-
-			public T5 v5(){
-				return first.v5();
-			}
-
-			public T6 v6(){
-				return first.v6();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),first.v3(),first.v4(),first.v5(),first.v6(),concatWith.v1());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,6,concatWith,1);
 		
 	}
 
@@ -1330,47 +490,7 @@ public interface Concatenate{
 	public static <T1,T2,T3,T4,T5,T6,NT1,NT2> PTuple8<T1,T2,T3,T4,T5,T6,NT1,NT2> concat(PTuple6<T1,T2,T3,T4,T5,T6> first, PTuple2<NT1,NT2> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),8){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public T3 v3(){
-				return first.v3();
-			}
-
-			public T4 v4(){
-				return first.v4();
-			}
-
-			public T5 v5(){
-				return first.v5();
-			}
-
-			public T6 v6(){
-				return first.v6();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),first.v3(),first.v4(),first.v5(),first.v6(),concatWith.v1(),concatWith.v2());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,6,concatWith,2);
 		
 	}
 
@@ -1389,51 +509,7 @@ public interface Concatenate{
 	public static <T1,T2,T3,T4,T5,T6,T7,NT1> PTuple8<T1,T2,T3,T4,T5,T6,T7,NT1> concat(PTuple7<T1,T2,T3,T4,T5,T6,T7> first, PTuple1<NT1> concatWith){
 		
 		
-		return new TupleImpl(Arrays.asList(),8){
-			
-			
-			public T1 v1(){
-				return first.v1();
-			}
-
-			public T2 v2(){
-				return first.v2();
-			}
-
-			public T3 v3(){
-				return first.v3();
-			}
-
-			public T4 v4(){
-				return first.v4();
-			}
-
-			public T5 v5(){
-				return first.v5();
-			}
-
-			public T6 v6(){
-				return first.v6();
-			}
-
-			public T7 v7(){
-				return first.v7();
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(first.v1(),first.v2(),first.v3(),first.v4(),first.v5(),first.v6(),first.v7(),concatWith.v1());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new ConcatView(first,7,concatWith,1);
 		
 	}
 }
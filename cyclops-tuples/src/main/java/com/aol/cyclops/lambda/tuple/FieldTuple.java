@@ -0,0 +1,115 @@
+package com.aol.cyclops.lambda.tuple;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Base class for the field per element tuples created by PowerTuples#tuple and PTupleN#of.
+ * 
+ * Values are held directly in final fields, getCachedValues returns a read only List view over them
+ * (created on demand, it is not stored). Equality and hash codes are those of the List of values, 
+ * so field tuples are equal to other CachedValues (e.g. TupleImpl) holding the same values.
+ * 
+ * @author johnmcclean
+ *
+ */
+abstract class FieldTuple<T1,T2,T3,T4,T5,T6,T7,T8> implements PTuple8<T1,T2,T3,T4,T5,T6,T7,T8>{
+
+	/**
+	 * @param index Position of the value (0 based)
+	 * @return Value at index
+	 */
+	abstract Object value(int index);
+	
+	@Override
+	public abstract int arity();
+	
+	@Override
+	public List<Object> getCachedValues(){
+		return new Values(this);
+	}
+	@Override
+	public <T extends CachedValues> T materialise(){
+		return (T)this;
+	}
+	@Override
+	public CachedValues withArity(int arity){
+		if(arity==arity())
+			return this;
+		return new TupleImpl(getCachedValues(),arity);
+	}
+	@Override
+	public Object getMatchable(){
+		return getCachedValues();
+	}
+	@Override
+	public int hashCode() {
+		int hashCode = 1;
+		for(int i=0;i<arity();i++)
+			hashCode = 31*hashCode + Objects.hashCode(value(i));
+		return hashCode;
+	}
+	@Override
+	public boolean equals(Object obj) {
+		if(obj==this)
+			return true;
+		if(obj!=null && obj.getClass()==getClass()){
+			FieldTuple other = (FieldTuple)obj;
+			for(int i=0;i<arity();i++){
+				if(!Objects.equals(value(i),other.value(i)))
+					return false;
+			}
+			return true;
+		}
+		if(!(obj instanceof CachedValues))
+			return false;
+		return getCachedValues().equals( ((CachedValues)obj).getCachedValues());
+	}
+	@Override
+	public String toString() {
+		return getCachedValues().toString();
+	}
+	
+	/**
+	 * @param values Values to copy
+	 * @param arity Arity of the tuple
+	 * @return Field tuple of the values, or a TupleImpl holding a copy of them if there is no field tuple for the arity
+	 */
+	static CachedValues of(List<Object> values,int arity){
+		if(values.size()!=arity)
+			return new TupleImpl(new ArrayList<>(values),arity);
+		Object[] v = values.toArray();
+		switch(arity){
+		case 1: return new FieldTuple1<>(v[0]);
+		case 2: return new FieldTuple2<>(v[0],v[1]);
+		case 3: return new FieldTuple3<>(v[0],v[1],v[2]);
+		case 4: return new FieldTuple4<>(v[0],v[1],v[2],v[3]);
+		case 5: return new FieldTuple5<>(v[0],v[1],v[2],v[3],v[4]);
+		case 6: return new FieldTuple6<>(v[0],v[1],v[2],v[3],v[4],v[5]);
+		case 7: return new FieldTuple7<>(v[0],v[1],v[2],v[3],v[4],v[5],v[6]);
+		case 8: return new FieldTuple8<>(v[0],v[1],v[2],v[3],v[4],v[5],v[6],v[7]);
+		default: return new TupleImpl(Arrays.asList(v),arity);
+		}
+	}
+	private static final class Values extends AbstractList<Object> implements RandomAccess{
+		private final FieldTuple tuple;
+		
+		Values(FieldTuple tuple){
+			this.tuple = tuple;
+		}
+		@Override
+		public Object get(int index) {
+			if(index<0 || index>=tuple.arity())
+				throw new IndexOutOfBoundsException("Index: "+index+", Size: "+tuple.arity());
+			return tuple.value(index);
+		}
+		@Override
+		public int size() {
+			return tuple.arity();
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.aol.cyclops.lambda.tuple;
+
+/**
+ * Tuple of 1 values, held in fields
+ * 
+ * @author johnmcclean
+ *
+ */
+final class FieldTuple1<T1> extends FieldTuple<T1,Object,Object,Object,Object,Object,Object,Object> {
+
+	private final T1 _1;
+	
+	FieldTuple1(T1 _1){
+		this._1 = _1;
+	}
+	
+	@Override
+	public T1 v1(){
+		return _1;
+	}
+	@Override
+	public int arity(){
+		return 1;
+	}
+	@Override
+	Object value(int index){
+		switch(index){
+		case 0: return _1;
+		default: throw new IndexOutOfBoundsException("Index: "+index+", Size: 1");
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package com.aol.cyclops.lambda.tuple;
+
+/**
+ * Tuple of 2 values, held in fields
+ * 
+ * @author johnmcclean
+ *
+ */
+final class FieldTuple2<T1,T2> extends FieldTuple<T1,T2,Object,Object,Object,Object,Object,Object> {
+
+	private final T1 _1;
+	private final T2 _2;
+	
+	FieldTuple2(T1 _1, T2 _2){
+		this._1 = _1;
+		this._2 = _2;
+	}
+	
+	@Override
+	public T1 v1(){
+		return _1;
+	}
+	@Override
+	public T2 v2(){
+		return _2;
+	}
+	@Override
+	public int arity(){
+		return 2;
+	}
+	@Override
+	Object value(int index){
+		switch(index){
+		case 0: return _1;
+		case 1: return _2;
+		default: throw new IndexOutOfBoundsException("Index: "+index+", Size: 2");
+		}
+	}
+}
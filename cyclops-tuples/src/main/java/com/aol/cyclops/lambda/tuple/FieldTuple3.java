@@ -0,0 +1,46 @@
+package com.aol.cyclops.lambda.tuple;
+
+/**
+ * Tuple of 3 values, held in fields
+ * 
+ * @author johnmcclean
+ *
+ */
+final class FieldTuple3<T1,T2,T3> extends FieldTuple<T1,T2,T3,Object,Object,Object,Object,Object> {
+
+	private final T1 _1;
+	private final T2 _2;
+	private final T3 _3;
+	
+	FieldTuple3(T1 _1, T2 _2, T3 _3){
+		this._1 = _1;
+		this._2 = _2;
+		this._3 = _3;
+	}
+	
+	@Override
+	public T1 v1(){
+		return _1;
+	}
+	@Override
+	public T2 v2(){
+		return _2;
+	}
+	@Override
+	public T3 v3(){
+		return _3;
+	}
+	@Override
+	public int arity(){
+		return 3;
+	}
+	@Override
+	Object value(int index){
+		switch(index){
+		case 0: return _1;
+		case 1: return _2;
+		case 2: return _3;
+		default: throw new IndexOutOfBoundsException("Index: "+index+", Size: 3");
+		}
+	}
+}
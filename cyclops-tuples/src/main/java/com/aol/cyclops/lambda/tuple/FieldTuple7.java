@@ -0,0 +1,74 @@
+package com.aol.cyclops.lambda.tuple;
+
+/**
+ * Tuple of 7 values, held in fields
+ * 
+ * @author johnmcclean
+ *
+ */
+final class FieldTuple7<T1,T2,T3,T4,T5,T6,T7> extends FieldTuple<T1,T2,T3,T4,T5,T6,T7,Object> {
+
+	private final T1 _1;
+	private final T2 _2;
+	private final T3 _3;
+	private final T4 _4;
+	private final T5 _5;
+	private final T6 _6;
+	private final T7 _7;
+	
+	FieldTuple7(T1 _1, T2 _2, T3 _3, T4 _4, T5 _5, T6 _6, T7 _7){
+		this._1 = _1;
+		this._2 = _2;
+		this._3 = _3;
+		this._4 = _4;
+		this._5 = _5;
+		this._6 = _6;
+		this._7 = _7;
+	}
+	
+	@Override
+	public T1 v1(){
+		return _1;
+	}
+	@Override
+	public T2 v2(){
+		return _2;
+	}
+	@Override
+	public T3 v3(){
+		return _3;
+	}
+	@Override
+	public T4 v4(){
+		return _4;
+	}
+	@Override
+	public T5 v5(){
+		return _5;
+	}
+	@Override
+	public T6 v6(){
+		return _6;
+	}
+	@Override
+	public T7 v7(){
+		return _7;
+	}
+	@Override
+	public int arity(){
+		return 7;
+	}
+	@Override
+	Object value(int index){
+		switch(index){
+		case 0: return _1;
+		case 1: return _2;
+		case 2: return _3;
+		case 3: return _4;
+		case 4: return _5;
+		case 5: return _6;
+		case 6: return _7;
+		default: throw new IndexOutOfBoundsException("Index: "+index+", Size: 7");
+		}
+	}
+}
@@ -4,7 +4,6 @@ import com.aol.cyclops.lambda.tuple.lazyswap.LazySwapPTuple2;
 import com.aol.cyclops.lambda.tuple.lazyswap.LazySwapPTuple3;
 
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 
 public interface LazySwap {
@@ -49,38 +48,28 @@ public interface LazySwap {
 	public static <T1,T2,T3,T4> PTuple4<T4,T3,T2,T1> lazySwap(PTuple4<T1,T2,T3,T4> host){
 		
 		
-		return new TupleImpl(Arrays.asList(),4){
+		return new TupleView(4){
 			
 			
 			public T4 v1(){
-				return host.v4();
+				return isMaterialised() ? (T4)value(0) : host.v4();
 			}
 
 			public T3 v2(){
-				return host.v3();
+				return isMaterialised() ? (T3)value(1) : host.v3();
 			}
 
 			public T2 v3(){
-				return host.v2();
+				return isMaterialised() ? (T2)value(2) : host.v2();
 			}
 
 			public T1 v4(){
-				return host.v1();
+				return isMaterialised() ? (T1)value(3) : host.v1();
 			}
-
-
-			
 			@Override
-			public List<Object> getCachedValues() {
+			protected List<Object> computeValues() {
 				return Arrays.asList(v1(),v2(),v3(),v4());
 			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
 		};
 		
 	}
@@ -96,42 +85,32 @@ public interface LazySwap {
 	public static <T1,T2,T3,T4,T5> PTuple5<T5,T4,T3,T2,T1> lazySwap(PTuple5<T1,T2,T3,T4,T5> host){
 		
 		
-		return new TupleImpl(Arrays.asList(),5){
+		return new TupleView(5){
 			
 			
 			public T5 v1(){
-				return host.v5();
+				return isMaterialised() ? (T5)value(0) : host.v5();
 			}
 
 			public T4 v2(){
-				return host.v4();
+				return isMaterialised() ? (T4)value(1) : host.v4();
 			}
 
 			public T3 v3(){
-				return host.v3();
+				return isMaterialised() ? (T3)value(2) : host.v3();
 			}
 
 			public T2 v4(){
-				return host.v2();
+				return isMaterialised() ? (T2)value(3) : host.v2();
 			}
 
 			public T1 v5(){
-				return host.v1();
+				return isMaterialised() ? (T1)value(4) : host.v1();
 			}
-
-
-			
 			@Override
-			public List<Object> getCachedValues() {
+			protected List<Object> computeValues() {
 				return Arrays.asList(v1(),v2(),v3(),v4(),v5());
 			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
 		};
 		
 	}
@@ -147,46 +126,36 @@ public interface LazySwap {
 	public static <T1,T2,T3,T4,T5,T6> PTuple6<T6,T5,T4,T3,T2,T1> lazySwap(PTuple6<T1,T2,T3,T4,T5,T6> host){
 		
 		
-		return new TupleImpl(Arrays.asList(),6){
+		return new TupleView(6){
 			
 			
 			public T6 v1(){
-				return host.v6();
+				return isMaterialised() ? (T6)value(0) : host.v6();
 			}
 
 			public T5 v2(){
-				return host.v5();
+				return isMaterialised() ? (T5)value(1) : host.v5();
 			}
 
 			public T4 v3(){
-				return host.v4();
+				return isMaterialised() ? (T4)value(2) : host.v4();
 			}
 
 			public T3 v4(){
-				return host.v3();
+				return isMaterialised() ? (T3)value(3) : host.v3();
 			}
 
 			public T2 v5(){
-				return host.v2();
+				return isMaterialised() ? (T2)value(4) : host.v2();
 			}
 
 			public T1 v6(){
-				return host.v1();
+				return isMaterialised() ? (T1)value(5) : host.v1();
 			}
-
-
-			
 			@Override
-			public List<Object> getCachedValues() {
+			protected List<Object> computeValues() {
 				return Arrays.asList(v1(),v2(),v3(),v4(),v5(),v6());
 			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
 		};
 		
 	}
@@ -202,50 +171,40 @@ public interface LazySwap {
 	public static <T1,T2,T3,T4,T5,T6,T7> PTuple7<T7,T6,T5,T4,T3,T2,T1> lazySwap(PTuple7<T1,T2,T3,T4,T5,T6,T7> host){
 		
 		
-		return new TupleImpl(Arrays.asList(),7){
+		return new TupleView(7){
 			
 			
 			public T7 v1(){
-				return host.v7();
+				return isMaterialised() ? (T7)value(0) : host.v7();
 			}
 
 			public T6 v2(){
-				return host.v6();
+				return isMaterialised() ? (T6)value(1) : host.v6();
 			}
 
 			public T5 v3(){
-				return host.v5();
+				return isMaterialised() ? (T5)value(2) : host.v5();
 			}
 
 			public T4 v4(){
-				return host.v4();
+				return isMaterialised() ? (T4)value(3) : host.v4();
 			}
 
 			public T3 v5(){
-				return host.v3();
+				return isMaterialised() ? (T3)value(4) : host.v3();
 			}
 
 			public T2 v6(){
-				return host.v2();
+				return isMaterialised() ? (T2)value(5) : host.v2();
 			}
 
 			public T1 v7(){
-				return host.v1();
+				return isMaterialised() ? (T1)value(6) : host.v1();
 			}
-
-
-			
 			@Override
-			public List<Object> getCachedValues() {
+			protected List<Object> computeValues() {
 				return Arrays.asList(v1(),v2(),v3(),v4(),v5(),v6(),v7());
 			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
 		};
 		
 	}
@@ -261,54 +220,44 @@ public interface LazySwap {
 	public static <T1,T2,T3,T4,T5,T6,T7,T8> PTuple8<T8,T7,T6,T5,T4,T3,T2,T1> lazySwap(PTuple8<T1,T2,T3,T4,T5,T6,T7,T8> host){
 		
 		
-		return new TupleImpl(Arrays.asList(),8){
+		return new TupleView(8){
 			
 			
 			public T8 v1(){
-				return host.v8();
+				return isMaterialised() ? (T8)value(0) : host.v8();
 			}
 
 			public T7 v2(){
-				return host.v7();
+				return isMaterialised() ? (T7)value(1) : host.v7();
 			}
 
 			public T6 v3(){
-				return host.v6();
+				return isMaterialised() ? (T6)value(2) : host.v6();
 			}
 
 			public T5 v4(){
-				return host.v5();
+				return isMaterialised() ? (T5)value(3) : host.v5();
 			}
 
 			public T4 v5(){
-				return host.v4();
+				return isMaterialised() ? (T4)value(4) : host.v4();
 			}
 
 			public T3 v6(){
-				return host.v3();
+				return isMaterialised() ? (T3)value(5) : host.v3();
 			}
 
 			public T2 v7(){
-				return host.v2();
+				return isMaterialised() ? (T2)value(6) : host.v2();
 			}
 
 			public T1 v8(){
-				return host.v1();
+				return isMaterialised() ? (T1)value(7) : host.v1();
 			}
-
-
-			
 			@Override
-			public List<Object> getCachedValues() {
+			protected List<Object> computeValues() {
 				return Arrays.asList(v1(),v2(),v3(),v4(),v5(),v6(),v7(),v8());
 			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
 		};
 		
 	}
@@ -0,0 +1,407 @@
+package com.aol.cyclops.lambda.tuple;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import com.aol.cyclops.lambda.api.AsAnyM;
+import com.aol.cyclops.lambda.monads.SequenceM;
+
+/**
+ * Tuples stored off heap, in a memory mapped file.
+ *
+ * Tuples are written with a fixed width per row - boolean, int, long, float and double values are stored in place, Strings are stored
+ * as an offset into a UTF-8 string area that follows the rows. The column types are taken from the first tuple written (a null value can only be 
+ * a String). Strings are placed so that none spans a segment, the segment size is recorded in the file and used when it is reopened. Reading maps the file,
+ * and returns tuple views that read their values from the mapped file on access - so data sets larger than the heap can be processed, with pages
+ * loaded by the operating system as they are touched. Views are CachedValues, so pattern matching and to(Class) conversion work as for other tuples.
+ *
+ * <pre>{@code
+ *  try(MappedTuples tuples = MappedTuples.write(Paths.get("/tmp/people"), people.map(p->tuple(p.getName(),p.getAge())))){
+ *  	tuples.<PTuple2<String,Integer>>sequence()
+ *  		  .parallel()
+ *  		  .map(t->t.to(Person.class))
+ *  		  ...
+ *  }
+ * }</pre>
+ *
+ * Files can be handed off to other processes and reopened with MappedTuples.open. Closing a MappedTuples releases the file handle,
+ * the mapping itself is released when the MappedTuples and all views over it are no longer reachable.
+ *
+ * @author johnmcclean
+ *
+ */
+public final class MappedTuples implements Closeable{
+
+	private static final int MAGIC = 0xC7C17095;
+	private static final int VERSION = 2;
+	private static final int HEADER_SIZE = 40;
+	private static final long NULL_STRING = -1;
+	private static final byte BOOLEAN=0, INT=1, LONG=2, FLOAT=3, DOUBLE=4, STRING=5;
+	private static final int[] WIDTHS = {1,4,8,4,8,8};
+	private static final Class<?>[] TYPES = {boolean.class,int.class,long.class,float.class,double.class,String.class};
+	static final int DEFAULT_SEGMENT_SIZE = 1<<30;
+
+	private final FileChannel channel;
+	private final int arity;
+	private final long size;
+	private final byte[] kinds;
+	private final int[] offsets;
+	private final int rowWidth;
+	private final int rowsPerSegment;
+	private final int segmentSize;
+	private final MappedByteBuffer[] rows;
+	private final MappedByteBuffer[] strings;
+
+	private MappedTuples(Path path) throws IOException{
+		this.channel = FileChannel.open(path,StandardOpenOption.READ);
+		try{
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			channel.read(header,0);
+			if(header.getInt(0)!=MAGIC)
+				throw new IllegalStateException(path + " is not a MappedTuples file");
+			if(header.getInt(4)!=VERSION)
+				throw new IllegalStateException("Unsupported MappedTuples version " + header.getInt(4) + " in " + path);
+			this.arity = header.getInt(8);
+			this.rowWidth = header.getInt(12);
+			this.size = header.getLong(16);
+			long stringStart = header.getLong(24);
+			this.segmentSize = header.getInt(32);
+			ByteBuffer types = ByteBuffer.allocate(arity);
+			channel.read(types,HEADER_SIZE);
+			this.kinds = types.array();
+			this.offsets = new int[arity];
+			for(int c=1;c<arity;c++)
+				offsets[c] = offsets[c-1] + WIDTHS[kinds[c-1]];
+			long rowStart = align(HEADER_SIZE+arity);
+			this.rowsPerSegment = rowWidth==0 ? Integer.MAX_VALUE : Math.max(1,segmentSize/rowWidth);
+			this.rows = map(rowStart,size*rowWidth,(long)rowsPerSegment*rowWidth);
+			this.strings = map(stringStart,channel.size()-stringStart,segmentSize);
+		}catch(IOException | RuntimeException e){
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Write a Stream of tuples to a file, and open it for reading. Any existing file at path is replaced.
+	 *
+	 * All tuples must have the same arity, and hold non-null values of the same type in each position. Supported types are
+	 * Boolean, Integer, Long, Float, Double and String (which may be null, a column whose first value is null holds Strings).
+	 *
+	 * @param path File to write
+	 * @param tuples Tuples to write
+	 * @return MappedTuples over the written file
+	 */
+	public static MappedTuples write(Path path, Stream<? extends CachedValues> tuples){
+		return write(path,tuples,DEFAULT_SEGMENT_SIZE);
+	}
+	static MappedTuples write(Path path, Stream<? extends CachedValues> tuples, int segmentSize){
+		try(Writer writer = new Writer(path,segmentSize)){
+			tuples.forEachOrdered(writer::add);
+			writer.finish();
+		}catch(IOException e){
+			deletePartial(path);
+			throw new UncheckedIOException(e);
+		}catch(RuntimeException e){
+			deletePartial(path);
+			throw e;
+		}
+		return open(path);
+	}
+	/**
+	 * @param path File previously created by MappedTuples#write
+	 * @return MappedTuples over the file
+	 */
+	public static MappedTuples open(Path path){
+		try{
+			return new MappedTuples(path);
+		}catch(IOException e){
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @return Number of tuples
+	 */
+	public long size(){
+		return size;
+	}
+	/**
+	 * @return Arity of the stored tuples
+	 */
+	public int arity(){
+		return arity;
+	}
+	/**
+	 * @param column Position (0 based)
+	 * @return boolean.class, int.class, long.class, float.class, double.class or String.class
+	 */
+	public Class<?> columnType(int column){
+		if(column<0 || column>=arity)
+			throw new IndexOutOfBoundsException("Column: "+column+", Arity: "+arity);
+		return TYPES[kinds[column]];
+	}
+	/**
+	 * @param row Row position
+	 * @return Tuple view over the row
+	 */
+	public <T extends CachedValues> T get(long row){
+		if(row<0 || row>=size)
+			throw new IndexOutOfBoundsException("Row: "+row+", Size: "+size);
+		return (T)view(row);
+	}
+	/**
+	 * @return Stream of tuple views over each row, splits evenly for parallel processing.
+	 * 		Call materialise() on a view to copy it's values onto the heap.
+	 */
+	public <T extends CachedValues> Stream<T> stream(){
+		return LongStream.range(0, size).mapToObj(row -> (T)view(row));
+	}
+	/**
+	 * @return SequenceM of tuple views over each row
+	 */
+	public <T extends CachedValues> SequenceM<T> sequence(){
+		return AsAnyM.<T>anyM(this.<T>stream()).asSequence();
+	}
+	@Override
+	public void close(){
+		try{
+			channel.close();
+		}catch(IOException e){
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private Row view(long row){
+		if(rows.length==0)
+			return new Row(this,null,0);
+		return new Row(this,rows[(int)(row/rowsPerSegment)],(int)(row%rowsPerSegment)*rowWidth);
+	}
+	private Object read(ByteBuffer segment, int rowOffset, int column){
+		int position = rowOffset + offsets[column];
+		switch(kinds[column]){
+		case BOOLEAN: return segment.get(position)!=0;
+		case INT: return segment.getInt(position);
+		case LONG: return segment.getLong(position);
+		case FLOAT: return segment.getFloat(position);
+		case DOUBLE: return segment.getDouble(position);
+		default: return string(segment.getLong(position));
+		}
+	}
+	private String string(long offset){
+		if(offset==NULL_STRING)
+			return null;
+		ByteBuffer segment = strings[(int)(offset/segmentSize)];
+		int position = (int)(offset%segmentSize);
+		int length = segment.getInt(position);
+		byte[] bytes = new byte[length];
+		ByteBuffer view = segment.duplicate();
+		view.position(position+4);
+		view.get(bytes);
+		return new String(bytes,StandardCharsets.UTF_8);
+	}
+	private MappedByteBuffer[] map(long start, long length, long segmentLength) throws IOException{
+		int count = length<=0 ? 0 : (int)((length-1)/segmentLength)+1;
+		MappedByteBuffer[] segments = new MappedByteBuffer[count];
+		for(int i=0;i<count;i++){
+			long offset = i*segmentLength;
+			segments[i] = channel.map(MapMode.READ_ONLY,start+offset,Math.min(segmentLength,length-offset));
+		}
+		return segments;
+	}
+	private static void deletePartial(Path path){
+		try{
+			Files.deleteIfExists(path);
+		}catch(IOException e){
+			//the original failure is more useful to the caller
+		}
+	}
+	private static long align(long position){
+		return (position+7) & ~7L;
+	}
+
+	private static final class Row extends RowView<Object,Object,Object,Object,Object,Object,Object,Object>{
+		private final MappedTuples tuples;
+		private final ByteBuffer segment;
+		private final int offset;
+
+		Row(MappedTuples tuples, ByteBuffer segment, int offset){
+			this.tuples = tuples;
+			this.segment = segment;
+			this.offset = offset;
+		}
+		@Override
+		public int arity(){
+			return tuples.arity;
+		}
+		@Override
+		Object read(int index){
+			return tuples.read(segment,offset,index);
+		}
+	}
+
+	/*
+	 * Writes rows to the target file, and Strings to a temporary file that is appended to the rows when all tuples have been written
+	 */
+	private static final class Writer implements Closeable{
+		private final Path path;
+		private final Path stringsPath;
+		private final int segmentSize;
+		private final FileChannel out;
+		private final FileChannel stringsOut;
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(1<<16);
+		private final ByteBuffer stringBuffer = ByteBuffer.allocateDirect(1<<16);
+		private int arity = -1;
+		private byte[] kinds;
+		private int rowWidth;
+		private long size;
+		private long stringEnd;
+
+		Writer(Path path, int segmentSize) throws IOException{
+			this.path = path;
+			this.stringsPath = path.resolveSibling(path.getFileName()+".strings");
+			this.segmentSize = segmentSize;
+			this.out = FileChannel.open(path,StandardOpenOption.CREATE,StandardOpenOption.TRUNCATE_EXISTING,StandardOpenOption.WRITE);
+			this.stringsOut = FileChannel.open(stringsPath,StandardOpenOption.CREATE,StandardOpenOption.TRUNCATE_EXISTING,StandardOpenOption.WRITE,StandardOpenOption.READ);
+		}
+
+		void add(CachedValues tuple){
+			List<Object> values = tuple.getCachedValues();
+			if(arity==-1)
+				start(tuple.arity(),values);
+			else if(tuple.arity()!=arity)
+				throw new IllegalArgumentException("All tuples must have the same arity, expected " + arity + " but got " + tuple.arity());
+			try{
+				ensure(buffer,out,rowWidth);
+				for(int c=0;c<arity;c++)
+					put(c,values.get(c));
+				size++;
+			}catch(IOException e){
+				throw new UncheckedIOException(e);
+			}
+		}
+		void finish() throws IOException{
+			if(arity==-1)
+				start(0,null);
+			flush(buffer,out);
+			flush(stringBuffer,stringsOut);
+			long stringStart = align(out.position());
+			long transferred = 0;
+			while(transferred<stringEnd)
+				transferred += stringsOut.transferTo(transferred,stringEnd-transferred,out.position(stringStart+transferred));
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC).putInt(VERSION).putInt(arity).putInt(rowWidth).putLong(size).putLong(stringStart).putInt(segmentSize).flip();
+			out.write(header,0);
+			out.force(true);
+		}
+		@Override
+		public void close() throws IOException{
+			try{
+				out.close();
+				stringsOut.close();
+			}finally{
+				Files.deleteIfExists(stringsPath);
+			}
+		}
+
+		private void start(int arity, List<Object> values){
+			this.arity = arity;
+			this.kinds = new byte[arity];
+			for(int c=0;c<arity;c++){
+				Object value = values.get(c);
+				kinds[c] = value==null ? STRING : kind(value);
+				rowWidth += WIDTHS[kinds[c]];
+			}
+			if(rowWidth>segmentSize)
+				throw new IllegalArgumentException("Row width " + rowWidth + " exceeds segment size " + segmentSize);
+			ByteBuffer prefix = ByteBuffer.allocate((int)align(HEADER_SIZE+arity));
+			prefix.position(HEADER_SIZE);
+			prefix.put(kinds);
+			prefix.clear();
+			try{
+				out.write(prefix,0);
+				out.position(prefix.capacity());
+			}catch(IOException e){
+				throw new UncheckedIOException(e);
+			}
+		}
+		private byte kind(Object value){
+			if(value instanceof Boolean)
+				return BOOLEAN;
+			if(value instanceof Integer)
+				return INT;
+			if(value instanceof Long)
+				return LONG;
+			if(value instanceof Float)
+				return FLOAT;
+			if(value instanceof Double)
+				return DOUBLE;
+			if(value instanceof String)
+				return STRING;
+			throw new IllegalArgumentException("Unsupported value " + value + ", MappedTuples can store non-null Boolean, Integer, Long, Float and Double values and Strings");
+		}
+		private void put(int column, Object value) throws IOException{
+			if(value!=null || kinds[column]!=STRING){
+				if(kind(value)!=kinds[column])
+					throw new IllegalArgumentException("Expected a " + TYPES[kinds[column]].getSimpleName() + " at position " + column + " but got " + value);
+			}
+			switch(kinds[column]){
+			case BOOLEAN: buffer.put((byte)((Boolean)value ? 1 : 0)); break;
+			case INT: buffer.putInt((Integer)value); break;
+			case LONG: buffer.putLong((Long)value); break;
+			case FLOAT: buffer.putFloat((Float)value); break;
+			case DOUBLE: buffer.putDouble((Double)value); break;
+			default: buffer.putLong(value==null ? NULL_STRING : putString((String)value));
+			}
+		}
+		/*
+		 * Strings never span segments, so they can be read from a single mapped buffer
+		 */
+		private long putString(String value) throws IOException{
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			int length = bytes.length+4;
+			if(length>segmentSize)
+				throw new IllegalArgumentException("String of " + bytes.length + " bytes exceeds segment size " + segmentSize);
+			long remaining = segmentSize - (stringEnd % segmentSize);
+			if(length>remaining){
+				stringEnd += remaining;
+				flush(stringBuffer,stringsOut);
+				stringsOut.position(stringEnd);
+			}
+			long offset = stringEnd;
+			ensure(stringBuffer,stringsOut,4);
+			stringBuffer.putInt(bytes.length);
+			for(int written=0;written<bytes.length;){
+				if(!stringBuffer.hasRemaining())
+					flush(stringBuffer,stringsOut);
+				int chunk = Math.min(stringBuffer.remaining(),bytes.length-written);
+				stringBuffer.put(bytes,written,chunk);
+				written += chunk;
+			}
+			stringEnd += length;
+			return offset;
+		}
+		private static void ensure(ByteBuffer buffer, FileChannel channel, int bytes) throws IOException{
+			if(buffer.remaining()<bytes)
+				flush(buffer,channel);
+		}
+		private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException{
+			buffer.flip();
+			while(buffer.hasRemaining())
+				channel.write(buffer);
+			buffer.clear();
+		}
+	}
+}
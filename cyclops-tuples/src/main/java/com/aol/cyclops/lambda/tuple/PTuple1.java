@@ -1,6 +1,5 @@
 package com.aol.cyclops.lambda.tuple;
 
-import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
@@ -81,7 +80,7 @@ public interface PTuple1<T1> extends CachedValues{
 		return (PTuple1)new TupleImpl(tuple1,1);
 	}
 	public static <T1> PTuple1<T1> of(T1 t1){
-		return (PTuple1)new TupleImpl(Arrays.asList(t1),1);
+		return new FieldTuple1<>(t1);
 	}
 
 
@@ -1,7 +1,6 @@
 package com.aol.cyclops.lambda.tuple;
 
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -79,24 +78,22 @@ public interface PTuple2<T1,T2> extends PTuple1<T1>{
 	default <NT1,NT2> PTuple2<NT1,NT2> reorder(Function<PTuple2<T1,T2>,NT1> v1S, Function<PTuple2<T1,T2>,NT2> v2S){
 		
 		PTuple2<T1,T2> host = this;
-			return new TupleImpl(Arrays.asList(),2){
+			return new TupleView(2){
+				private final LazyImmutable<NT1> _1 = LazyImmutable.def("tuple.Reorder");
+				private final LazyImmutable<NT2> _2 = LazyImmutable.def("tuple.Reorder");
 				public NT1 v1(){
-					return v1S.apply(host); 
+					return _1.computeIfAbsent(()->v1S.apply(host)); 
 				}
 				public NT2 v2(){
-					return v2S.apply(host); 
+					return _2.computeIfAbsent(()->v2S.apply(host)); 
 				}
 
 				
 				@Override
-				public List<Object> getCachedValues() {
+				protected List<Object> computeValues() {
 					return Arrays.asList(v1(),v2());
 				}
 
-				@Override
-				public Iterator iterator() {
-					return getCachedValues().iterator();
-				}
 
 				
 			};
@@ -154,14 +151,14 @@ public interface PTuple2<T1,T2> extends PTuple1<T1>{
 		
 		
 		
-		return new Memo2(this);
+		return new Memo2<>(this);
 		
 	}
 	public static <T1,T2> PTuple2<T1,T2> ofTuple(Object tuple2){
 		return (PTuple2)new TupleImpl(tuple2,2);
 	}
 	public static <T1,T2> PTuple2<T1,T2> of(T1 t1, T2 t2){
-		return (PTuple2)new TupleImpl(Arrays.asList(t1,t2),2);
+		return new FieldTuple2<>(t1,t2);
 	}
 
 
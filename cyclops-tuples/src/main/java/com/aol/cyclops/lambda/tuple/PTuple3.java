@@ -1,11 +1,8 @@
 package com.aol.cyclops.lambda.tuple;
 
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.IntStream;
@@ -17,6 +14,8 @@ import com.aol.cyclops.functions.TriFunction;
 import com.aol.cyclops.lambda.tuple.lazymap.LazyMap1PTuple8;
 import com.aol.cyclops.lambda.tuple.lazymap.LazyMap2PTuple8;
 import com.aol.cyclops.lambda.tuple.lazymap.LazyMap3PTuple8;
+import com.aol.cyclops.lambda.tuple.memo.Memo3;
+import com.aol.cyclops.lambda.utils.LazyImmutable;
 
 public interface PTuple3<T1,T2,T3> extends PTuple2<T1,T2> {
 	
@@ -126,26 +125,25 @@ public interface PTuple3<T1,T2,T3> extends PTuple2<T1,T2> {
 	default <NT1,NT2,NT3> PTuple3<NT1,NT2,NT3> reorder(Function<PTuple3<T1,T2,T3>,NT1> v1S, Function<PTuple3<T1,T2,T3>,NT2> v2S,Function<PTuple3<T1,T2,T3>,NT3> v3S){
 			
 		PTuple3<T1,T2,T3> host = this;
-			return new TupleImpl(Arrays.asList(),3){
+			return new TupleView(3){
+				private final LazyImmutable<NT1> _1 = LazyImmutable.def("tuple.Reorder");
+				private final LazyImmutable<NT2> _2 = LazyImmutable.def("tuple.Reorder");
+				private final LazyImmutable<NT3> _3 = LazyImmutable.def("tuple.Reorder");
 				public NT1 v1(){
-					return v1S.apply(host); 
+					return _1.computeIfAbsent(()->v1S.apply(host)); 
 				}
 				public NT2 v2(){
-					return v2S.apply(host); 
+					return _2.computeIfAbsent(()->v2S.apply(host)); 
 				}
 
 				public NT3 v3(){
-					return v3S.apply(host); 
+					return _3.computeIfAbsent(()->v3S.apply(host)); 
 				}
 				@Override
-				public List<Object> getCachedValues() {
+				protected List<Object> computeValues() {
 					return Arrays.asList(v1(),v2(),v3());
 				}
 
-				@Override
-				public Iterator iterator() {
-					return getCachedValues().iterator();
-				}
 
 				
 			};
@@ -179,38 +177,7 @@ public interface PTuple3<T1,T2,T3> extends PTuple2<T1,T2> {
 	default PTuple3<T1,T2,T3> memo(){
 		if(arity()!=3)
 			return (PTuple3)PTuple2.super.memo();
-		PTuple3<T1,T2,T3> host = this;
-		Map<Integer,Object> values = new ConcurrentHashMap<>();
-		
-		return new TupleImpl(Arrays.asList(),3){
-			
-			
-			public T1 v1(){
-				return ( T1)values.computeIfAbsent(new Integer(0), key -> host.v1());
-			}
-
-			public T2 v2(){
-				return ( T2)values.computeIfAbsent(new Integer(1), key -> host.v2());
-			}
-
-			public T3 v3(){
-				return ( T3)values.computeIfAbsent(new Integer(2), key -> host.v3());
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(v1(),v2(),v3());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new Memo3<>(this);
 		
 	}
 	
@@ -218,6 +185,6 @@ public interface PTuple3<T1,T2,T3> extends PTuple2<T1,T2> {
 		return (PTuple3)new TupleImpl(tuple2,3);
 	}
 	public static <T1,T2,T3> PTuple3<T1,T2,T3> of(T1 t1, T2 t2,T3 t3){
-		return (PTuple3)new TupleImpl(Arrays.asList(t1,t2,t3),3);
+		return new FieldTuple3<>(t1,t2,t3);
 	}
 }
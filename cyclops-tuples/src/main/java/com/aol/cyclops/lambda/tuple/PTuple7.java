@@ -1,11 +1,8 @@
 package com.aol.cyclops.lambda.tuple;
 
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
 
@@ -17,6 +14,8 @@ import com.aol.cyclops.lambda.tuple.lazymap.LazyMap4PTuple8;
 import com.aol.cyclops.lambda.tuple.lazymap.LazyMap5PTuple8;
 import com.aol.cyclops.lambda.tuple.lazymap.LazyMap6PTuple8;
 import com.aol.cyclops.lambda.tuple.lazymap.LazyMap7PTuple8;
+import com.aol.cyclops.lambda.tuple.memo.Memo7;
+import com.aol.cyclops.lambda.utils.LazyImmutable;
 
 public interface PTuple7<T1,T2,T3,T4,T5,T6,T7> extends PTuple6<T1,T2,T3,T4,T5,T6> {
 	
@@ -247,42 +246,45 @@ public interface PTuple7<T1,T2,T3,T4,T5,T6,T7> extends PTuple6<T1,T2,T3,T4,T5,T6
 			Function<PTuple7<T1, T2, T3, T4,T5,T6,T7>, NT7> v7S) {
 
 		PTuple7<T1,T2,T3,T4,T5,T6,T7> host = this;
-		return new TupleImpl(Arrays.asList(), 5) {
+		return new TupleView(5) {
+			private final LazyImmutable<NT1> _1 = LazyImmutable.def("tuple.Reorder");
+			private final LazyImmutable<NT2> _2 = LazyImmutable.def("tuple.Reorder");
+			private final LazyImmutable<NT3> _3 = LazyImmutable.def("tuple.Reorder");
+			private final LazyImmutable<NT4> _4 = LazyImmutable.def("tuple.Reorder");
+			private final LazyImmutable<NT5> _5 = LazyImmutable.def("tuple.Reorder");
+			private final LazyImmutable<NT6> _6 = LazyImmutable.def("tuple.Reorder");
+			private final LazyImmutable<NT7> _7 = LazyImmutable.def("tuple.Reorder");
 			public NT1 v1() {
-				return v1S.apply(host);
+				return _1.computeIfAbsent(()->v1S.apply(host));
 			}
 
 			public NT2 v2() {
-				return v2S.apply(host);
+				return _2.computeIfAbsent(()->v2S.apply(host));
 			}
 
 			public NT3 v3() {
-				return v3S.apply(host);
+				return _3.computeIfAbsent(()->v3S.apply(host));
 			}
 
 			public NT4 v4() {
-				return v4S.apply(host);
+				return _4.computeIfAbsent(()->v4S.apply(host));
 			}
 			public NT5 v5() {
-				return v5S.apply(host);
+				return _5.computeIfAbsent(()->v5S.apply(host));
 			}
 
 			public NT6 v6() {
-				return v6S.apply(host);
+				return _6.computeIfAbsent(()->v6S.apply(host));
 			}
 			public NT7 v7() {
-				return v7S.apply(host);
+				return _7.computeIfAbsent(()->v7S.apply(host));
 			}
 
 			@Override
-			public List<Object> getCachedValues() {
+			protected List<Object> computeValues() {
 				return Arrays.asList(v1(), v2(), v3(), v4(),v5(),v6(),v7());
 			}
 
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
 
 		};
 
@@ -290,54 +292,7 @@ public interface PTuple7<T1,T2,T3,T4,T5,T6,T7> extends PTuple6<T1,T2,T3,T4,T5,T6
 	default PTuple7<T1,T2,T3,T4,T5,T6,T7> memo(){
 		if(arity()!=7)
 			return (PTuple7)PTuple6.super.memo();
-		PTuple7<T1,T2,T3,T4,T5,T6,T7> host = this;
-		Map<Integer,Object> values = new ConcurrentHashMap<>();
-		
-		return new TupleImpl(Arrays.asList(),7){
-			
-			
-			public T1 v1(){
-				return ( T1)values.computeIfAbsent(new Integer(0), key -> host.v1());
-			}
-
-			public T2 v2(){
-				return ( T2)values.computeIfAbsent(new Integer(1), key -> host.v2());
-			}
-
-			public T3 v3(){
-				return ( T3)values.computeIfAbsent(new Integer(2), key -> host.v3());
-			}
-
-			public T4 v4(){
-				return ( T4)values.computeIfAbsent(new Integer(3), key -> host.v4());
-			}
-
-			public T5 v5(){
-				return ( T5)values.computeIfAbsent(new Integer(4), key -> host.v5());
-			}
-
-			public T6 v6(){
-				return ( T6)values.computeIfAbsent(new Integer(5), key -> host.v6());
-			}
-
-			public T7 v7(){
-				return ( T7)values.computeIfAbsent(new Integer(6), key -> host.v7());
-			}
-
-
-			
-			@Override
-			public List<Object> getCachedValues() {
-				return Arrays.asList(v1(),v2(),v3(),v4(),v5(),v6(),v7());
-			}
-
-			@Override
-			public Iterator iterator() {
-				return getCachedValues().iterator();
-			}
-
-			
-		};
+		return new Memo7<>(this);
 		
 	}
 	public static <T1,T2,T3,T4,T5,T6,T7> PTuple7<T1,T2,T3,T4,T5,T6,T7> ofTuple(Object tuple7){
@@ -345,6 +300,6 @@ public interface PTuple7<T1,T2,T3,T4,T5,T6,T7> extends PTuple6<T1,T2,T3,T4,T5,T6
 	}
 	public static <T1,T2,T3,T4,T5,T6,T7> PTuple7<T1,T2,T3,T4,T5,T6,T7> of(T1 t1, T2 t2,T3 t3,T4 t4,T5 t5,
 																		T6 t6, T7 t7){
-		return (PTuple7)new TupleImpl(Arrays.asList(t1,t2,t3,t4,t5,t6,t7),7);
+		return new FieldTuple7<>(t1,t2,t3,t4,t5,t6,t7);
 	}
 }
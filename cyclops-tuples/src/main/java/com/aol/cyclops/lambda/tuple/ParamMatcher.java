@@ -1,59 +1,203 @@
 package com.aol.cyclops.lambda.tuple;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Stream;
 
 import com.aol.cyclops.lambda.utils.ExceptionSoftener;
 
-class ParamMatcher {
-
-	public  <T> T create(Class<T> to, int arity, List<Object> values, Throwable t){
-		List<Class> classes = Stream.of(values).map(v->v==null? null : v.getClass())
-							.collect(Collectors.toList());
-		
-		List<Constructor<?>> cons = Stream.of(to.getConstructors())
-				.filter(c -> c.getParameterCount()==arity)
-				.collect(Collectors.toList());
-		
-		for(Constructor<?> c : cons){
-			if(match(c,classes))
-				try {
-					//constructors from successful conversions should be cached
-					return (T)c.newInstance(order(values,c).toArray());
-				} catch (InstantiationException | IllegalAccessException
-						| IllegalArgumentException | InvocationTargetException e) {
-					
-				}
-		}
-		ExceptionSoftener.singleton.factory.getInstance().throwSoftenedException(t);
-		return null;
-	}
-	 private List<Object> order(List<Object> values,Constructor c) {
-		Class[] order = c.getParameterTypes();
-		List<Object> result = new ArrayList<>();
-		for(Class next : order){
-			result.add(find(next,values));
-		}
-		return result;
-		
-	}
-	private Object find(Class next, List<Object> values) {
-		return values.stream().filter(v->v!=null)
-					.filter(v->v.getClass().isAssignableFrom(next))
-					.findFirst().orElse(null);
-	}
-	boolean match(Constructor c, List<Class> values){
-		return values.stream()
-		 	.filter(v->v!=null)
-		 	.map(v->matchFor(v,c))
-		 	.allMatch(t->t);
-		
-	}
-	private boolean matchFor(Class v, Constructor c) {
-		return Stream.of(c.getParameterTypes()).anyMatch(ct->v.isAssignableFrom(ct));
+/**
+ * Converts tuple values into instances of a target class via its constructors (see CachedValues#to)
+ *
+ * Constructors are resolved once per target class and arity, and held as MethodHandles that accept the tuple values as an Object[],
+ * with any casting / unboxing to the declared parameter types built in. Values are checked against the (cached) parameter types of the first
+ * constructor before it is invoked. If they don't fit in declared order, a constructor whose parameters accept the values in a different order
+ * is looked up, and the reordering is also cached (keyed by the classes of the values) - so each subsequent conversion is a type check and a
+ * single MethodHandle invocation. Exceptions thrown by constructors are rethrown as is.
+ *
+ * @author johnmcclean
+ *
+ */
+final class ParamMatcher {
+
+	private static final ClassValue<ConcurrentMap<Integer,Conversion>> conversions = new ClassValue<ConcurrentMap<Integer,Conversion>>(){
+		@Override
+		protected ConcurrentMap<Integer, Conversion> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+	private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+	private ParamMatcher(){}
+
+	/**
+	 * @param to Class to create
+	 * @param arity Number of constructor parameters
+	 * @param values Values to pass to the constructor
+	 * @return new instance of to
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T create(Class<T> to, int arity, List<Object> values){
+		return (T)conversions.get(to).computeIfAbsent(arity,a->new Conversion(to,a)).create(values.toArray());
+	}
+
+	static final class Conversion{
+		private final Class<?> to;
+		private final Constructor<?>[] candidates;
+		private final Class<?>[] params;
+		private final Class<?>[] wrapped;
+		private final MethodHandle direct;
+		private final ConcurrentMap<List<Class<?>>,MethodHandle> reorderings = new ConcurrentHashMap<>();
+		private volatile Reordered last;
+
+		Conversion(Class<?> to, int arity){
+			this.to = to;
+			this.candidates = Stream.of(to.getConstructors())
+									.filter(c -> c.getParameterCount()==arity)
+									.toArray(Constructor[]::new);
+			this.params = candidates.length==0 ? new Class[0] : candidates[0].getParameterTypes();
+			this.wrapped = Stream.of(params).map(ParamMatcher::wrap).toArray(Class[]::new);
+			this.direct = candidates.length==0 ? null : spread(candidates[0],identity(arity));
+		}
+
+		Object create(Object[] values){
+			if(direct==null)
+				throw new NoSuchElementException("No public constructor with " + values.length + " parameters on " + to.getName());
+			MethodHandle handle = fits(values) ? direct : reordered(values);
+			try{
+				return handle.invokeExact(values);
+			}catch(Throwable t){
+				ExceptionSoftener.singleton.factory.getInstance().throwSoftenedException(t);
+				return null;
+			}
+		}
+		private boolean fits(Object[] values){
+			if(values.length!=params.length)
+				return false;
+			for(int i=0;i<values.length;i++){
+				if(!accepts(params[i],wrapped[i],values[i]))
+					return false;
+			}
+			return true;
+		}
+		private MethodHandle reordered(Object[] values){
+			Reordered current = last;
+			if(current!=null && current.matches(values))
+				return current.handle;
+			Class<?>[] signature = signature(values);
+			MethodHandle handle = reorderings.computeIfAbsent(Arrays.asList(signature),s->match(values));
+			if(handle==null)
+				throw new ClassCastException("No public constructor on " + to.getName() + " accepts values of " + Arrays.toString(signature));
+			last = new Reordered(signature,handle);
+			return handle;
+		}
+		private MethodHandle match(Object[] values){
+			for(Constructor<?> c : candidates){
+				int[] order = order(c.getParameterTypes(),values);
+				if(order!=null)
+					return spread(c,order);
+			}
+			return null;
+		}
+	}
+
+	/*
+	 * The most recently used reordering, checked before looking up the signature of the values
+	 */
+	private static final class Reordered{
+		private final Class<?>[] signature;
+		private final MethodHandle handle;
+
+		Reordered(Class<?>[] signature, MethodHandle handle){
+			this.signature = signature;
+			this.handle = handle;
+		}
+		boolean matches(Object[] values){
+			if(values.length!=signature.length)
+				return false;
+			for(int i=0;i<values.length;i++){
+				if((values[i]==null ? null : values[i].getClass())!=signature[i])
+					return false;
+			}
+			return true;
+		}
+	}
+
+	/*
+	 * For each constructor parameter, the index of the first unused value that can be assigned to it
+	 * (nulls are assigned to the first free reference type parameter), or null if there is no complete match
+	 */
+	private static int[] order(Class<?>[] params, Object[] values){
+		if(params.length!=values.length)
+			return null;
+		int[] order = new int[params.length];
+		boolean[] used = new boolean[values.length];
+		for(int i=0;i<params.length;i++){
+			Class<?> type = wrap(params[i]);
+			int found = -1;
+			for(int j=0;j<values.length && found==-1;j++){
+				if(!used[j] && values[j]!=null && type.isInstance(values[j]))
+					found = j;
+			}
+			for(int j=0;j<values.length && found==-1 && !params[i].isPrimitive();j++){
+				if(!used[j] && values[j]==null)
+					found = j;
+			}
+			if(found==-1)
+				return null;
+			used[found] = true;
+			order[i] = found;
+		}
+		return order;
+	}
+	/*
+	 * Nulls can only be passed to reference type parameters
+	 */
+	private static boolean accepts(Class<?> param, Class<?> wrapped, Object value){
+		return value==null ? !param.isPrimitive() : wrapped.isInstance(value);
+	}
+	private static Class<?> wrap(Class<?> type){
+		return MethodType.methodType(type).wrap().returnType();
+	}
+	private static Class<?>[] signature(Object[] values){
+		Class<?>[] signature = new Class[values.length];
+		for(int i=0;i<values.length;i++)
+			signature[i] = values[i]==null ? null : values[i].getClass();
+		return signature;
+	}
+	private static int[] identity(int arity){
+		int[] order = new int[arity];
+		for(int i=0;i<arity;i++)
+			order[i]=i;
+		return order;
+	}
+	/*
+	 * Adapt a constructor to (Object[])Object, where parameter i is taken from values[order[i]]
+	 */
+	private static MethodHandle spread(Constructor<?> c, int[] order){
+		int arity = order.length;
+		MethodHandle handle = unreflect(c).asType(MethodType.genericMethodType(arity));
+		handle = MethodHandles.permuteArguments(handle, MethodType.genericMethodType(arity), order);
+		return handle.asSpreader(Object[].class, arity);
+	}
+	private static MethodHandle unreflect(Constructor<?> c){
+		try {
+			return lookup.unreflectConstructor(c);
+		} catch (IllegalAccessException e) {
+			c.setAccessible(true);
+			try {
+				return lookup.unreflectConstructor(c);
+			} catch (IllegalAccessException e1) {
+				ExceptionSoftener.singleton.factory.getInstance().throwSoftenedException(e1);
+				return null;
+			}
+		}
 	}
 }
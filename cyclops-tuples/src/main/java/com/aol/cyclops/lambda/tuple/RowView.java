@@ -0,0 +1,77 @@
+package com.aol.cyclops.lambda.tuple;
+
+/**
+ * Base class for tuple views over a row of values stored elsewhere (see TupleBatch and MappedTuples).
+ * 
+ * Values are read from the underlying storage on each access, and are not held by the view. 
+ * materialise() copies the values into a standalone tuple.
+ * 
+ * @author johnmcclean
+ *
+ */
+abstract class RowView<T1,T2,T3,T4,T5,T6,T7,T8> extends FieldTuple<T1,T2,T3,T4,T5,T6,T7,T8>{
+
+	/**
+	 * @param index Position of the value (0 based), known to be within the arity of this row
+	 * @return Value at index
+	 */
+	abstract Object read(int index);
+	
+	@Override
+	Object value(int index){
+		if(index<0 || index>=arity())
+			throw new IndexOutOfBoundsException("Index: "+index+", Size: "+arity());
+		return read(index);
+	}
+	private Object checked(int index){
+		if(index>=arity())
+			throw new ClassCastException("Attempt to upscale to com.aol.cyclops.lambda.tuple.PTuple" + (index+1) + " from com.aol.cyclops.lambda.tuple.Tuple"+arity());
+		return read(index);
+	}
+	@Override
+	public T1 v1(){
+		return (T1)checked(0);
+	}
+	@Override
+	public T2 v2(){
+		return (T2)checked(1);
+	}
+	@Override
+	public T3 v3(){
+		return (T3)checked(2);
+	}
+	@Override
+	public T4 v4(){
+		return (T4)checked(3);
+	}
+	@Override
+	public T5 v5(){
+		return (T5)checked(4);
+	}
+	@Override
+	public T6 v6(){
+		return (T6)checked(5);
+	}
+	@Override
+	public T7 v7(){
+		return (T7)checked(6);
+	}
+	@Override
+	public T8 v8(){
+		return (T8)checked(7);
+	}
+	@Override
+	public <T extends CachedValues> T materialise(){
+		return (T)FieldTuple.of(getCachedValues(),arity());
+	}
+	@Override
+	public boolean equals(Object obj){
+		if(obj!=null && obj.getClass()==getClass() && ((RowView)obj).arity()!=arity())
+			return false;
+		return super.equals(obj);
+	}
+	@Override
+	public int hashCode(){
+		return super.hashCode();
+	}
+}
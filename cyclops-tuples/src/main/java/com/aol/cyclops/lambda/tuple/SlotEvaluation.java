@@ -0,0 +1,109 @@
+package com.aol.cyclops.lambda.tuple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Evaluates every slot of a (potentially lazy) tuple concurrently, see CachedValues#evaluateAllAsync and CachedValues#evaluateAllForkJoin
+ * 
+ * Each slot is read via it's own accessor (v1() .. v8()), so lazily mapped or memoised slots compute independently of one another
+ * (concatenated tuples read each slot from the tuple it came from). An Executor or pool that rejects a task results in a failed future.
+ * 
+ * @author johnmcclean
+ *
+ */
+final class SlotEvaluation {
+
+	private SlotEvaluation(){}
+	
+	static <T extends CachedValues> CompletableFuture<T> async(CachedValues tuple, Executor executor){
+		int arity = tuple.arity();
+		CompletableFuture<?>[] slots = new CompletableFuture[arity];
+		for(int i=0;i<arity;i++){
+			int index = i;
+			try{
+				slots[i] = CompletableFuture.supplyAsync(()->value(tuple,index),executor);
+			}catch(RejectedExecutionException e){
+				CompletableFuture<Object> rejected = new CompletableFuture<>();
+				rejected.completeExceptionally(e);
+				slots[i] = rejected;
+			}
+		}
+		return CompletableFuture.allOf(slots).thenApply(done -> {
+			Object[] values = new Object[arity];
+			for(int i=0;i<arity;i++)
+				values[i] = slots[i].join();
+			return (T)FieldTuple.of(Arrays.asList(values),arity);
+		});
+	}
+	static <T extends CachedValues> CompletableFuture<T> forkJoin(CachedValues tuple, ForkJoinPool pool){
+		CompletableFuture<T> result = new CompletableFuture<>();
+		try{
+			pool.execute(new RecursiveAction(){
+				@Override
+				protected void compute() {
+					int arity = tuple.arity();
+					List<Slot> slots = new ArrayList<>(arity);
+					for(int i=0;i<arity;i++)
+						slots.add(new Slot(tuple,i));
+					try{
+						ForkJoinTask.invokeAll(slots);
+						Object[] values = new Object[arity];
+						for(int i=0;i<arity;i++)
+							values[i] = slots.get(i).join();
+						result.complete((T)FieldTuple.of(Arrays.asList(values),arity));
+					}catch(Throwable t){
+						result.completeExceptionally(t);
+					}
+				}
+			});
+		}catch(RejectedExecutionException e){
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+	
+	private static final class Slot extends RecursiveTask<Object>{
+		private final CachedValues tuple;
+		private final int index;
+		
+		Slot(CachedValues tuple, int index){
+			this.tuple = tuple;
+			this.index = index;
+		}
+		@Override
+		protected Object compute() {
+			return value(tuple,index);
+		}
+	}
+	
+	/**
+	 * @param tuple Tuple to read from
+	 * @param index Position of the value
+	 * @return Value read via it's own accessor, where the tuple has one
+	 */
+	static Object value(CachedValues tuple, int index){
+		if(!(tuple instanceof PTuple8))
+			return tuple.getCachedValues().get(index);
+		PTuple8 t = (PTuple8)tuple;
+		switch(index){
+		case 0: return t.v1();
+		case 1: return t.v2();
+		case 2: return t.v3();
+		case 3: return t.v4();
+		case 4: return t.v5();
+		case 5: return t.v6();
+		case 6: return t.v7();
+		case 7: return t.v8();
+		default: return tuple.getCachedValues().get(index);
+		}
+	}
+}
@@ -0,0 +1,566 @@
+package com.aol.cyclops.lambda.tuple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.aol.cyclops.lambda.api.Monoid;
+
+/**
+ * A batch of tuples of the same arity, stored column by column.
+ *
+ * Each column is held in a single array - int[], long[] or double[] where every value in the column is an Integer, Long or Double
+ * respectively, and Object[] otherwise. Column operations (map, filter, reduce) run as loops over those arrays, without creating a tuple per row.
+ *
+ * <pre>{@code
+ * 	TupleBatch batch = Stream.of(tuple("a",1),tuple("b",2),tuple("c",3))
+ * 								.collect(TupleBatch.collector());
+ *
+ *  batch.filterInt(1, i->i>1)
+ *  	 .reduceInt(1, 0, (a,b)->a+b);
+ *  //5
+ *
+ *  batch.stream().map(PTuple2::v1).collect(Collectors.toList());
+ *  //[a, b, c]
+ * }</pre>
+ *
+ * Column positions are 0 based (as for getCachedValues()). Batches are immutable, column operations return a new batch
+ * that shares any unchanged columns.
+ *
+ * @author johnmcclean
+ *
+ */
+public final class TupleBatch {
+
+	private static final byte OBJECT=0, INT=1, LONG=2, DOUBLE=3;
+
+	private final int arity;
+	private final int size;
+	private final byte[] kinds;
+	private final Object[] columns;
+
+	private TupleBatch(int arity, int size, byte[] kinds, Object[] columns){
+		this.arity = arity;
+		this.size = size;
+		this.kinds = kinds;
+		this.columns = columns;
+	}
+
+	/**
+	 * @return Collector that stores a Stream of tuples in a TupleBatch
+	 */
+	public static <T extends CachedValues> Collector<T,?,TupleBatch> collector(){
+		return Collector.<T,Builder,TupleBatch>of(Builder::new,Builder::add,Builder::addAll,Builder::build);
+	}
+	/**
+	 * @param tuples Tuples to store
+	 * @return TupleBatch holding the values of the supplied tuples
+	 */
+	public static <T extends CachedValues> TupleBatch of(Stream<T> tuples){
+		return tuples.collect(collector());
+	}
+
+	/**
+	 * @return Number of rows
+	 */
+	public int size(){
+		return size;
+	}
+	/**
+	 * @return Number of columns
+	 */
+	public int arity(){
+		return arity;
+	}
+	/**
+	 * @param column Column position
+	 * @return int.class, long.class or double.class for primitive columns, Object.class otherwise
+	 */
+	public Class<?> columnType(int column){
+		switch(kind(column)){
+		case INT: return int.class;
+		case LONG: return long.class;
+		case DOUBLE: return double.class;
+		default: return Object.class;
+		}
+	}
+	/**
+	 * @param row Row position
+	 * @return Tuple view of the row, values are read from the batch on access
+	 */
+	public <T extends CachedValues> T get(int row){
+		if(row<0 || row>=size)
+			throw new IndexOutOfBoundsException("Row: "+row+", Size: "+size);
+		return (T)new Row(this,row);
+	}
+	/**
+	 * @return Stream of tuple views over each row, call materialise() on a view to copy it's values out of the batch
+	 */
+	public <T extends CachedValues> Stream<T> stream(){
+		return IntStream.range(0, size).mapToObj(row -> (T)new Row(this,row));
+	}
+
+	/**
+	 * @param column Column position
+	 * @param fn Function to apply to each value of an int column
+	 * @return New batch with the column replaced
+	 */
+	public TupleBatch mapInt(int column, IntUnaryOperator fn){
+		int[] values = ints(column);
+		int[] result = new int[size];
+		for(int i=0;i<size;i++)
+			result[i] = fn.applyAsInt(values[i]);
+		return withColumn(column,INT,result);
+	}
+	/**
+	 * @param column Column position
+	 * @param fn Function to apply to each value of a long column
+	 * @return New batch with the column replaced
+	 */
+	public TupleBatch mapLong(int column, LongUnaryOperator fn){
+		long[] values = longs(column);
+		long[] result = new long[size];
+		for(int i=0;i<size;i++)
+			result[i] = fn.applyAsLong(values[i]);
+		return withColumn(column,LONG,result);
+	}
+	/**
+	 * @param column Column position
+	 * @param fn Function to apply to each value of a double column
+	 * @return New batch with the column replaced
+	 */
+	public TupleBatch mapDouble(int column, DoubleUnaryOperator fn){
+		double[] values = doubles(column);
+		double[] result = new double[size];
+		for(int i=0;i<size;i++)
+			result[i] = fn.applyAsDouble(values[i]);
+		return withColumn(column,DOUBLE,result);
+	}
+	/**
+	 * @param column Column position
+	 * @param fn Function to apply to each value of the column (primitive values are boxed)
+	 * @return New batch with the column replaced, the new column is primitive if all results are Integers, Longs or Doubles
+	 */
+	public <T,R> TupleBatch map(int column, Function<? super T,? extends R> fn){
+		kind(column);
+		ColumnBuilder result = new ColumnBuilder(size);
+		for(int i=0;i<size;i++)
+			result.add(i,fn.apply((T)value(column,i)));
+		return withColumn(column,result.kind,result.trim(size));
+	}
+
+	/**
+	 * @param column Column position
+	 * @param p Predicate to test each value of an int column
+	 * @return New batch containing only rows whose value matches
+	 */
+	public TupleBatch filterInt(int column, IntPredicate p){
+		int[] values = ints(column);
+		int[] selected = new int[size];
+		int count=0;
+		for(int i=0;i<size;i++){
+			if(p.test(values[i]))
+				selected[count++]=i;
+		}
+		return select(selected,count);
+	}
+	/**
+	 * @param column Column position
+	 * @param p Predicate to test each value of a long column
+	 * @return New batch containing only rows whose value matches
+	 */
+	public TupleBatch filterLong(int column, LongPredicate p){
+		long[] values = longs(column);
+		int[] selected = new int[size];
+		int count=0;
+		for(int i=0;i<size;i++){
+			if(p.test(values[i]))
+				selected[count++]=i;
+		}
+		return select(selected,count);
+	}
+	/**
+	 * @param column Column position
+	 * @param p Predicate to test each value of a double column
+	 * @return New batch containing only rows whose value matches
+	 */
+	public TupleBatch filterDouble(int column, DoublePredicate p){
+		double[] values = doubles(column);
+		int[] selected = new int[size];
+		int count=0;
+		for(int i=0;i<size;i++){
+			if(p.test(values[i]))
+				selected[count++]=i;
+		}
+		return select(selected,count);
+	}
+	/**
+	 * @param column Column position
+	 * @param p Predicate to test each value of the column (primitive values are boxed)
+	 * @return New batch containing only rows whose value matches
+	 */
+	public <T> TupleBatch filter(int column, Predicate<? super T> p){
+		kind(column);
+		int[] selected = new int[size];
+		int count=0;
+		for(int i=0;i<size;i++){
+			if(p.test((T)value(column,i)))
+				selected[count++]=i;
+		}
+		return select(selected,count);
+	}
+
+	/**
+	 * @param column Column position
+	 * @param zero Identity value
+	 * @param fn Function to combine values of an int column
+	 * @return Reduced value
+	 */
+	public int reduceInt(int column, int zero, IntBinaryOperator fn){
+		int[] values = ints(column);
+		int result = zero;
+		for(int i=0;i<size;i++)
+			result = fn.applyAsInt(result,values[i]);
+		return result;
+	}
+	/**
+	 * @param column Column position
+	 * @param zero Identity value
+	 * @param fn Function to combine values of a long column
+	 * @return Reduced value
+	 */
+	public long reduceLong(int column, long zero, LongBinaryOperator fn){
+		long[] values = longs(column);
+		long result = zero;
+		for(int i=0;i<size;i++)
+			result = fn.applyAsLong(result,values[i]);
+		return result;
+	}
+	/**
+	 * @param column Column position
+	 * @param zero Identity value
+	 * @param fn Function to combine values of a double column
+	 * @return Reduced value
+	 */
+	public double reduceDouble(int column, double zero, DoubleBinaryOperator fn){
+		double[] values = doubles(column);
+		double result = zero;
+		for(int i=0;i<size;i++)
+			result = fn.applyAsDouble(result,values[i]);
+		return result;
+	}
+	/**
+	 * @param column Column position
+	 * @param reducer Monoid to reduce the column with (primitive values are boxed)
+	 * @return Reduced value
+	 */
+	public <T> T reduce(int column, Monoid<T> reducer){
+		kind(column);
+		T result = reducer.zero();
+		BiFunction<T,T,T> combiner = reducer.combiner();
+		for(int i=0;i<size;i++)
+			result = combiner.apply(result,(T)value(column,i));
+		return result;
+	}
+	/**
+	 * Reduce each column with the Monoid at the same position
+	 *
+	 * @param reducers Monoids, one per column
+	 * @return Tuple of reduced values
+	 */
+	public <T extends CachedValues> T reduce(List<Monoid> reducers){
+		if(reducers.size()!=arity)
+			throw new IllegalArgumentException("Expected " + arity + " Monoids, one per column, but got " + reducers.size());
+		List<Object> result = new ArrayList<>(arity);
+		for(int i=0;i<arity;i++)
+			result.add(reduce(i,reducers.get(i)));
+		return (T)FieldTuple.of(result,arity);
+	}
+
+	@Override
+	public String toString(){
+		return "TupleBatch[arity=" + arity + ", size=" + size + "]";
+	}
+
+	Object value(int column, int row){
+		switch(kinds[column]){
+		case INT: return ((int[])columns[column])[row];
+		case LONG: return ((long[])columns[column])[row];
+		case DOUBLE: return ((double[])columns[column])[row];
+		default: return ((Object[])columns[column])[row];
+		}
+	}
+	private byte kind(int column){
+		if(column<0 || column>=arity)
+			throw new IndexOutOfBoundsException("Column: "+column+", Arity: "+arity);
+		return kinds[column];
+	}
+	private int[] ints(int column){
+		checkKind(column,INT);
+		return (int[])columns[column];
+	}
+	private long[] longs(int column){
+		checkKind(column,LONG);
+		return (long[])columns[column];
+	}
+	private double[] doubles(int column){
+		checkKind(column,DOUBLE);
+		return (double[])columns[column];
+	}
+	private void checkKind(int column, byte kind){
+		if(kind(column)!=kind)
+			throw new IllegalArgumentException("Column " + column + " is of type " + columnType(column).getSimpleName());
+	}
+	private TupleBatch withColumn(int column, byte kind, Object values){
+		byte[] newKinds = kinds.clone();
+		Object[] newColumns = columns.clone();
+		newKinds[column] = kind;
+		newColumns[column] = values;
+		return new TupleBatch(arity,size,newKinds,newColumns);
+	}
+	private TupleBatch select(int[] rows, int count){
+		if(count==size)
+			return this;
+		Object[] newColumns = new Object[arity];
+		for(int c=0;c<arity;c++){
+			switch(kinds[c]){
+			case INT:{
+				int[] from = (int[])columns[c];
+				int[] to = new int[count];
+				for(int i=0;i<count;i++)
+					to[i] = from[rows[i]];
+				newColumns[c]=to;
+				break;
+			}
+			case LONG:{
+				long[] from = (long[])columns[c];
+				long[] to = new long[count];
+				for(int i=0;i<count;i++)
+					to[i] = from[rows[i]];
+				newColumns[c]=to;
+				break;
+			}
+			case DOUBLE:{
+				double[] from = (double[])columns[c];
+				double[] to = new double[count];
+				for(int i=0;i<count;i++)
+					to[i] = from[rows[i]];
+				newColumns[c]=to;
+				break;
+			}
+			default:{
+				Object[] from = (Object[])columns[c];
+				Object[] to = new Object[count];
+				for(int i=0;i<count;i++)
+					to[i] = from[rows[i]];
+				newColumns[c]=to;
+			}
+			}
+		}
+		return new TupleBatch(arity,count,kinds,newColumns);
+	}
+
+	/*
+	 * Tuple view of a single row
+	 */
+	private static final class Row extends RowView<Object,Object,Object,Object,Object,Object,Object,Object>{
+		private final TupleBatch batch;
+		private final int row;
+
+		Row(TupleBatch batch, int row){
+			this.batch = batch;
+			this.row = row;
+		}
+		@Override
+		public int arity(){
+			return batch.arity;
+		}
+		@Override
+		Object read(int index){
+			return batch.value(index,row);
+		}
+	}
+
+	/*
+	 * Growable column, starts as a primitive array matching the first value and switches to Object[] if a value doesn't fit
+	 */
+	private static final class ColumnBuilder{
+		byte kind = -1;
+		Object values;
+
+		ColumnBuilder(int capacity){
+			this.values = new Object[Math.max(capacity,1)];
+		}
+
+		void add(int index, Object value){
+			if(kind==-1)
+				start(value);
+			ensureCapacity(index+1);
+			switch(kind){
+			case INT:
+				if(value instanceof Integer){
+					((int[])values)[index] = (Integer)value;
+					return;
+				}
+				break;
+			case LONG:
+				if(value instanceof Long){
+					((long[])values)[index] = (Long)value;
+					return;
+				}
+				break;
+			case DOUBLE:
+				if(value instanceof Double){
+					((double[])values)[index] = (Double)value;
+					return;
+				}
+				break;
+			default:
+				((Object[])values)[index] = value;
+				return;
+			}
+			toObjects(index);
+			((Object[])values)[index] = value;
+		}
+		void addAll(int index, ColumnBuilder other, int count){
+			if(other.kind==-1)
+				return;
+			if(kind==-1){
+				kind = other.kind;
+				values = other.values;
+				return;
+			}
+			ensureCapacity(index+count);
+			if(kind!=other.kind){
+				toObjects(index);
+				other.toObjects(count);
+			}
+			System.arraycopy(other.values, 0, values, index, count);
+		}
+		Object trim(int size){
+			if(kind==-1){
+				kind = OBJECT;
+				return new Object[size];
+			}
+			return length()==size ? values : copy(size);
+		}
+		private void start(Object value){
+			int capacity = length();
+			if(value instanceof Integer){
+				kind = INT;
+				values = new int[capacity];
+			}else if(value instanceof Long){
+				kind = LONG;
+				values = new long[capacity];
+			}else if(value instanceof Double){
+				kind = DOUBLE;
+				values = new double[capacity];
+			}else{
+				kind = OBJECT;
+			}
+		}
+		/*
+		 * Box the first count values into an Object[]
+		 */
+		private void toObjects(int count){
+			if(kind==OBJECT)
+				return;
+			Object[] boxed = new Object[length()];
+			for(int i=0;i<count;i++)
+				boxed[i] = valueAt(i);
+			values = boxed;
+			kind = OBJECT;
+		}
+		private Object valueAt(int i){
+			switch(kind){
+			case INT: return ((int[])values)[i];
+			case LONG: return ((long[])values)[i];
+			case DOUBLE: return ((double[])values)[i];
+			default: return ((Object[])values)[i];
+			}
+		}
+		private void ensureCapacity(int capacity){
+			int length = length();
+			if(capacity>length)
+				values = copy(Math.max(capacity,length*2));
+		}
+		private int length(){
+			switch(kind){
+			case INT: return ((int[])values).length;
+			case LONG: return ((long[])values).length;
+			case DOUBLE: return ((double[])values).length;
+			default: return ((Object[])values).length;
+			}
+		}
+		private Object copy(int length){
+			switch(kind){
+			case INT: return Arrays.copyOf((int[])values,length);
+			case LONG: return Arrays.copyOf((long[])values,length);
+			case DOUBLE: return Arrays.copyOf((double[])values,length);
+			default: return Arrays.copyOf((Object[])values,length);
+			}
+		}
+	}
+
+	/*
+	 * Mutable accumulation state for collector()
+	 */
+	private static final class Builder{
+		private int arity = -1;
+		private int size;
+		private ColumnBuilder[] columns;
+
+		void add(CachedValues tuple){
+			List<Object> values = tuple.getCachedValues();
+			init(tuple.arity());
+			for(int c=0;c<arity;c++)
+				columns[c].add(size,values.get(c));
+			size++;
+		}
+		Builder addAll(Builder other){
+			if(other.arity==-1)
+				return this;
+			init(other.arity);
+			for(int c=0;c<arity;c++)
+				columns[c].addAll(size,other.columns[c],other.size);
+			size += other.size;
+			return this;
+		}
+		TupleBatch build(){
+			if(arity==-1)
+				return new TupleBatch(0,0,new byte[0],new Object[0]);
+			byte[] kinds = new byte[arity];
+			Object[] values = new Object[arity];
+			for(int c=0;c<arity;c++){
+				values[c] = columns[c].trim(size);
+				kinds[c] = columns[c].kind;
+			}
+			return new TupleBatch(arity,size,kinds,values);
+		}
+		private void init(int tupleArity){
+			if(arity==-1){
+				arity = tupleArity;
+				columns = new ColumnBuilder[arity];
+				for(int c=0;c<arity;c++)
+					columns[c] = new ColumnBuilder(16);
+			}
+			else if(arity!=tupleArity)
+				throw new IllegalArgumentException("All tuples in a TupleBatch must have the same arity, expected " + arity + " but got " + tupleArity);
+		}
+	}
+}
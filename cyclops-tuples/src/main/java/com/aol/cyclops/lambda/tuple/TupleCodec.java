@@ -0,0 +1,384 @@
+package com.aol.cyclops.lambda.tuple;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.aol.cyclops.lambda.api.Decomposable;
+import com.aol.cyclops.lambda.api.ReflectionCache;
+import com.aol.cyclops.lambda.utils.ExceptionSoftener;
+
+/**
+ * Compact binary encoding for tuples and Decomposable value objects.
+ *
+ * Each value is written as a one byte tag followed by it's data - ints, longs, shorts and chars as (zig zag) variable length integers,
+ * floats and doubles in fixed width, Strings as UTF-8, tuples and Collections as a length followed by their elements.
+ * Decomposable value objects are written as their field values, preceded the first time each class is seen by a schema (class name and field count)
+ * - later instances of the class refer to the schema by number. Fields are read via MethodHandles resolved once per class, and value objects are recreated
+ * via their constructors (see CachedValues#to). Tuples are decoded as PTuple8 instances of the same arity, Collections as ArrayLists.
+ *
+ * Values are written directly into, and read directly from, the supplied ByteBuffers.
+ * <pre>{@code
+ *  TupleCodec.Encoder encoder = TupleCodec.encoder();
+ *  TupleCodec.Decoder decoder = TupleCodec.decoder();
+ *
+ *  encoder.write(tuple("hello",new Person("bob",42)),buffer);
+ *  buffer.flip();
+ *  PTuple2<String,Person> result = decoder.read(buffer);
+ * }</pre>
+ *
+ * An Encoder / Decoder pair shares schemas across all messages in a stream, so messages must be decoded in the order they were encoded.
+ * If the buffer is too small for a message (BufferOverflowException on write or BufferUnderflowException on read) the buffer position
+ * and the Encoder / Decoder are left as they were before the call, so the call can be retried once the buffer has been drained / refilled.
+ * TupleCodec#write and TupleCodec#read encode and decode self contained messages.
+ *
+ * @author johnmcclean
+ *
+ */
+public final class TupleCodec {
+
+	private static final byte NULL=0, TRUE=1, FALSE=2, BYTE=3, SHORT=4, CHAR=5, INT=6, LONG=7, FLOAT=8, DOUBLE=9,
+								STRING=10, TUPLE=11, COLLECTION=12, VALUE=13, SCHEMA=14;
+
+	private static final ClassValue<Schema> schemas = new ClassValue<Schema>(){
+		@Override
+		protected Schema computeValue(Class<?> type) {
+			return new Schema(type);
+		}
+	};
+
+	private TupleCodec(){}
+
+	/**
+	 * @return Encoder for a stream of messages
+	 */
+	public static Encoder encoder(){
+		return new Encoder();
+	}
+	/**
+	 * @return Decoder for a stream of messages created by a single Encoder
+	 */
+	public static Decoder decoder(){
+		return new Decoder();
+	}
+	/**
+	 * Write a self contained message
+	 *
+	 * @param value Value to write
+	 * @param out Buffer to write to, from it's current position
+	 */
+	public static void write(Object value, ByteBuffer out){
+		new Encoder().write(value, out);
+	}
+	/**
+	 * Read a self contained message
+	 *
+	 * @param in Buffer to read from, from it's current position
+	 * @return Decoded value
+	 */
+	public static <T> T read(ByteBuffer in){
+		return new Decoder().read(in);
+	}
+
+	public static final class Encoder{
+		private final Map<Class<?>,Integer> ids = new HashMap<>();
+		private final List<Class<?>> defined = new ArrayList<>();
+
+		private Encoder(){}
+
+		/**
+		 * @param value Tuple, Decomposable, Collection, String, boxed primitive or null
+		 * @param out Buffer to write to
+		 * @return this Encoder
+		 */
+		public Encoder write(Object value, ByteBuffer out){
+			int position = out.position();
+			int known = defined.size();
+			try{
+				encode(value,out);
+				return this;
+			}catch(BufferOverflowException | IllegalArgumentException e){
+				out.position(position);
+				while(defined.size()>known)
+					ids.remove(defined.remove(defined.size()-1));
+				throw e;
+			}
+		}
+		private void encode(Object value, ByteBuffer out){
+			if(value==null){
+				out.put(NULL);
+			}else if(value instanceof String){
+				out.put(STRING);
+				putString((String)value,out);
+			}else if(value instanceof Integer){
+				out.put(INT);
+				putVarLong(zigZag((Integer)value),out);
+			}else if(value instanceof Long){
+				out.put(LONG);
+				putVarLong(zigZag((Long)value),out);
+			}else if(value instanceof Double){
+				out.put(DOUBLE).putDouble((Double)value);
+			}else if(value instanceof Boolean){
+				out.put((Boolean)value ? TRUE : FALSE);
+			}else if(value instanceof Float){
+				out.put(FLOAT).putFloat((Float)value);
+			}else if(value instanceof Short){
+				out.put(SHORT);
+				putVarLong(zigZag((Short)value),out);
+			}else if(value instanceof Character){
+				out.put(CHAR);
+				putVarLong((Character)value,out);
+			}else if(value instanceof Byte){
+				out.put(BYTE).put((Byte)value);
+			}else if(value instanceof CachedValues){
+				CachedValues tuple = (CachedValues)value;
+				List<Object> values = tuple.getCachedValues();
+				out.put(TUPLE);
+				putVarLong(tuple.arity(),out);
+				for(int i=0;i<tuple.arity();i++)
+					encode(values.get(i),out);
+			}else if(value instanceof Collection){
+				Collection<?> values = (Collection<?>)value;
+				out.put(COLLECTION);
+				putVarLong(values.size(),out);
+				for(Object next : values)
+					encode(next,out);
+			}else if(value instanceof Decomposable){
+				Schema schema = schemas.get(value.getClass());
+				Integer id = ids.get(schema.type);
+				if(id==null){
+					id = defined.size();
+					ids.put(schema.type,id);
+					defined.add(schema.type);
+					out.put(SCHEMA);
+					putVarLong(id,out);
+					putString(schema.type.getName(),out);
+					putVarLong(schema.getters.length,out);
+				}
+				out.put(VALUE);
+				putVarLong(id,out);
+				for(MethodHandle getter : schema.getters)
+					encode(get(getter,value),out);
+			}else{
+				throw new IllegalArgumentException("Can't encode " + value.getClass().getName()
+						+ ", supported types are tuples, Decomposables, Collections, Strings, boxed primitives and null");
+			}
+		}
+	}
+
+	public static final class Decoder{
+		private final List<Schema> defined = new ArrayList<>();
+
+		private Decoder(){}
+
+		/**
+		 * @param in Buffer to read the next value from
+		 * @return Decoded value
+		 */
+		public <T> T read(ByteBuffer in){
+			int position = in.position();
+			int known = defined.size();
+			try{
+				return (T)decode(in);
+			}catch(BufferUnderflowException e){
+				in.position(position);
+				while(defined.size()>known)
+					defined.remove(defined.size()-1);
+				throw e;
+			}
+		}
+		private Object decode(ByteBuffer in){
+			byte tag = in.get();
+			switch(tag){
+			case NULL: return null;
+			case TRUE: return true;
+			case FALSE: return false;
+			case BYTE: return in.get();
+			case SHORT: return (short)unZigZag(getVarLong(in));
+			case CHAR: return (char)getVarLong(in);
+			case INT: return (int)unZigZag(getVarLong(in));
+			case LONG: return unZigZag(getVarLong(in));
+			case FLOAT: return in.getFloat();
+			case DOUBLE: return in.getDouble();
+			case STRING: return getString(in);
+			case TUPLE:{
+				int arity = (int)getVarLong(in);
+				List<Object> values = new ArrayList<>(arity);
+				for(int i=0;i<arity;i++)
+					values.add(decode(in));
+				return FieldTuple.of(values,arity);
+			}
+			case COLLECTION:{
+				int size = (int)getVarLong(in);
+				List<Object> values = new ArrayList<>(size);
+				for(int i=0;i<size;i++)
+					values.add(decode(in));
+				return values;
+			}
+			case SCHEMA:{
+				int id = (int)getVarLong(in);
+				String name = getString(in);
+				int fields = (int)getVarLong(in);
+				if(id!=defined.size())
+					throw new IllegalStateException("Expected schema " + defined.size() + " but got " + id + ", messages must be decoded in the order they were encoded");
+				Schema schema = schemas.get(load(name));
+				if(schema.getters.length!=fields)
+					throw new IllegalStateException(name + " has " + schema.getters.length + " fields, but was encoded with " + fields);
+				defined.add(schema);
+				return decode(in);
+			}
+			case VALUE:{
+				int id = (int)getVarLong(in);
+				if(id>=defined.size())
+					throw new IllegalStateException("Unknown schema " + id + ", messages must be decoded in the order they were encoded");
+				Schema schema = defined.get(id);
+				List<Object> values = new ArrayList<>(schema.getters.length);
+				for(int i=0;i<schema.getters.length;i++)
+					values.add(decode(in));
+				return ParamMatcher.create(schema.type,values.size(),values);
+			}
+			default:
+				throw new IllegalStateException("Unknown tag " + tag + " at position " + (in.position()-1));
+			}
+		}
+		private static Class<?> load(String name){
+			try {
+				Class<?> type = Class.forName(name,false,TupleCodec.class.getClassLoader());
+				if(!Decomposable.class.isAssignableFrom(type))
+					throw new IllegalStateException(name + " is not Decomposable");
+				return type;
+			} catch (ClassNotFoundException e) {
+				ExceptionSoftener.singleton.factory.getInstance().throwSoftenedException(e);
+				return null;
+			}
+		}
+	}
+
+	/*
+	 * Field getters for a Decomposable class, in the same order as TupleWrapper#values
+	 */
+	private static final class Schema{
+		private final Class<?> type;
+		private final MethodHandle[] getters;
+
+		Schema(Class<?> type){
+			this.type = type;
+			List<Field> fields = ReflectionCache.getFields(type);
+			this.getters = new MethodHandle[fields.size()];
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			for(int i=0;i<getters.length;i++){
+				try {
+					getters[i] = lookup.unreflectGetter(fields.get(i)).asType(MethodType.methodType(Object.class,Object.class));
+				} catch (IllegalAccessException e) {
+					ExceptionSoftener.singleton.factory.getInstance().throwSoftenedException(e);
+				}
+			}
+		}
+	}
+	private static Object get(MethodHandle getter, Object value){
+		try {
+			return getter.invokeExact(value);
+		} catch (Throwable t) {
+			ExceptionSoftener.singleton.factory.getInstance().throwSoftenedException(t);
+			return null;
+		}
+	}
+
+	private static long zigZag(long value){
+		return (value << 1) ^ (value >> 63);
+	}
+	private static long unZigZag(long value){
+		return (value >>> 1) ^ -(value & 1);
+	}
+	private static void putVarLong(long value, ByteBuffer out){
+		while((value & ~0x7FL)!=0){
+			out.put((byte)((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.put((byte)value);
+	}
+	private static long getVarLong(ByteBuffer in){
+		long result = 0;
+		for(int shift=0;shift<64;shift+=7){
+			byte b = in.get();
+			result |= (long)(b & 0x7F) << shift;
+			if((b & 0x80)==0)
+				return result;
+		}
+		throw new IllegalStateException("Malformed variable length integer at position " + in.position());
+	}
+	/*
+	 * UTF-8 encode directly into the buffer, preceded by the encoded length
+	 */
+	private static void putString(String value, ByteBuffer out){
+		int length = value.length();
+		int bytes = 0;
+		for(int i=0;i<length;i++){
+			char c = value.charAt(i);
+			if(c<0x80)
+				bytes += 1;
+			else if(c<0x800)
+				bytes += 2;
+			else if(Character.isHighSurrogate(c) && i+1<length && Character.isLowSurrogate(value.charAt(i+1))){
+				bytes += 4;
+				i++;
+			}
+			else
+				bytes += 3;
+		}
+		putVarLong(bytes,out);
+		if(out.remaining()<bytes)
+			throw new BufferOverflowException();
+		for(int i=0;i<length;i++){
+			char c = value.charAt(i);
+			if(c<0x80){
+				out.put((byte)c);
+			}else if(c<0x800){
+				out.put((byte)(0xC0 | (c >> 6)));
+				out.put((byte)(0x80 | (c & 0x3F)));
+			}else if(Character.isHighSurrogate(c) && i+1<length && Character.isLowSurrogate(value.charAt(i+1))){
+				int cp = Character.toCodePoint(c,value.charAt(++i));
+				out.put((byte)(0xF0 | (cp >> 18)));
+				out.put((byte)(0x80 | ((cp >> 12) & 0x3F)));
+				out.put((byte)(0x80 | ((cp >> 6) & 0x3F)));
+				out.put((byte)(0x80 | (cp & 0x3F)));
+			}else{
+				out.put((byte)(0xE0 | (c >> 12)));
+				out.put((byte)(0x80 | ((c >> 6) & 0x3F)));
+				out.put((byte)(0x80 | (c & 0x3F)));
+			}
+		}
+	}
+	private static String getString(ByteBuffer in){
+		int bytes = (int)getVarLong(in);
+		if(in.remaining()<bytes)
+			throw new BufferUnderflowException();
+		char[] chars = new char[bytes];
+		int count = 0;
+		int end = in.position()+bytes;
+		while(in.position()<end){
+			int b = in.get() & 0xFF;
+			if(b<0x80){
+				chars[count++] = (char)b;
+			}else if(b<0xE0){
+				chars[count++] = (char)(((b & 0x1F) << 6) | (in.get() & 0x3F));
+			}else if(b<0xF0){
+				chars[count++] = (char)(((b & 0x0F) << 12) | ((in.get() & 0x3F) << 6) | (in.get() & 0x3F));
+			}else{
+				int cp = ((b & 0x07) << 18) | ((in.get() & 0x3F) << 12) | ((in.get() & 0x3F) << 6) | (in.get() & 0x3F);
+				chars[count++] = Character.highSurrogate(cp);
+				chars[count++] = Character.lowSurrogate(cp);
+			}
+		}
+		return new String(chars,0,count);
+	}
+}
@@ -0,0 +1,87 @@
+package com.aol.cyclops.lambda.tuple;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Collector that runs multiple Collectors against a single Stream (see CachedValues#asCollector).
+ * 
+ * The intermediate state is an array holding one container per Collector, each Collector's functions are 
+ * looked up once and applied slot by slot - so accumulation doesn't allocate, and partial results from
+ * parallel Streams are combined container by container.
+ * 
+ * @author johnmcclean
+ *
+ */
+@SuppressWarnings({"rawtypes","unchecked"})
+final class TupleCollector<T,R> implements Collector<T,Object[],R> {
+
+	private final Supplier[] suppliers;
+	private final BiConsumer[] accumulators;
+	private final BinaryOperator[] combiners;
+	private final Function[] finishers;
+	private final Set<Characteristics> characteristics;
+	
+	TupleCollector(List<Collector> collectors){
+		int size = collectors.size();
+		suppliers = new Supplier[size];
+		accumulators = new BiConsumer[size];
+		combiners = new BinaryOperator[size];
+		finishers = new Function[size];
+		Set<Characteristics> shared = EnumSet.of(Characteristics.CONCURRENT,Characteristics.UNORDERED);
+		for(int i=0;i<size;i++){
+			Collector next = collectors.get(i);
+			suppliers[i] = next.supplier();
+			accumulators[i] = next.accumulator();
+			combiners[i] = next.combiner();
+			finishers[i] = next.finisher();
+			shared.retainAll(next.characteristics());
+		}
+		characteristics = Collections.unmodifiableSet(shared);
+	}
+	
+	@Override
+	public Supplier<Object[]> supplier() {
+		return () -> {
+			Object[] containers = new Object[suppliers.length];
+			for(int i=0;i<containers.length;i++)
+				containers[i] = suppliers[i].get();
+			return containers;
+		};
+	}
+	@Override
+	public BiConsumer<Object[], T> accumulator() {
+		return (containers,next) -> {
+			for(int i=0;i<containers.length;i++)
+				accumulators[i].accept(containers[i],next);
+		};
+	}
+	@Override
+	public BinaryOperator<Object[]> combiner() {
+		return (c1,c2) -> {
+			for(int i=0;i<c1.length;i++)
+				c1[i] = combiners[i].apply(c1[i],c2[i]);
+			return c1;
+		};
+	}
+	@Override
+	public Function<Object[], R> finisher() {
+		return containers -> {
+			for(int i=0;i<containers.length;i++)
+				containers[i] = finishers[i].apply(containers[i]);
+			return (R)FieldTuple.of(Arrays.asList(containers),containers.length);
+		};
+	}
+	@Override
+	public Set<Characteristics> characteristics() {
+		return characteristics;
+	}
+}
@@ -45,10 +45,10 @@ public class TupleImpl<T1,T2,T3,T4,T5,T6,T7,T8> implements PTuple8<T1,T2,T3,T4,T
 	@Wither
 	private final  int arity;
 	
-	private final List<Object> empty = Arrays.asList();
+	private static final List<Object> EMPTY = Arrays.asList();
 	public TupleImpl(int arity){
 		this.arity = arity;
-		this.cachedValues = empty;
+		this.cachedValues = EMPTY;
 		this.instance=null;
 	}
 	public TupleImpl(Object tuple){
@@ -0,0 +1,70 @@
+package com.aol.cyclops.lambda.tuple;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+import com.aol.cyclops.lambda.api.Monoid;
+
+/**
+ * Monoid that reduces with multiple Monoids simultaneously (see CachedValues#asReducer).
+ * 
+ * Combining a reduced tuple with a single value tuple (e.g. created by CachedValues::of) applies each Monoid to the value,
+ * combining two reduced tuples (e.g. partial results from a parallel Stream) applies each Monoid slot by slot.
+ * mapReduce reduces into an array, one slot per Monoid, without creating intermediate tuples.
+ * 
+ * @author johnmcclean
+ *
+ */
+@SuppressWarnings({"rawtypes","unchecked"})
+final class TupleReducer implements Monoid<CachedValues> {
+
+	private final Object[] zeros;
+	private final BiFunction[] combiners;
+	
+	TupleReducer(List<Monoid> reducers){
+		zeros = new Object[reducers.size()];
+		combiners = new BiFunction[reducers.size()];
+		for(int i=0;i<zeros.length;i++){
+			zeros[i] = reducers.get(i).zero();
+			combiners[i] = reducers.get(i).combiner();
+		}
+	}
+	
+	@Override
+	public CachedValues zero() {
+		return tuple(zeros.clone());
+	}
+	@Override
+	public BiFunction<CachedValues, CachedValues, CachedValues> combiner() {
+		return (c1,c2) -> {
+			List<Object> values = c2.getCachedValues();
+			boolean single = values.size()==1;
+			Object[] result = c1.getCachedValues().toArray();
+			for(int i=0;i<combiners.length;i++)
+				result[i] = combiners[i].apply(result[i],single ? values.get(0) : values.get(i));
+			return tuple(result);
+		};
+	}
+	@Override
+	public Stream<CachedValues> mapToType(Stream stream) {
+		return (Stream) stream.map(CachedValues::of);
+	}
+	@Override
+	public CachedValues mapReduce(Stream toReduce) {
+		Object[] result = ((Stream<Object>)toReduce).collect(() -> zeros.clone(),
+				(acc,next) -> {
+					for(int i=0;i<acc.length;i++)
+						acc[i] = combiners[i].apply(acc[i],next);
+				},
+				(acc1,acc2) -> {
+					for(int i=0;i<acc1.length;i++)
+						acc1[i] = combiners[i].apply(acc1[i],acc2[i]);
+				});
+		return tuple(result);
+	}
+	private static CachedValues tuple(Object[] values){
+		return FieldTuple.of(Arrays.asList(values),values.length);
+	}
+}
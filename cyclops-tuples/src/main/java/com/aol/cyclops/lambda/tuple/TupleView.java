@@ -0,0 +1,99 @@
+package com.aol.cyclops.lambda.tuple;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Base class for tuples that are lazily derived from other tuples (concatenated, swapped, reordered or lazily mapped).
+ * 
+ * The derived values are computed by computeValues once, on first full access (getCachedValues, iteration, equality etc),
+ * and held from then on - so reads through a chain of derived tuples don't repeat the work of each layer. 
+ * Accessors for individual values may continue to compute lazily until then.
+ * 
+ * Use materialise() to eagerly flatten a chain of derived tuples into a tuple that holds it's own values.
+ * 
+ * Views only hold their arity and (once computed) their values, equality and hash codes are those of the List of values as for TupleImpl.
+ * 
+ * @author johnmcclean
+ *
+ */
+public abstract class TupleView<T1,T2,T3,T4,T5,T6,T7,T8> implements PTuple8<T1,T2,T3,T4,T5,T6,T7,T8>{
+
+	private final int arity;
+	private volatile List<Object> values;
+	
+	public TupleView(int arity){
+		this.arity = arity;
+	}
+	
+	/**
+	 * @return Values of this tuple, called at most once
+	 */
+	protected abstract List<Object> computeValues();
+	
+	@Override
+	public List<Object> getCachedValues() {
+		List<Object> result = values;
+		if(result==null){
+			synchronized(this){
+				result = values;
+				if(result==null)
+					values = result = Collections.unmodifiableList(computeValues());
+			}
+		}
+		return result;
+	}
+	/**
+	 * @return true if the values of this tuple have been computed
+	 */
+	protected boolean isMaterialised(){
+		return values!=null;
+	}
+	/**
+	 * @param index Position of value
+	 * @return Computed value, only valid if isMaterialised
+	 */
+	protected Object value(int index){
+		return values.get(index);
+	}
+	@Override
+	public Iterator iterator() {
+		return getCachedValues().iterator();
+	}
+	@Override
+	public int arity(){
+		return arity;
+	}
+	@Override
+	public CachedValues withArity(int arity){
+		if(arity==this.arity)
+			return this;
+		return new TupleImpl(getCachedValues(),arity);
+	}
+	@Override
+	public int compareTo(CachedValues o){
+		return PTuple8.super.compareTo(o);
+	}
+	@Override
+	public Object getMatchable(){
+		return getCachedValues();
+	}
+	@Override
+	public String toString() {
+		return getCachedValues().toString();
+	}
+	@Override
+	public int hashCode() {
+		return Objects.hashCode(getCachedValues());
+	}
+	@Override
+	public boolean equals(Object obj) {
+		if(obj==this)
+			return true;
+		if(!(obj instanceof CachedValues))
+			return false;
+		return getCachedValues().equals( ((CachedValues)obj).getCachedValues());
+	}
+}
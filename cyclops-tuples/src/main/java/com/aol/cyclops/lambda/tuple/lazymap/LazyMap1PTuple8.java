@@ -1,18 +1,22 @@
 package com.aol.cyclops.lambda.tuple.lazymap;
 
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.function.Function;
 
-import com.aol.cyclops.lambda.tuple.PTuple2;
 import com.aol.cyclops.lambda.tuple.PTuple8;
-import com.aol.cyclops.lambda.tuple.TupleImpl;
+import com.aol.cyclops.lambda.tuple.TupleView;
 import com.aol.cyclops.lambda.utils.LazyImmutable;
 
-public class LazyMap1PTuple8<T,T1,T2,T3,T4,T5,T6,T7,T8> extends TupleImpl<T,T2,T3,T4,T5,T6,T7,T8> {
+/**
+ * Tuple with element 1 of the host tuple lazily mapped (and memoised), other elements are read from the host
+ * 
+ * @author johnmcclean
+ *
+ */
+public class LazyMap1PTuple8<T,T1,T2,T3,T4,T5,T6,T7,T8> extends TupleView<T,T2,T3,T4,T5,T6,T7,T8> {
 
-	private final LazyImmutable<T> value = LazyImmutable.def();
+	private final LazyImmutable<T> value = LazyImmutable.def("tuple.LazyMap");
 	private final Function<T1, T> fn;
 	private final PTuple8<T1,T2,T3,T4,T5,T6,T7,T8> host;
 
@@ -22,18 +26,35 @@ public class LazyMap1PTuple8<T,T1,T2,T3,T4,T5,T6,T7,T8> extends TupleImpl<T,T2,T
 		this.fn = fn;
 	}
 	public T v1(){
-			return value.computeIfAbsent(()->fn.apply(host.v1())); 
-		}
-
-	@Override
-	public List<Object> getCachedValues() {
-			return Arrays.asList(v1(),v2());
+		return value.computeIfAbsent(()->fn.apply(host.v1()));
+	}
+	public T2 v2(){
+		return isMaterialised() ? (T2)value(1) : host.v2();
+	}
+	public T3 v3(){
+		return isMaterialised() ? (T3)value(2) : host.v3();
+	}
+	public T4 v4(){
+		return isMaterialised() ? (T4)value(3) : host.v4();
+	}
+	public T5 v5(){
+		return isMaterialised() ? (T5)value(4) : host.v5();
+	}
+	public T6 v6(){
+		return isMaterialised() ? (T6)value(5) : host.v6();
+	}
+	public T7 v7(){
+		return isMaterialised() ? (T7)value(6) : host.v7();
+	}
+	public T8 v8(){
+		return isMaterialised() ? (T8)value(7) : host.v8();
 	}
 
 	@Override
-	public Iterator iterator() {
-			return getCachedValues().iterator();
+	protected List<Object> computeValues() {
+		Object[] values = host.getCachedValues().subList(0,arity()).toArray();
+		if(arity()>=1)
+			values[0] = v1();
+		return Arrays.asList(values);
 	}
-
-		
-};
\ No newline at end of file
+}
@@ -1,39 +1,60 @@
 package com.aol.cyclops.lambda.tuple.lazymap;
 
-import com.aol.cyclops.lambda.tuple.PTuple8;
-import com.aol.cyclops.lambda.tuple.TupleImpl;
-import com.aol.cyclops.lambda.utils.LazyImmutable;
-
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.function.Function;
 
+import com.aol.cyclops.lambda.tuple.PTuple8;
+import com.aol.cyclops.lambda.tuple.TupleView;
+import com.aol.cyclops.lambda.utils.LazyImmutable;
+
 /**
- * Created by johnmcclean on 5/21/15.
+ * Tuple with element 6 of the host tuple lazily mapped (and memoised), other elements are read from the host
+ * 
+ * @author johnmcclean
+ *
  */
-public class LazyMap6PTuple8<T,T1,T2,T3,T4,T5,T6,T7,T8> extends TupleImpl<T1,T2,T3,T4,T5,T,T7,T8> {
-    private final LazyImmutable<T> value = LazyImmutable.def();
-    private final Function<T6, T> fn;
-    private final PTuple8<T1,T2,T3,T4,T5,T6,T7,T8> host;
-    public LazyMap6PTuple8( Function<T6, T> fn,PTuple8<T1,T2,T3,T4,T5,T6,T7,T8> host){
-        super(host.arity());
-        this.host = host;
-        this.fn = fn;
-    }
-    public T v6(){
-        return value.computeIfAbsent(()->fn.apply(host.v6()));
-    }
-
-    @Override
-    public List<Object> getCachedValues() {
-        return Arrays.asList(v1(), v2());
-    }
+public class LazyMap6PTuple8<T,T1,T2,T3,T4,T5,T6,T7,T8> extends TupleView<T1,T2,T3,T4,T5,T,T7,T8> {
 
-    @Override
-    public Iterator iterator() {
-        return getCachedValues().iterator();
-    }
+	private final LazyImmutable<T> value = LazyImmutable.def("tuple.LazyMap");
+	private final Function<T6, T> fn;
+	private final PTuple8<T1,T2,T3,T4,T5,T6,T7,T8> host;
 
+	public LazyMap6PTuple8( Function<T6, T> fn,PTuple8<T1,T2,T3,T4,T5,T6,T7,T8> host){
+		super(host.arity());
+		this.host = host;
+		this.fn = fn;
+	}
+	public T v6(){
+		return value.computeIfAbsent(()->fn.apply(host.v6()));
+	}
+	public T1 v1(){
+		return isMaterialised() ? (T1)value(0) : host.v1();
+	}
+	public T2 v2(){
+		return isMaterialised() ? (T2)value(1) : host.v2();
+	}
+	public T3 v3(){
+		return isMaterialised() ? (T3)value(2) : host.v3();
+	}
+	public T4 v4(){
+		return isMaterialised() ? (T4)value(3) : host.v4();
+	}
+	public T5 v5(){
+		return isMaterialised() ? (T5)value(4) : host.v5();
+	}
+	public T7 v7(){
+		return isMaterialised() ? (T7)value(6) : host.v7();
+	}
+	public T8 v8(){
+		return isMaterialised() ? (T8)value(7) : host.v8();
+	}
 
-}
\ No newline at end of file
+	@Override
+	protected List<Object> computeValues() {
+		Object[] values = host.getCachedValues().subList(0,arity()).toArray();
+		if(arity()>=6)
+			values[5] = v6();
+		return Arrays.asList(values);
+	}
+}
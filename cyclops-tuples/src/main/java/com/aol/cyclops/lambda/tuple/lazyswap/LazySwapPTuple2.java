@@ -1,40 +1,35 @@
 package com.aol.cyclops.lambda.tuple.lazyswap;
 
 import com.aol.cyclops.lambda.tuple.PTuple2;
-import com.aol.cyclops.lambda.tuple.TupleImpl;
+import com.aol.cyclops.lambda.tuple.TupleView;
 
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 
-public class LazySwapPTuple2<T2, T1> extends TupleImpl<T2,T1,Object,Object,Object,Object,Object,Object>{
+public class LazySwapPTuple2<T2, T1> extends TupleView<T2,T1,Object,Object,Object,Object,Object,Object>{
 
 
     private final PTuple2<T1, T2> host;
 
     public LazySwapPTuple2(PTuple2<T1, T2> host) {
-        super(Arrays.asList(), 2);
+        super(2);
         this.host = host;
     }
 
     public T2 v1(){
-        return host.v2();
+        return isMaterialised() ? (T2)value(0) : host.v2();
     }
 
     public T1 v2(){
-        return host.v1();
+        return isMaterialised() ? (T1)value(1) : host.v1();
     }
 
 
     @Override
-    public List<Object> getCachedValues() {
+    protected List<Object> computeValues() {
         return Arrays.asList(v1(), v2());
     }
 
-    @Override
-    public Iterator iterator() {
-        return getCachedValues().iterator();
-    }
 
 
 }
@@ -1,40 +1,42 @@
 package com.aol.cyclops.lambda.tuple.memo;
 
-import com.aol.cyclops.lambda.tuple.PTuple1;
-import com.aol.cyclops.lambda.tuple.TupleImpl;
-
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
-public class Memo1<T1> extends TupleImpl {
-
-
-    private final Map<Integer,Object> values = new ConcurrentHashMap<>();
-    private final PTuple1<T1> host;
-
-    public Memo1(PTuple1<T1> host) {
-        super(Arrays.asList(), 1);
-     
-        this.host = host;
-    }
-
-    public T1 v1(){
-        return ( T1) values.computeIfAbsent(new Integer(0), key -> host.v1());
-    }
-
-
-    @Override
-    public List<Object> getCachedValues() {
-        return Arrays.asList(v1());
-    }
-
-    @Override
-    public Iterator iterator() {
-        return getCachedValues().iterator();
-    }
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
+import com.aol.cyclops.lambda.tuple.PTuple1;
 
-}
\ No newline at end of file
+/**
+ * Tuple that evaluates each value of it's host at most once (see MemoTuple)
+ * 
+ * @author johnmcclean
+ *
+ */
+public class Memo1<T1> extends MemoTuple<T1,Object,Object,Object,Object,Object,Object,Object> {
+
+	private static final AtomicReferenceFieldUpdater<Memo1,Object> SLOT_1 = AtomicReferenceFieldUpdater.newUpdater(Memo1.class,Object.class,"_1");
+
+	private volatile Object _1 = UNSET;
+	private final PTuple1<T1> host;
+
+	public Memo1(PTuple1<T1> host) {
+		super(1);
+		this.host = host;
+	}
+
+	public T1 v1(){
+		return (T1)slot(SLOT_1,0);
+	}
+
+	@Override
+	protected Object evaluate(int index) {
+		switch(index){
+		case 0: return host.v1();
+		default: throw new IndexOutOfBoundsException("Index: "+index+", Size: 1");
+		}
+	}
+	@Override
+	protected List<Object> computeValues() {
+		return Arrays.asList(v1());
+	}
+}
@@ -1,42 +1,48 @@
 package com.aol.cyclops.lambda.tuple.memo;
 
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import com.aol.cyclops.lambda.tuple.PTuple2;
-import com.aol.cyclops.lambda.tuple.TupleImpl;
-
-public class Memo2 <T1,T2> extends TupleImpl{
-	 private final Map<Integer,Object> values = new ConcurrentHashMap<>();
-	    private final PTuple2<T1,T2> host;
-		public Memo2(PTuple2<T1,T2> host){
-			super(Arrays.asList(),2);
-			this.host= host;
-		}
-		
-		
-		public T1 v1(){
-			return ( T1)values.computeIfAbsent(new Integer(0), key -> host.v1());
-		}
-
-		public T2 v2(){
-			return ( T2)values.computeIfAbsent(new Integer(1), key -> host.v2());
-		}
 
-
-		
-		@Override
-		public List<Object> getCachedValues() {
-			return Arrays.asList(v1(),v2());
-		}
-
-		@Override
-		public Iterator iterator() {
-			return getCachedValues().iterator();
+/**
+ * Tuple that evaluates each value of it's host at most once (see MemoTuple)
+ * 
+ * @author johnmcclean
+ *
+ */
+public class Memo2<T1,T2> extends MemoTuple<T1,T2,Object,Object,Object,Object,Object,Object> {
+
+	private static final AtomicReferenceFieldUpdater<Memo2,Object> SLOT_1 = AtomicReferenceFieldUpdater.newUpdater(Memo2.class,Object.class,"_1");
+	private static final AtomicReferenceFieldUpdater<Memo2,Object> SLOT_2 = AtomicReferenceFieldUpdater.newUpdater(Memo2.class,Object.class,"_2");
+
+	private volatile Object _1 = UNSET;
+	private volatile Object _2 = UNSET;
+	private final PTuple2<T1,T2> host;
+
+	public Memo2(PTuple2<T1,T2> host) {
+		super(2);
+		this.host = host;
+	}
+
+	public T1 v1(){
+		return (T1)slot(SLOT_1,0);
+	}
+	public T2 v2(){
+		return (T2)slot(SLOT_2,1);
+	}
+
+	@Override
+	protected Object evaluate(int index) {
+		switch(index){
+		case 0: return host.v1();
+		case 1: return host.v2();
+		default: throw new IndexOutOfBoundsException("Index: "+index+", Size: 2");
 		}
-
-		
-	};
\ No newline at end of file
+	}
+	@Override
+	protected List<Object> computeValues() {
+		return Arrays.asList(v1(),v2());
+	}
+}
@@ -0,0 +1,54 @@
+package com.aol.cyclops.lambda.tuple.memo;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import com.aol.cyclops.lambda.tuple.PTuple3;
+
+/**
+ * Tuple that evaluates each value of it's host at most once (see MemoTuple)
+ * 
+ * @author johnmcclean
+ *
+ */
+public class Memo3<T1,T2,T3> extends MemoTuple<T1,T2,T3,Object,Object,Object,Object,Object> {
+
+	private static final AtomicReferenceFieldUpdater<Memo3,Object> SLOT_1 = AtomicReferenceFieldUpdater.newUpdater(Memo3.class,Object.class,"_1");
+	private static final AtomicReferenceFieldUpdater<Memo3,Object> SLOT_2 = AtomicReferenceFieldUpdater.newUpdater(Memo3.class,Object.class,"_2");
+	private static final AtomicReferenceFieldUpdater<Memo3,Object> SLOT_3 = AtomicReferenceFieldUpdater.newUpdater(Memo3.class,Object.class,"_3");
+
+	private volatile Object _1 = UNSET;
+	private volatile Object _2 = UNSET;
+	private volatile Object _3 = UNSET;
+	private final PTuple3<T1,T2,T3> host;
+
+	public Memo3(PTuple3<T1,T2,T3> host) {
+		super(3);
+		this.host = host;
+	}
+
+	public T1 v1(){
+		return (T1)slot(SLOT_1,0);
+	}
+	public T2 v2(){
+		return (T2)slot(SLOT_2,1);
+	}
+	public T3 v3(){
+		return (T3)slot(SLOT_3,2);
+	}
+
+	@Override
+	protected Object evaluate(int index) {
+		switch(index){
+		case 0: return host.v1();
+		case 1: return host.v2();
+		case 2: return host.v3();
+		default: throw new IndexOutOfBoundsException("Index: "+index+", Size: 3");
+		}
+	}
+	@Override
+	protected List<Object> computeValues() {
+		return Arrays.asList(v1(),v2(),v3());
+	}
+}
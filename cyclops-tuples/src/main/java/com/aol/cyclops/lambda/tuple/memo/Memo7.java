@@ -0,0 +1,78 @@
+package com.aol.cyclops.lambda.tuple.memo;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import com.aol.cyclops.lambda.tuple.PTuple7;
+
+/**
+ * Tuple that evaluates each value of it's host at most once (see MemoTuple)
+ * 
+ * @author johnmcclean
+ *
+ */
+public class Memo7<T1,T2,T3,T4,T5,T6,T7> extends MemoTuple<T1,T2,T3,T4,T5,T6,T7,Object> {
+
+	private static final AtomicReferenceFieldUpdater<Memo7,Object> SLOT_1 = AtomicReferenceFieldUpdater.newUpdater(Memo7.class,Object.class,"_1");
+	private static final AtomicReferenceFieldUpdater<Memo7,Object> SLOT_2 = AtomicReferenceFieldUpdater.newUpdater(Memo7.class,Object.class,"_2");
+	private static final AtomicReferenceFieldUpdater<Memo7,Object> SLOT_3 = AtomicReferenceFieldUpdater.newUpdater(Memo7.class,Object.class,"_3");
+	private static final AtomicReferenceFieldUpdater<Memo7,Object> SLOT_4 = AtomicReferenceFieldUpdater.newUpdater(Memo7.class,Object.class,"_4");
+	private static final AtomicReferenceFieldUpdater<Memo7,Object> SLOT_5 = AtomicReferenceFieldUpdater.newUpdater(Memo7.class,Object.class,"_5");
+	private static final AtomicReferenceFieldUpdater<Memo7,Object> SLOT_6 = AtomicReferenceFieldUpdater.newUpdater(Memo7.class,Object.class,"_6");
+	private static final AtomicReferenceFieldUpdater<Memo7,Object> SLOT_7 = AtomicReferenceFieldUpdater.newUpdater(Memo7.class,Object.class,"_7");
+
+	private volatile Object _1 = UNSET;
+	private volatile Object _2 = UNSET;
+	private volatile Object _3 = UNSET;
+	private volatile Object _4 = UNSET;
+	private volatile Object _5 = UNSET;
+	private volatile Object _6 = UNSET;
+	private volatile Object _7 = UNSET;
+	private final PTuple7<T1,T2,T3,T4,T5,T6,T7> host;
+
+	public Memo7(PTuple7<T1,T2,T3,T4,T5,T6,T7> host) {
+		super(7);
+		this.host = host;
+	}
+
+	public T1 v1(){
+		return (T1)slot(SLOT_1,0);
+	}
+	public T2 v2(){
+		return (T2)slot(SLOT_2,1);
+	}
+	public T3 v3(){
+		return (T3)slot(SLOT_3,2);
+	}
+	public T4 v4(){
+		return (T4)slot(SLOT_4,3);
+	}
+	public T5 v5(){
+		return (T5)slot(SLOT_5,4);
+	}
+	public T6 v6(){
+		return (T6)slot(SLOT_6,5);
+	}
+	public T7 v7(){
+		return (T7)slot(SLOT_7,6);
+	}
+
+	@Override
+	protected Object evaluate(int index) {
+		switch(index){
+		case 0: return host.v1();
+		case 1: return host.v2();
+		case 2: return host.v3();
+		case 3: return host.v4();
+		case 4: return host.v5();
+		case 5: return host.v6();
+		case 6: return host.v7();
+		default: throw new IndexOutOfBoundsException("Index: "+index+", Size: 7");
+		}
+	}
+	@Override
+	protected List<Object> computeValues() {
+		return Arrays.asList(v1(),v2(),v3(),v4(),v5(),v6(),v7());
+	}
+}
@@ -0,0 +1,128 @@
+package com.aol.cyclops.lambda.tuple.memo;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import com.aol.cyclops.lambda.metrics.CacheMetrics;
+import com.aol.cyclops.lambda.metrics.Metrics;
+import com.aol.cyclops.lambda.tuple.TupleView;
+
+/**
+ * Base class for memoised tuples. Each value is held in a volatile field of the subclass (a slot), 
+ * that is claimed with a CAS by the first reader - which evaluates the value exactly once and publishes it. 
+ * Concurrent readers of a slot being evaluated park until it's value is published, a host value that reads the slot it is being evaluated for
+ * (on the same thread) fails with an IllegalStateException rather than waiting for itself. If evaluation fails the slot is released,
+ * so the next reader retries. 
+ * 
+ * Slots follow the same protocol as LazyImmutable, but are fields of the tuple so each value costs a single reference.
+ * When metrics are enabled only reads of slots that are not yet set are recorded (under "tuple.Memo", see Metrics) - as evaluations
+ * or waits - reads of set slots are not counted.
+ * 
+ * @author johnmcclean
+ *
+ */
+public abstract class MemoTuple<T1,T2,T3,T4,T5,T6,T7,T8> extends TupleView<T1,T2,T3,T4,T5,T6,T7,T8> {
+
+	/** Initial value of every slot */
+	protected static final Object UNSET = new Object();
+	private static final String METRICS = "tuple.Memo";
+	
+	public MemoTuple(int arity) {
+		super(arity);
+	}
+	
+	/**
+	 * @param index Position of the value
+	 * @return Value from the host tuple, called at most once per index
+	 */
+	protected abstract Object evaluate(int index);
+	
+	/**
+	 * @param slot Updater for the slot field
+	 * @param index Position of the value held by the slot
+	 * @return Value of the slot
+	 */
+	@SuppressWarnings("unchecked")
+	protected <M extends MemoTuple> Object slot(AtomicReferenceFieldUpdater<M,Object> slot,int index){
+		Object result = slot.get((M)this);
+		if(result!=UNSET && !(result instanceof Evaluating))
+			return result;
+		return claim(slot,index);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private <M extends MemoTuple> Object claim(AtomicReferenceFieldUpdater<M,Object> slot,int index){
+		M self = (M)this;
+		CacheMetrics metrics = Metrics.isEnabled() ? Metrics.cache(METRICS) : null;
+		if(metrics!=null)
+			metrics.request();
+		for(;;){
+			Object result = slot.get(self);
+			if(result==UNSET){
+				Evaluating evaluating = new Evaluating();
+				if(slot.compareAndSet(self,UNSET,evaluating))
+					return publish(slot,self,evaluating,index,metrics);
+			}
+			else if(result instanceof Evaluating)
+				await(slot,self,(Evaluating)result,index,metrics);
+			else
+				return result;
+		}
+	}
+	private <M extends MemoTuple> Object publish(AtomicReferenceFieldUpdater<M,Object> slot,M self,Evaluating evaluating,int index,CacheMetrics metrics){
+		Object result = UNSET;
+		try{
+			long start = System.nanoTime();
+			result = evaluate(index);
+			if(metrics!=null)
+				metrics.computed(start);
+			return result;
+		}finally{
+			slot.set(self,result);
+			evaluating.release();
+		}
+	}
+	private <M extends MemoTuple> void await(AtomicReferenceFieldUpdater<M,Object> slot,M self,Evaluating evaluating,int index,CacheMetrics metrics){
+		if(evaluating.thread==Thread.currentThread())
+			throw new IllegalStateException("Recursive evaluation, the value at index " + index + " attempted to access it's own value");
+		if(slot.get(self)!=evaluating)
+			return;
+		evaluating.register();
+		if(metrics!=null && slot.get(self)==evaluating)
+			metrics.waited();
+		boolean interrupted = false;
+		while(slot.get(self)==evaluating){
+			LockSupport.park(this);
+			if(Thread.interrupted())
+				interrupted = true;
+		}
+		if(interrupted)
+			Thread.currentThread().interrupt();
+	}
+	/*
+	 * Marks a slot as being evaluated, by the recorded thread, and holds the threads waiting for it (as in LazyImmutable)
+	 */
+	private static final class Evaluating{
+		private static final AtomicReferenceFieldUpdater<Evaluating,Waiter> WAITERS = AtomicReferenceFieldUpdater.newUpdater(Evaluating.class,Waiter.class,"waiters");
+		
+		final Thread thread = Thread.currentThread();
+		private volatile Waiter waiters;
+		
+		void register(){
+			Waiter waiter = new Waiter();
+			do{
+				waiter.next = waiters;
+			}while(!WAITERS.compareAndSet(this,waiter.next,waiter));
+		}
+		void release(){
+			if(waiters==null)
+				return;
+			for(Waiter next = WAITERS.getAndSet(this,null);next!=null;next=next.next)
+				LockSupport.unpark(next.thread);
+		}
+	}
+	private static final class Waiter{
+		final Thread thread = Thread.currentThread();
+		Waiter next;
+	}
+}
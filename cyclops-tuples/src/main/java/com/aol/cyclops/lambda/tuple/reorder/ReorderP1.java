@@ -1,37 +1,34 @@
 package com.aol.cyclops.lambda.tuple.reorder;
 
 import com.aol.cyclops.lambda.tuple.PTuple1;
-import com.aol.cyclops.lambda.tuple.TupleImpl;
+import com.aol.cyclops.lambda.tuple.TupleView;
+import com.aol.cyclops.lambda.utils.LazyImmutable;
 
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.function.Function;
 
-public class ReorderP1<T1,NT1> extends TupleImpl {
+public class ReorderP1<T1,NT1> extends TupleView {
     private final Function<PTuple1<T1>, NT1> v1S;
     private final PTuple1<T1> host;
+    private final LazyImmutable<NT1> _1 = LazyImmutable.def("tuple.Reorder");
 
     public ReorderP1(Function<PTuple1<T1>, NT1> v1S, PTuple1<T1> host) {
-        super(Arrays.asList(), 1);
+        super(1);
         this.v1S = v1S;
         this.host = host;
     }
 
     public NT1 v1(){
-        return v1S.apply(host);
+        return _1.computeIfAbsent(()->v1S.apply(host));
     }
 
 
     @Override
-    public List<Object> getCachedValues() {
+    protected List<Object> computeValues() {
         return Arrays.asList(v1());
     }
 
-    @Override
-    public Iterator iterator() {
-        return getCachedValues().iterator();
-    }
 
 
 }
\ No newline at end of file
@@ -10,7 +10,9 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.Test;
@@ -39,5 +41,22 @@ public class CollectorTest {
 		
 		 assertThat(res,equalTo(tuple(set,Arrays.asList(1,2,2))));
 	}
+	@Test
+	public void collectorParallel(){
+		PTuple3<Long,Set<Integer>,List<Integer>> res = IntStream.range(0,10000).boxed().parallel()
+                .collect(tuple(counting(),Collectors.toSet(),Collectors.toList()).asCollector());
+		
+		assertThat(res.v1(),equalTo(10000L));
+		assertThat(res.v2().size(),equalTo(10000));
+		assertThat(res.v3(),equalTo(IntStream.range(0,10000).boxed().collect(Collectors.toList())));
+	}
+	@Test
+	public void collectorCharacteristics(){
+		Collector<Integer,?,?> ordered = tuple(Collectors.toSet(),Collectors.toList()).asCollector();
+		Collector<Integer,?,?> unordered = tuple(Collectors.toSet(),Collectors.toSet()).asCollector();
+		
+		assertThat(ordered.characteristics().contains(Collector.Characteristics.UNORDERED),equalTo(false));
+		assertThat(unordered.characteristics().contains(Collector.Characteristics.UNORDERED),equalTo(true));
+	}
 	
 }
@@ -0,0 +1,117 @@
+package com.aol.cyclops.lambda.tuple;
+
+import static com.aol.cyclops.lambda.tuple.PowerTuples.tuple;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class EvaluateAllTest {
+
+	ExecutorService executor = Executors.newFixedThreadPool(4);
+	
+	@After
+	public void shutdown(){
+		executor.shutdownNow();
+	}
+	
+	private int await(CountDownLatch latch, int value){
+		latch.countDown();
+		try {
+			if(!latch.await(5,TimeUnit.SECONDS))
+				throw new IllegalStateException("slots were not evaluated concurrently");
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+		return value;
+	}
+	@Test
+	public void evaluatesConcurrently() throws Exception{
+		CountDownLatch latch = new CountDownLatch(3);
+		PTuple3<Integer,Integer,Integer> result = tuple(1,2,3).lazyMap1(i->await(latch,i*10))
+																.lazyMap2(i->await(latch,i*10))
+																.lazyMap3(i->await(latch,i*10))
+																.<PTuple3<Integer,Integer,Integer>>evaluateAllAsync(executor)
+																.get(10,TimeUnit.SECONDS);
+		assertThat(result,equalTo(tuple(10,20,30)));
+		assertThat(result instanceof FieldTuple3,equalTo(true));
+	}
+	@Test
+	public void concatenatedSlotsEvaluateConcurrently() throws Exception{
+		CountDownLatch latch = new CountDownLatch(3);
+		PTuple1<Integer> first = PTuple1.of(1).lazyMap1(i->await(latch,i*10));
+		PTuple2<Integer,Integer> second = tuple(2,3).lazyMap1(i->await(latch,i*10)).lazyMap2(i->await(latch,i*10));
+		PTuple3<Integer,Integer,Integer> result = Concatenate.concat(first,second)
+															 .<PTuple3<Integer,Integer,Integer>>evaluateAllAsync(executor)
+															 .get(10,TimeUnit.SECONDS);
+		assertThat(result,equalTo(tuple(10,20,30)));
+	}
+	@Test
+	public void evaluatesEachSlotOnce() throws Exception{
+		AtomicInteger count = new AtomicInteger();
+		PTuple2<Integer,Integer> lazy = tuple(1,2).lazyMap1(i->count.incrementAndGet())
+												  .lazyMap2(i->{ count.incrementAndGet(); return i; });
+		PTuple2<Integer,Integer> result = lazy.<PTuple2<Integer,Integer>>evaluateAllAsync(executor).get(10,TimeUnit.SECONDS);
+		assertThat(result.v2(),equalTo(2));
+		assertThat(count.get(),equalTo(2));
+	}
+	@Test
+	public void forkJoin() throws Exception{
+		CountDownLatch latch = new CountDownLatch(2);
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try{
+			PTuple2<Integer,String> result = tuple(1,"a").lazyMap1(i->await(latch,i+1))
+														 .lazyMap2(s->s+await(latch,0))
+														 .<PTuple2<Integer,String>>evaluateAllForkJoin(pool)
+														 .get(10,TimeUnit.SECONDS);
+			assertThat(result,equalTo(tuple(2,"a0")));
+		}finally{
+			pool.shutdownNow();
+		}
+	}
+	@Test
+	public void forkJoinCommonPool() throws Exception{
+		assertThat(tuple(1,2,3,4,5,6,7,8).lazyMap8(i->i*2).evaluateAllForkJoin().get(10,TimeUnit.SECONDS),
+				equalTo(tuple(1,2,3,4,5,6,7,16)));
+	}
+	@Test
+	public void failure() throws Exception{
+		try{
+			tuple(1,2).lazyMap2(i->{ throw new IllegalStateException("boom"); }).evaluateAllAsync(executor).get(10,TimeUnit.SECONDS);
+			throw new AssertionError("expected failure");
+		}catch(ExecutionException e){
+			assertThat(e.getCause().getMessage(),equalTo("boom"));
+		}
+	}
+	@Test
+	public void rejectedForkJoinFails() throws Exception{
+		ForkJoinPool pool = new ForkJoinPool(1);
+		pool.shutdown();
+		try{
+			tuple(1,2).evaluateAllForkJoin(pool).join();
+			throw new AssertionError("expected failure");
+		}catch(CompletionException e){
+			assertThat(e.getCause() instanceof RejectedExecutionException,equalTo(true));
+		}
+	}
+	@Test
+	public void forkJoinFailure() throws Exception{
+		try{
+			tuple(1,2).lazyMap1(i->{ throw new IllegalStateException("boom"); }).evaluateAllForkJoin().join();
+			throw new AssertionError("expected failure");
+		}catch(CompletionException e){
+			assertThat(e.getCause().getMessage(),equalTo("boom"));
+		}
+	}
+}
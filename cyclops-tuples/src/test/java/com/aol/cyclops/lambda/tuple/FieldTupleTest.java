@@ -0,0 +1,53 @@
+package com.aol.cyclops.lambda.tuple;
+
+import static com.aol.cyclops.lambda.tuple.PowerTuples.tuple;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class FieldTupleTest {
+
+	@Test
+	public void equalToTupleImpl(){
+		PTuple2<String,Integer> fields = tuple("hello",10);
+		PTuple2<String,Integer> list = PTuple2.ofTuple(Arrays.asList("hello",10));
+		assertThat(fields,equalTo(list));
+		assertThat(list,equalTo(fields));
+		assertThat(fields.hashCode(),equalTo(list.hashCode()));
+		assertThat(fields.hashCode(),equalTo(Arrays.asList("hello",10).hashCode()));
+	}
+	@Test
+	public void equality(){
+		assertThat(tuple(1,null,3),equalTo(tuple(1,null,3)));
+		assertThat(tuple(1,2,3),not(equalTo(tuple(1,2,4))));
+		assertThat(tuple(1,2),not(equalTo(tuple(1,2,3))));
+	}
+	@Test
+	public void cachedValuesView(){
+		PTuple8<Integer,Integer,Integer,Integer,Integer,Integer,Integer,Integer> t = tuple(1,2,3,4,5,6,7,8);
+		assertThat(t.getCachedValues(),equalTo(Arrays.asList(1,2,3,4,5,6,7,8)));
+		assertThat(t.getCachedValues().size(),equalTo(8));
+		assertThat(t.v8(),equalTo(8));
+		assertThat(t.toString(),equalTo("[1, 2, 3, 4, 5, 6, 7, 8]"));
+	}
+	@Test(expected=UnsupportedOperationException.class)
+	public void viewIsReadOnly(){
+		tuple(1,2).getCachedValues().set(0,3);
+	}
+	@Test(expected=ClassCastException.class)
+	public void upscaleFails(){
+		((PTuple3)tuple(1,2)).v3();
+	}
+	@Test
+	public void withArity(){
+		PTuple4<Integer,Integer,Integer,Integer> t = tuple(1,2,3,4);
+		assertThat(t.withArity(4),is(t));
+		assertThat(t.tuple3().v3(),equalTo(3));
+		assertThat(t.tuple3().arity(),equalTo(3));
+	}
+}
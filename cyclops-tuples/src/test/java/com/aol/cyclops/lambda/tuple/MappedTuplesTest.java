@@ -0,0 +1,142 @@
+package com.aol.cyclops.lambda.tuple;
+
+import static com.aol.cyclops.lambda.tuple.PowerTuples.tuple;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import lombok.AllArgsConstructor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.aol.cyclops.matcher.builders.CheckValues;
+
+public class MappedTuplesTest {
+
+	Path dir;
+	Path file;
+	
+	@Before
+	public void setup() throws IOException{
+		dir = Files.createTempDirectory("mapped-tuples");
+		file = dir.resolve("tuples");
+	}
+	@After
+	public void cleanup() throws IOException{
+		Files.list(dir).forEach(p->p.toFile().delete());
+		Files.delete(dir);
+	}
+	
+	@Test
+	public void roundTrip(){
+		try(MappedTuples tuples = MappedTuples.write(file, Stream.of(tuple("hello",1,2L,true,1.5f,2.5),tuple(null,3,4L,false,3.5f,4.5)))){
+			assertThat(tuples.size(),equalTo(2L));
+			assertThat(tuples.arity(),equalTo(6));
+			assertThat(tuples.columnType(0),equalTo(String.class));
+			assertThat(tuples.columnType(4),equalTo(float.class));
+			assertThat(tuples.stream().collect(Collectors.toList()),
+						equalTo(Arrays.asList(tuple("hello",1,2L,true,1.5f,2.5),tuple(null,3,4L,false,3.5f,4.5))));
+			PTuple6<String,Integer,Long,Boolean,Float,Double> first = tuples.get(0);
+			assertThat(first.v1(),equalTo("hello"));
+			assertThat(first.v6(),equalTo(2.5));
+		}
+	}
+	@Test
+	public void reopen(){
+		MappedTuples.write(file, Stream.of(tuple("a",1),tuple("b",2))).close();
+		try(MappedTuples tuples = MappedTuples.open(file)){
+			assertThat(tuples.<PTuple2<String,Integer>>sequence().map(PTuple2::v1).toList(),equalTo(Arrays.asList("a","b")));
+		}
+	}
+	@Test
+	public void segments(){
+		List<PTuple2<Integer,String>> expected = IntStream.range(0, 1000).mapToObj(i->tuple(i,"value "+i)).collect(Collectors.toList());
+		try(MappedTuples tuples = MappedTuples.write(file, expected.stream(),100)){
+			assertThat(tuples.<PTuple2<Integer,String>>stream().map(t->t.materialise()).collect(Collectors.toList()),equalTo(expected));
+		}
+	}
+	@Test
+	public void reopenUsesWrittenSegmentSize(){
+		List<PTuple2<Integer,String>> expected = IntStream.range(0, 1000).mapToObj(i->tuple(i,"value "+i)).collect(Collectors.toList());
+		MappedTuples.write(file, expected.stream(),100).close();
+		try(MappedTuples tuples = MappedTuples.open(file)){
+			assertThat(tuples.<PTuple2<Integer,String>>stream().map(t->t.materialise()).collect(Collectors.toList()),equalTo(expected));
+		}
+	}
+	@Test
+	public void nullInFirstTuple(){
+		try(MappedTuples tuples = MappedTuples.write(file, Stream.of(tuple(null,1),tuple("hello",2)))){
+			assertThat(tuples.columnType(0),equalTo(String.class));
+			assertThat(tuples.stream().collect(Collectors.toList()),equalTo(Arrays.asList(tuple(null,1),tuple("hello",2))));
+		}
+	}
+	@Test
+	public void parallel(){
+		try(MappedTuples tuples = MappedTuples.write(file, IntStream.range(0, 100000).mapToObj(i->tuple(i,(long)i)),1<<12)){
+			assertThat(tuples.<PTuple2<Integer,Long>>stream().parallel().mapToLong(PTuple2::v2).sum(),equalTo(IntStream.range(0, 100000).asLongStream().sum()));
+		}
+	}
+	@Test
+	public void to(){
+		try(MappedTuples tuples = MappedTuples.write(file, Stream.of(tuple("bob",42)))){
+			Person p = tuples.<PTuple2<String,Integer>>get(0).to(Person.class);
+			assertThat(p.name,equalTo("bob"));
+			assertThat(p.age,equalTo(42));
+		}
+	}
+	@Test
+	public void match(){
+		try(MappedTuples tuples = MappedTuples.write(file, Stream.of(tuple("bob",42)))){
+			String result = tuples.<PTuple2<String,Integer>>get(0).matchValues(c -> cases(c));
+			assertThat(result,equalTo("bob"));
+		}
+	}
+	@Test
+	public void empty(){
+		try(MappedTuples tuples = MappedTuples.write(file, Stream.<PTuple2>empty())){
+			assertThat(tuples.size(),equalTo(0L));
+			assertThat(tuples.stream().count(),equalTo(0L));
+		}
+	}
+	@Test(expected=IllegalArgumentException.class)
+	public void unsupportedType(){
+		MappedTuples.write(file, Stream.of(tuple(Arrays.asList(1))));
+	}
+	@Test
+	public void typeChangeDeletesFile(){
+		try{
+			MappedTuples.write(file, Stream.of(tuple(1),tuple("two")));
+		}catch(IllegalArgumentException e){
+			assertThat(Files.exists(file),equalTo(false));
+			return;
+		}
+		throw new AssertionError("expected IllegalArgumentException");
+	}
+	@Test(expected=ClassCastException.class)
+	public void upscale(){
+		try(MappedTuples tuples = MappedTuples.write(file, Stream.of(tuple(1,2)))){
+			tuples.<PTuple3>get(0).v3();
+		}
+	}
+	
+	private <I,T> CheckValues<Object, T> cases(CheckValues<I, T> c) {
+		return c.with("alice",42).then(i->"alice")
+				.with("bob",42).then(i->"bob");
+	}
+	
+	@AllArgsConstructor
+	static class Person{
+		String name;
+		int age;
+	}
+}
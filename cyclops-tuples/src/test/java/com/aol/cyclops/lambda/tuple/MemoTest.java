@@ -4,8 +4,19 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThat;
 import lombok.val;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import org.junit.Test;
 
+import com.aol.cyclops.lambda.metrics.CacheMetrics;
+import com.aol.cyclops.lambda.metrics.Metrics;
+import com.aol.cyclops.lambda.utils.Mutable;
+
 public class MemoTest {
 	int called =0;
 	@Test
@@ -226,4 +237,65 @@ public class MemoTest {
 		tuple._8();
 		assertThat(tuple._8(),equalTo("820"));
 	}
+	@Test
+	public void evaluatedOnceByParallelReaders(){
+		AtomicInteger count = new AtomicInteger(0);
+		PTuple2<Integer,String> tuple = PTuple2.of(1,"a").<Integer,String>reorder(t->{ count.incrementAndGet(); 
+																		LockSupport.parkNanos(1_000_000); 
+																		return t.v1()+1;},t->t.v2()).memo();
+		List<Integer> results = IntStream.range(0,64).parallel()
+											.mapToObj(i->CompletableFuture.supplyAsync(tuple::v1))
+											.collect(Collectors.toList()).stream()
+											.map(CompletableFuture::join)
+											.collect(Collectors.toList());
+		assertThat(results.stream().allMatch(i->i==2),equalTo(true));
+		assertThat(count.get(),equalTo(1));
+	}
+	@Test
+	public void failedEvaluationIsRetried(){
+		AtomicInteger count = new AtomicInteger(0);
+		PTuple3<String,String,String> tuple = PTuple3.of("a","b","c").reorder(t->{ 
+														if(count.incrementAndGet()==1) 
+															throw new IllegalStateException(); 
+														return t.v1(); },t->t.v2(),t->t.v3()).memo();
+		try{
+			tuple.v1();
+		}catch(IllegalStateException e){
+		}
+		assertThat(tuple.v1(),equalTo("a"));
+		assertThat(tuple.v1(),equalTo("a"));
+		assertThat(count.get(),equalTo(2));
+	}
+	@Test
+	public void nullValuesAreMemoised(){
+		AtomicInteger count = new AtomicInteger(0);
+		PTuple1<String> tuple = PTuple1.of("a").lazyMap1(in->{ count.incrementAndGet(); return (String)null;}).memo();
+		assertThat(tuple.v1(),equalTo(null));
+		assertThat(tuple.v1(),equalTo(null));
+		assertThat(count.get(),equalTo(1));
+	}
+	@Test(expected=IllegalStateException.class)
+	public void valueReadingItselfFailsFast(){
+		Mutable<PTuple2<String,String>> self = new Mutable<>();
+		PTuple2<String,String> tuple = PTuple2.of("a","b").lazyMap1(in->self.get().v1()).memo();
+		self.set(tuple);
+		tuple.v1();
+	}
+	@Test
+	public void unsetReadsRecordedWhenMetricsEnabled(){
+		CacheMetrics metrics = Metrics.cache("tuple.Memo");
+		long requests = metrics.getRequests(), misses = metrics.getMisses();
+		PTuple2<String,String> tuple = PTuple2.of("a","b").lazyMap1(in->in+"!").memo();
+		Metrics.enable();
+		try{
+			tuple.v1();
+			tuple.v1();
+			tuple.v2();
+		}finally{
+			Metrics.disable();
+		}
+		tuple.v1();
+		assertThat(metrics.getRequests()-requests,equalTo(2L));
+		assertThat(metrics.getMisses()-misses,equalTo(2L));
+	}
 }
@@ -0,0 +1,88 @@
+package com.aol.cyclops.lambda.tuple;
+
+import static com.aol.cyclops.lambda.tuple.PowerTuples.tuple;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.NoSuchElementException;
+
+import lombok.AllArgsConstructor;
+
+import org.junit.Test;
+
+public class ParamMatcherTest {
+
+	@Test
+	public void declaredOrder(){
+		Person p = tuple("bob",42).to(Person.class);
+		assertThat(p.name,equalTo("bob"));
+		assertThat(p.age,equalTo(42));
+	}
+	@Test
+	public void reordered(){
+		for(int i=0;i<3;i++){
+			Person p = tuple(42,"bob").to(Person.class);
+			assertThat(p.name,equalTo("bob"));
+			assertThat(p.age,equalTo(42));
+		}
+	}
+	@Test
+	public void mixedOrders(){
+		assertThat(tuple(42,"bob").to(Person.class).name,equalTo("bob"));
+		assertThat(tuple("alice",7).to(Person.class).name,equalTo("alice"));
+		assertThat(tuple(8,"carol").to(Person.class).age,equalTo(8));
+	}
+	@Test
+	public void nullReference(){
+		Person p = tuple(null,42).to(Person.class);
+		assertThat(p.name,nullValue());
+		assertThat(p.age,equalTo(42));
+	}
+	@Test
+	public void arity(){
+		assertThat(tuple(1,2,3,4).tuple3().to(Three.class).c,equalTo(3));
+	}
+	@Test(expected=ClassCastException.class)
+	public void noMatch(){
+		tuple(1.0,"bob").to(Person.class);
+	}
+	@Test(expected=ClassCastException.class)
+	public void nullPrimitive(){
+		tuple("bob",null).to(Person.class);
+	}
+	@Test
+	public void constructorClassCastExceptionIsNotRetried(){
+		Failing.called = 0;
+		try{
+			tuple("bob",42).to(Failing.class);
+			throw new AssertionError("expected failure");
+		}catch(ClassCastException e){
+			assertThat(e.getMessage(),equalTo("from constructor"));
+		}
+		assertThat(Failing.called,equalTo(1));
+	}
+	@Test(expected=NoSuchElementException.class)
+	public void noConstructor(){
+		tuple("bob").to(Person.class);
+	}
+	
+	@AllArgsConstructor
+	static class Person{
+		String name;
+		int age;
+	}
+	static class Failing{
+		static int called;
+		public Failing(String name, int age){
+			called++;
+			throw new ClassCastException("from constructor");
+		}
+	}
+	@AllArgsConstructor
+	static class Three{
+		int a;
+		int b;
+		int c;
+	}
+}
@@ -5,11 +5,11 @@ import static com.aol.cyclops.lambda.tuple.PowerTuples.tuple;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThat;
 
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import lombok.val;
 
-import org.junit.Ignore;
 import org.junit.Test;
 
 import com.aol.cyclops.lambda.api.Monoid;
@@ -26,7 +26,7 @@ public class ReducerTest {
 		                  .reduce(reducer.zero(),reducer.reducer())
 		                  ,equalTo(tuple("helloworldwoo!",",hello,world,woo!")));
 	}
-	@Test @Ignore //bug
+	@Test
 	public void reducer2(){
 		Monoid<Integer> sum = Monoid.of(0,(a,b)->a+b);
 		Monoid<Integer> mult = Monoid.of(1,(a,b)->a*b);
@@ -44,5 +44,23 @@ public class ReducerTest {
 		 
 		assertThat(result,equalTo(tuple(10,24)));
 	}
+	@Test
+	public void reducerParallel(){
+		Monoid<Integer> sum = Monoid.of(0,(a,b)->a+b);
+		Monoid<Integer> max = Monoid.of(Integer.MIN_VALUE,(a,b)->Math.max(a,b));
+		Monoid<CachedValues> reducer = tuple(sum,max).asReducer();
+		assertThat(IntStream.rangeClosed(1,1000).boxed().parallel().map(CachedValues::of)
+		                  .reduce(reducer.zero(),reducer.reducer())
+		                  ,equalTo(tuple(500500,1000)));
+	}
+	@Test
+	public void reducerMapReduceParallel(){
+		Monoid<Integer> sum = Monoid.of(0,(a,b)->a+b);
+		Monoid<Integer> max = Monoid.of(Integer.MIN_VALUE,(a,b)->Math.max(a,b));
+		val result = tuple(sum,max).<PTuple2<Integer,Integer>>asReducer()
+											.mapReduce(IntStream.rangeClosed(1,1000).boxed().parallel()); 
+		 
+		assertThat(result,equalTo(tuple(500500,1000)));
+	}
 	
 }
@@ -0,0 +1,118 @@
+package com.aol.cyclops.lambda.tuple;
+
+import static com.aol.cyclops.lambda.tuple.PowerTuples.tuple;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.aol.cyclops.lambda.api.Monoid;
+
+public class TupleBatchTest {
+
+	TupleBatch batch = Stream.of(tuple("a",1,10L,1.5),tuple("b",2,20L,2.5),tuple("c",3,30L,3.5))
+								.collect(TupleBatch.collector());
+	
+	@Test
+	public void columnTypes(){
+		assertThat(batch.size(),equalTo(3));
+		assertThat(batch.arity(),equalTo(4));
+		assertThat(batch.columnType(0),equalTo(Object.class));
+		assertThat(batch.columnType(1),equalTo(int.class));
+		assertThat(batch.columnType(2),equalTo(long.class));
+		assertThat(batch.columnType(3),equalTo(double.class));
+	}
+	@Test
+	public void mixedTypesAreBoxed(){
+		TupleBatch mixed = TupleBatch.of(Stream.of(tuple(1),tuple(2L),tuple((Object)null)));
+		assertThat(mixed.columnType(0),equalTo(Object.class));
+		assertThat(mixed.stream().map(t->((PTuple1)t).v1()).collect(Collectors.toList()),equalTo(Arrays.asList(1,2L,null)));
+	}
+	@Test
+	public void stream(){
+		List<PTuple4<String,Integer,Long,Double>> rows = batch.<PTuple4<String,Integer,Long,Double>>stream().collect(Collectors.toList());
+		assertThat(rows,equalTo(Arrays.asList(tuple("a",1,10L,1.5),tuple("b",2,20L,2.5),tuple("c",3,30L,3.5))));
+		assertThat(rows.get(1).v2(),equalTo(2));
+		assertThat(rows.get(2).v1(),equalTo("c"));
+	}
+	@Test
+	public void materialise(){
+		PTuple4<String,Integer,Long,Double> row = batch.get(0);
+		assertThat(row.materialise(),equalTo(tuple("a",1,10L,1.5)));
+		assertThat(row.materialise() instanceof FieldTuple4,equalTo(true));
+	}
+	@Test(expected=ClassCastException.class)
+	public void upscale(){
+		batch.<PTuple8>get(0).v5();
+	}
+	@Test
+	public void mapColumns(){
+		TupleBatch mapped = batch.mapInt(1, i->i*2)
+								 .mapLong(2, l->l+1)
+								 .mapDouble(3, d->d*2)
+								 .map(0, (String s)->s.toUpperCase());
+		assertThat(mapped.get(2),equalTo(tuple("C",6,31L,7.0)));
+		assertThat(batch.get(2),equalTo(tuple("c",3,30L,3.5)));
+	}
+	@Test
+	public void mapToPrimitive(){
+		TupleBatch mapped = batch.map(0, (String s)->s.length());
+		assertThat(mapped.columnType(0),equalTo(int.class));
+		assertThat(mapped.reduceInt(0, 0, (a,b)->a+b),equalTo(3));
+	}
+	@Test
+	public void filter(){
+		assertThat(batch.filterInt(1, i->i>1).<PTuple4>stream().map(PTuple4::v1).collect(Collectors.toList()),equalTo(Arrays.asList("b","c")));
+		assertThat(batch.filterLong(2, l->l==10L).size(),equalTo(1));
+		assertThat(batch.filterDouble(3, d->d>10).size(),equalTo(0));
+		assertThat(batch.filter(0, "b"::equals).get(0),equalTo(tuple("b",2,20L,2.5)));
+	}
+	@Test
+	public void reduce(){
+		assertThat(batch.reduceInt(1, 0, (a,b)->a+b),equalTo(6));
+		assertThat(batch.reduceLong(2, 0, (a,b)->a+b),equalTo(60L));
+		assertThat(batch.reduceDouble(3, 0, (a,b)->a+b),equalTo(7.5));
+		assertThat(batch.reduce(0, Monoid.of("",(a,b)->a+b)),equalTo("abc"));
+	}
+	@Test
+	public void reduceAllColumns(){
+		Monoid<String> concat = Monoid.of("",(a,b)->a+b);
+		Monoid<Integer> sum = Monoid.of(0,(a,b)->a+b);
+		Monoid<Long> lsum = Monoid.of(0L,(a,b)->a+b);
+		Monoid<Double> max = Monoid.of(0.0,(a,b)->Math.max(a, b));
+		assertThat(batch.reduce(Arrays.asList(concat,sum,lsum,max)),equalTo(tuple("abc",6,60L,3.5)));
+	}
+	@Test(expected=IllegalArgumentException.class)
+	public void wrongColumnType(){
+		batch.mapInt(2, i->i);
+	}
+	@Test(expected=IllegalArgumentException.class)
+	public void mixedArity(){
+		TupleBatch.of(Stream.of(tuple(1,2),tuple(1,2,3)));
+	}
+	@Test
+	public void empty(){
+		TupleBatch empty = TupleBatch.of(Stream.<PTuple2>empty());
+		assertThat(empty.size(),equalTo(0));
+		assertThat(empty.stream().count(),equalTo(0L));
+	}
+	@Test
+	public void parallel(){
+		TupleBatch large = IntStream.range(0, 100000).parallel()
+									.mapToObj(i-> i==5000 ? tuple(i,(Object)"five thousand") : tuple(i,(Object)(long)i))
+									.collect(TupleBatch.collector());
+		assertThat(large.size(),equalTo(100000));
+		assertThat(large.columnType(0),equalTo(int.class));
+		assertThat(large.columnType(1),equalTo(Object.class));
+		assertThat(large.reduceInt(0, 0, (a,b)->a+b),equalTo(IntStream.range(0, 100000).sum()));
+		assertThat(large.get(5000),equalTo(tuple(5000,"five thousand")));
+		assertThat(large.get(99999),equalTo(tuple(99999,99999L)));
+		assertThat(large.<PTuple2<Integer,Object>>stream().parallel().mapToInt(PTuple2::v1).sum(),equalTo(IntStream.range(0, 100000).sum()));
+	}
+}
@@ -0,0 +1,127 @@
+package com.aol.cyclops.lambda.tuple;
+
+import static com.aol.cyclops.lambda.tuple.PowerTuples.tuple;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import lombok.Value;
+
+import org.junit.Test;
+
+import com.aol.cyclops.lambda.api.Decomposable;
+
+public class TupleCodecTest {
+
+	@Value static class Person implements Decomposable{ String name; int age; }
+	@Value static class Team implements Decomposable{ String name; Person lead; java.util.List<Person> members; }
+	
+	ByteBuffer buffer = ByteBuffer.allocate(1024);
+	
+	private <T> T roundTrip(Object value){
+		buffer.clear();
+		TupleCodec.write(value, buffer);
+		buffer.flip();
+		T result = TupleCodec.read(buffer);
+		assertThat(buffer.hasRemaining(),equalTo(false));
+		return result;
+	}
+	@Test
+	public void primitives(){
+		PTuple8 t = tuple(1,-2L,3.5,true,4.5f,(short)-6,'x',(byte)7);
+		assertThat(roundTrip(t),equalTo(t));
+	}
+	@Test
+	public void limits(){
+		PTuple4 t = tuple(Integer.MIN_VALUE,Integer.MAX_VALUE,Long.MIN_VALUE,Long.MAX_VALUE);
+		assertThat(roundTrip(t),equalTo(t));
+	}
+	@Test
+	public void strings(){
+		PTuple4 t = tuple("hello","héllo 世界","😀 emoji","");
+		assertThat(roundTrip(t),equalTo(t));
+	}
+	@Test
+	public void nulls(){
+		PTuple2 t = tuple(null,"a");
+		assertThat(roundTrip(t),equalTo(t));
+		assertThat(roundTrip(null),equalTo(null));
+	}
+	@Test
+	public void nested(){
+		PTuple3 t = tuple(tuple(1,"a"),Arrays.asList(1,2,3),tuple(tuple(2)));
+		assertThat(roundTrip(t),equalTo(t));
+	}
+	@Test
+	public void valueObjects(){
+		Person bob = new Person("bob",42);
+		Team team = new Team("core",bob,Arrays.asList(bob,new Person("alice",30)));
+		assertThat(roundTrip(team),equalTo(team));
+		assertThat(roundTrip(tuple(bob,team)),equalTo(tuple(bob,team)));
+	}
+	@Test
+	public void compact(){
+		buffer.clear();
+		TupleCodec.write(tuple(1,2L,"a"), buffer);
+		assertThat(buffer.position(),lessThan(10));
+	}
+	@Test
+	public void schemasSharedAcrossMessages(){
+		TupleCodec.Encoder encoder = TupleCodec.encoder();
+		encoder.write(new Person("bob",42), buffer);
+		int first = buffer.position();
+		encoder.write(new Person("bob",42), buffer);
+		int second = buffer.position()-first;
+		assertThat(second,lessThan(first));
+		
+		buffer.flip();
+		TupleCodec.Decoder decoder = TupleCodec.decoder();
+		assertThat(decoder.read(buffer),equalTo(new Person("bob",42)));
+		assertThat(decoder.read(buffer),equalTo(new Person("bob",42)));
+	}
+	@Test
+	public void overflowRestoresState(){
+		TupleCodec.Encoder encoder = TupleCodec.encoder();
+		ByteBuffer small = ByteBuffer.allocate(8);
+		try{
+			encoder.write(new Person("bob",42), small);
+			throw new AssertionError("expected overflow");
+		}catch(BufferOverflowException e){
+			assertThat(small.position(),equalTo(0));
+		}
+		encoder.write(new Person("bob",42), buffer);
+		buffer.flip();
+		assertThat(TupleCodec.read(buffer),equalTo(new Person("bob",42)));
+	}
+	@Test
+	public void underflowRestoresState(){
+		TupleCodec.write(tuple("hello",new Person("bob",42)), buffer);
+		buffer.flip();
+		ByteBuffer partial = buffer.duplicate();
+		partial.limit(buffer.limit()-2);
+		TupleCodec.Decoder decoder = TupleCodec.decoder();
+		try{
+			decoder.read(partial);
+			throw new AssertionError("expected underflow");
+		}catch(BufferUnderflowException e){
+			assertThat(partial.position(),equalTo(0));
+		}
+		assertThat(decoder.read(buffer),equalTo(tuple("hello",new Person("bob",42))));
+	}
+	@Test
+	public void directBuffers(){
+		ByteBuffer direct = ByteBuffer.allocateDirect(256);
+		TupleCodec.write(tuple("direct",1), direct);
+		direct.flip();
+		assertThat(TupleCodec.read(direct),equalTo(tuple("direct",1)));
+	}
+	@Test(expected=IllegalArgumentException.class)
+	public void unsupported(){
+		TupleCodec.write(tuple(new Object()), buffer);
+	}
+}
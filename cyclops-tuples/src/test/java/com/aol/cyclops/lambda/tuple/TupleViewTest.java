@@ -0,0 +1,84 @@
+package com.aol.cyclops.lambda.tuple;
+
+import static com.aol.cyclops.lambda.tuple.PowerTuples.tuple;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class TupleViewTest {
+
+	AtomicInteger called = new AtomicInteger(0);
+	
+	@Test
+	public void concatValues(){
+		PTuple5<Integer,Integer,Integer,Integer,Integer> t = Concatenate.concat(tuple(1,2),tuple(3,4,5));
+		assertThat(t.v2(),equalTo(2));
+		assertThat(t.v3(),equalTo(3));
+		assertThat(t.v5(),equalTo(5));
+		assertThat(t,equalTo(tuple(1,2,3,4,5)));
+	}
+	@Test
+	public void valuesComputedOnce(){
+		PTuple2<Integer,Integer> t = tuple(1,2).reorder(h->called.incrementAndGet(), h->h.v1());
+		assertThat(t.getCachedValues(),equalTo(Arrays.asList(1,1)));
+		assertThat(t.getCachedValues(),sameInstance(t.getCachedValues()));
+		t.v1();
+		t.iterator().next();
+		assertThat(t.hashCode(),equalTo(Arrays.asList(1,1).hashCode()));
+		assertThat(called.get(),equalTo(1));
+	}
+	@Test
+	public void reorderSelectorsAppliedOncePerSlot(){
+		PTuple3<Integer,String,String> t = tuple("a","b","c").reorder(h->called.incrementAndGet(), h->h.v1(), h->h.v2());
+		assertThat(t.v1(),equalTo(1));
+		assertThat(t.v1(),equalTo(1));
+		assertThat(t.v2(),equalTo("a"));
+		assertThat(t.getCachedValues(),equalTo(Arrays.asList(1,"a","b")));
+		assertThat(called.get(),equalTo(1));
+		assertThat(PTuple1.of("a").reorder(h->called.incrementAndGet()).v1(),equalTo(2));
+		PTuple1<Integer> one = PTuple1.of("a").reorder(h->called.incrementAndGet());
+		one.v1();
+		one.v1();
+		assertThat(called.get(),equalTo(3));
+	}
+	@Test
+	public void lazyMapOnlyMapsOnce(){
+		PTuple3<String,String,Integer> t = tuple("a","b","c").lazyMap3(s->called.incrementAndGet());
+		assertThat(t.v1(),equalTo("a"));
+		assertThat(called.get(),equalTo(0));
+		assertThat(t.getCachedValues(),equalTo(Arrays.asList("a","b",1)));
+		assertThat(t.v3(),equalTo(1));
+		assertThat(called.get(),equalTo(1));
+	}
+	@Test
+	public void lazySwap(){
+		PTuple4<Integer,Integer,Integer,Integer> t = LazySwap.lazySwap(tuple(1,2,3,4));
+		assertThat(t.v1(),equalTo(4));
+		assertThat(t.getCachedValues(),equalTo(Arrays.asList(4,3,2,1)));
+		assertThat(t.v1(),equalTo(4));
+	}
+	@Test
+	public void materialise(){
+		PTuple3<Integer,Integer,Integer> chain = LazySwap.lazySwap(Concatenate.concat(tuple(1),tuple(2,3)).lazyMap1(i->i*10));
+		PTuple3<Integer,Integer,Integer> flat = chain.materialise();
+		assertThat(flat.getClass(),equalTo((Class)FieldTuple3.class));
+		assertThat(flat,equalTo(tuple(3,2,10)));
+		assertThat(flat.materialise(),sameInstance(flat));
+	}
+	@Test
+	public void viewWithArity(){
+		PTuple2<Integer,Integer> t = tuple(1,2).reorder(h->h.v2(), h->h.v1());
+		assertThat(t.withArity(2),sameInstance(t));
+		assertThat(t.tuple1().v1(),equalTo(2));
+		assertThat(t.compareTo(tuple(2,1)),equalTo(0));
+	}
+	@Test(expected=UnsupportedOperationException.class)
+	public void cachedValuesReadOnly(){
+		Concatenate.concat(tuple(1),tuple(2)).getCachedValues().set(0,5);
+	}
+}